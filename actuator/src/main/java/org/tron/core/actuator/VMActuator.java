@@ -51,6 +51,7 @@ import org.tron.core.vm.program.Program.TransferException;
 import org.tron.core.vm.program.ProgramPrecompile;
 import org.tron.core.vm.program.invoke.ProgramInvoke;
 import org.tron.core.vm.program.invoke.ProgramInvokeFactory;
+import org.tron.core.vm.repository.EstimationRepository;
 import org.tron.core.vm.repository.Repository;
 import org.tron.core.vm.repository.RepositoryImpl;
 import org.tron.core.vm.utils.MUtil;
@@ -92,6 +93,10 @@ public class VMActuator implements Actuator2 {
   @Setter
   private boolean enableEventListener;
 
+  // when set, the execution reads the state through it, for the executions of an estimate
+  @Setter
+  private EstimationRepository estimationRepository;
+
   private LogInfoTriggerParser logInfoTriggerParser;
 
   public VMActuator(boolean isConstantCall) {
@@ -135,7 +140,11 @@ public class VMActuator implements Actuator2 {
     //Route Type
     ContractType contractType = this.trx.getRawData().getContract(0).getType();
     //Prepare Repository
-    rootRepository = RepositoryImpl.createRoot(context.getStoreFactory());
+    if (estimationRepository != null) {
+      rootRepository = estimationRepository.newExecution();
+    } else {
+      rootRepository = RepositoryImpl.createRoot(context.getStoreFactory());
+    }
 
     enableEventListener = context.isEventPluginLoaded();
 
@@ -1,6 +1,5 @@
 package org.tron.core.vm;
 
-import static org.tron.common.crypto.Hash.sha3;
 import static org.tron.common.utils.ByteUtil.EMPTY_BYTE_ARRAY;
 
 import java.math.BigInteger;
@@ -25,7 +24,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.add(word2);
+    word1.set(program.operand1(word1).add(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -34,7 +33,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.mul(word2);
+    word1.set(program.operand1(word1).mul(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -43,7 +42,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.sub(word2);
+    word1.set(program.operand1(word1).sub(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -52,7 +51,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.div(word2);
+    word1.set(program.operand1(word1).div(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -61,7 +60,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.sDiv(word2);
+    word1.set(program.operand1(word1).sdiv(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -70,7 +69,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.mod(word2);
+    word1.set(program.operand1(word1).mod(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -79,7 +78,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.sMod(word2);
+    word1.set(program.operand1(word1).smod(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -108,7 +107,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    word1.exp(word2);
+    word1.set(program.operand1(word1).exp(program.operand2(word2)));
     program.stackPush(word1);
     program.step();
   }
@@ -129,7 +128,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.value().compareTo(word2.value()) < 0) {
+    if (program.operand1(word1).compareTo(program.operand2(word2)) < 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -143,7 +142,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.value().compareTo(word2.value()) > 0) {
+    if (program.operand1(word1).compareTo(program.operand2(word2)) > 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -157,7 +156,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.sValue().compareTo(word2.sValue()) < 0) {
+    if (program.operand1(word1).signedCompareTo(program.operand2(word2)) < 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -171,7 +170,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.sValue().compareTo(word2.sValue()) > 0) {
+    if (program.operand1(word1).signedCompareTo(program.operand2(word2)) > 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -236,7 +235,7 @@ public class OperationActions {
 
   public static void notAction(Program program) {
     DataWord word1 = program.stackPop();
-    word1.bnot();
+    word1.set(program.operand1(word1).not());
 
     program.stackPush(word1);
     program.step();
@@ -264,8 +263,9 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    final DataWord result = word2.shiftLeft(word1);
-    program.stackPush(result);
+    int shift = program.operand1(word1).intValueOrNegative();
+    word2.set(program.operand2(word2).shiftLeft(shift));
+    program.stackPush(word2);
     program.step();
   }
 
@@ -273,8 +273,9 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    final DataWord result = word2.shiftRight(word1);
-    program.stackPush(result);
+    int shift = program.operand1(word1).intValueOrNegative();
+    word2.set(program.operand2(word2).shiftRight(shift));
+    program.stackPush(word2);
     program.step();
   }
 
@@ -282,18 +283,17 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    final DataWord result = word2.shiftRightSigned(word1);
-    program.stackPush(result);
+    int shift = program.operand1(word1).intValueOrNegative();
+    word2.set(program.operand2(word2).shiftRightSigned(shift));
+    program.stackPush(word2);
     program.step();
   }
 
   public static void sha3Action(Program program) {
     DataWord memOffsetData = program.stackPop();
     DataWord lengthData = program.stackPop();
-    byte[] buffer = program
-        .memoryChunk(memOffsetData.intValueSafe(), lengthData.intValueSafe());
-
-    byte[] encoded = sha3(buffer);
+    byte[] encoded = program
+        .memorySha3(memOffsetData.intValueSafe(), lengthData.intValueSafe());
     DataWord word = new DataWord(encoded);
 
     program.stackPush(word);
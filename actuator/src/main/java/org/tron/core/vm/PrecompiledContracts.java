@@ -22,12 +22,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -339,27 +341,51 @@ public class PrecompiledContracts {
     return res;
   }
 
-  private static byte[] recoverAddrBySign(byte[] sign, byte[] hash) {
-    byte v;
-    byte[] r;
-    byte[] s;
-    byte[] out = null;
-    if (ArrayUtils.isEmpty(sign) || sign.length < 65) {
-      return new byte[0];
-    }
-    try {
-      r = Arrays.copyOfRange(sign, 0, 32);
-      s = Arrays.copyOfRange(sign, 32, 64);
-      v = sign[64];
-      if (v < 27) {
-        v += 27;
+  /**
+   * Recovers the address of each signature, the signatures recovered as a batch.
+   *
+   * @return an empty address for a signature shorter than 65 bytes, null for a signature that
+   *     cannot be recovered
+   */
+  private static byte[][] recoverAddrsBySign(byte[][] signs, byte[] hash) {
+    byte[][] out = new byte[signs.length][];
+    int[] indexes = new int[signs.length];
+    SignatureInterface[] signatures = new SignatureInterface[signs.length];
+    int count = 0;
+    for (int i = 0; i < signs.length; i++) {
+      byte[] sign = signs[i];
+      if (ArrayUtils.isEmpty(sign) || sign.length < 65) {
+        out[i] = new byte[0];
+        continue;
       }
+      try {
+        byte[] r = Arrays.copyOfRange(sign, 0, 32);
+        byte[] s = Arrays.copyOfRange(sign, 32, 64);
+        byte v = sign[64];
+        if (v < 27) {
+          v += 27;
+        }
 
-      SignatureInterface signature = SignUtils.fromComponents(r, s, v,
-          CommonParameter.getInstance().isECKeyCryptoEngine());
-      if (signature.validateComponents()) {
-        out = SignUtils.signatureToAddress(hash, signature,
+        SignatureInterface signature = SignUtils.fromComponents(r, s, v,
             CommonParameter.getInstance().isECKeyCryptoEngine());
+        if (signature.validateComponents()) {
+          indexes[count] = i;
+          signatures[count++] = signature;
+        }
+      } catch (Throwable any) {
+        logger.info("ECRecover error", any.getMessage());
+      }
+    }
+    if (count == 0) {
+      return out;
+    }
+    byte[][] hashes = new byte[count][];
+    Arrays.fill(hashes, hash);
+    try {
+      byte[][] addresses = SignUtils.signaturesToAddresses(hashes,
+          Arrays.copyOf(signatures, count), CommonParameter.getInstance().isECKeyCryptoEngine());
+      for (int i = 0; i < count; i++) {
+        out[indexes[i]] = addresses[i];
       }
     } catch (Throwable any) {
       logger.info("ECRecover error", any.getMessage());
@@ -945,8 +971,10 @@ public class PrecompiledContracts {
             //calculate weight
             long totalWeight = 0L;
             List<byte[]> executedSignList = new ArrayList<>();
-            for (byte[] sign : signatures) {
-              byte[] recoveredAddr = recoverAddrBySign(sign, hash);
+            byte[][] recoveredAddrs = recoverAddrsBySign(signatures, hash);
+            for (int i = 0; i < signatures.length; i++) {
+              byte[] sign = signatures[i];
+              byte[] recoveredAddr = recoveredAddrs[i];
 
               sign = merge(recoveredAddr, sign);
               if (ByteArray.matrixContains(executedSignList, recoveredAddr)) {
@@ -982,12 +1010,19 @@ public class PrecompiledContracts {
 
   public static class BatchValidateSign extends PrecompiledContract {
 
+    private static final int WORKERS = Runtime.getRuntime().availableProcessors() / 2 + 1;
     private static final ExecutorService workers;
     private static final int ENGERYPERSIGN = 1500;
     private static final int MAX_SIZE = 16;
+    // signatures recovered as a batch by one task
+    private static final int SIGNS_PER_TASK = 4;
 
     static {
-      workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() / 2 + 1);
+      // tasks are taken in the order they are queued, and once the queue is full the calling
+      // thread recovers its own signatures instead of queueing more
+      workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(WORKERS * MAX_SIZE / SIGNS_PER_TASK, true),
+          r -> new Thread(r, "BatchValidateSign"), new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     @Override
@@ -1024,20 +1059,21 @@ public class PrecompiledContracts {
       byte[] res = new byte[WORD_SIZE];
       if (isConstantCall()) {
         //for constant call not use thread pool to avoid potential effect
+        byte[][] recovered = recoverAddrsBySign(signatures, hash);
         for (int i = 0; i < cnt; i++) {
-          if (DataWord
-              .equalAddressByteArray(addresses[i], recoverAddrBySign(signatures[i], hash))) {
+          if (DataWord.equalAddressByteArray(addresses[i], recovered[i])) {
             res[i] = 1;
           }
         }
       } else {
         // add check
-        CountDownLatch countDownLatch = new CountDownLatch(cnt);
-        List<Future<RecoverAddrResult>> futures = new ArrayList<>(cnt);
+        int tasks = (cnt + SIGNS_PER_TASK - 1) / SIGNS_PER_TASK;
+        CountDownLatch countDownLatch = new CountDownLatch(tasks);
+        List<Future<RecoverAddrResult>> futures = new ArrayList<>(tasks);
 
-        for (int i = 0; i < cnt; i++) {
-          Future<RecoverAddrResult> future = workers
-              .submit(new RecoverAddrTask(countDownLatch, hash, signatures[i], i));
+        for (int i = 0; i < cnt; i += SIGNS_PER_TASK) {
+          Future<RecoverAddrResult> future = workers.submit(new RecoverAddrTask(countDownLatch,
+              hash, Arrays.copyOfRange(signatures, i, Math.min(cnt, i + SIGNS_PER_TASK)), i));
           futures.add(future);
         }
         boolean withNoTimeout = countDownLatch
@@ -1050,9 +1086,11 @@ public class PrecompiledContracts {
 
         for (Future<RecoverAddrResult> future : futures) {
           RecoverAddrResult result = future.get();
-          int index = result.nonce;
-          if (DataWord.equalAddressByteArray(result.addr, addresses[index])) {
-            res[index] = 1;
+          for (int i = 0; i < result.addrs.length; i++) {
+            int index = result.nonce + i;
+            if (DataWord.equalAddressByteArray(result.addrs[i], addresses[index])) {
+              res[index] = 1;
+            }
           }
         }
       }
@@ -1064,13 +1102,13 @@ public class PrecompiledContracts {
 
       private CountDownLatch countDownLatch;
       private byte[] hash;
-      private byte[] signature;
+      private byte[][] signatures;
       private int nonce;
 
       @Override
       public RecoverAddrResult call() {
         try {
-          return new RecoverAddrResult(recoverAddrBySign(this.signature, this.hash), nonce);
+          return new RecoverAddrResult(recoverAddrsBySign(this.signatures, this.hash), nonce);
         } finally {
           countDownLatch.countDown();
         }
@@ -1080,7 +1118,7 @@ public class PrecompiledContracts {
     @AllArgsConstructor
     private static class RecoverAddrResult {
 
-      private byte[] addr;
+      private byte[][] addrs;
       private int nonce;
     }
 
@@ -1,23 +1,31 @@
 package org.tron.core.vm.program;
 
 import static java.lang.Math.ceil;
-import static java.lang.Math.min;
 import static java.lang.String.format;
 import static org.tron.common.utils.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.tron.common.utils.ByteUtil.oneByteToHexString;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import org.tron.common.crypto.Hash;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.program.listener.ProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 
+/**
+ * Program memory, one contiguous buffer. It is allocated in {@code CHUNK_SIZE} steps and the
+ * backing array at least doubles when it grows, so reads and writes at any address are a
+ * single copy.
+ */
 public class Memory implements ProgramListenerAware {
 
   private static final int CHUNK_SIZE = 1024;
   private static final int WORD_SIZE = 32;
 
-  private List<byte[]> chunks = new LinkedList<>();
+  private byte[] buffer = EMPTY_BYTE_ARRAY;
+  // bytes allocated so far, always a multiple of CHUNK_SIZE and at most buffer.length
+  private int allocated;
   private int softSize;
   private ProgramListener programListener;
 
@@ -33,25 +41,7 @@ public class Memory implements ProgramListenerAware {
 
     extend(address, size);
     byte[] data = new byte[size];
-
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
-    int toGrab = data.length;
-    int start = 0;
-
-    while (toGrab > 0) {
-      int copied = grabMax(chunkIndex, chunkOffset, toGrab, data, start);
-
-      // read next chunk from the start
-      ++chunkIndex;
-      chunkOffset = 0;
-
-      // mark remind
-      toGrab -= copied;
-      start += copied;
-    }
-
+    System.arraycopy(buffer, address, data, 0, size);
     return data;
   }
 
@@ -65,9 +55,6 @@ public class Memory implements ProgramListenerAware {
       extend(address, dataSize);
     }
 
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
     int toCapture = 0;
     if (limited) {
       toCapture = (address + dataSize > softSize) ? softSize - address : dataSize;
@@ -75,17 +62,8 @@ public class Memory implements ProgramListenerAware {
       toCapture = dataSize;
     }
 
-    int start = 0;
-    while (toCapture > 0) {
-      int captured = captureMax(chunkIndex, chunkOffset, toCapture, data, start);
-
-      // capture next chunk
-      ++chunkIndex;
-      chunkOffset = 0;
-
-      // mark remind
-      toCapture -= captured;
-      start += captured;
+    if (toCapture > 0) {
+      System.arraycopy(data, 0, buffer, address, toCapture);
     }
 
     if (programListener != null) {
@@ -107,7 +85,7 @@ public class Memory implements ProgramListenerAware {
     final int newSize = Math.addExact(address, size);
     int toAllocate = newSize - internalSize();
     if (toAllocate > 0) {
-      addChunks((int) ceil((double) toAllocate / CHUNK_SIZE));
+      allocate((int) ceil((double) toAllocate / CHUNK_SIZE));
     }
 
     toAllocate = newSize - softSize;
@@ -121,19 +99,25 @@ public class Memory implements ProgramListenerAware {
     }
   }
 
+  /**
+   * @return the keccak hash of the memory range, hashed in place without copying it out
+   */
+  public byte[] sha3(int address, int size) {
+    if (size <= 0) {
+      return Hash.sha3(EMPTY_BYTE_ARRAY);
+    }
+
+    extend(address, size);
+    return Hash.sha3(buffer, address, size);
+  }
+
   public DataWord readWord(int address) {
     return new DataWord(read(address, 32));
   }
 
   // just access expecting all data valid
   public byte readByte(int address) {
-
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
-    byte[] chunk = chunks.get(chunkIndex);
-
-    return chunk[chunkOffset];
+    return buffer[address];
   }
 
   @Override
@@ -174,35 +158,27 @@ public class Memory implements ProgramListenerAware {
   }
 
   public int internalSize() {
-    return chunks.size() * CHUNK_SIZE;
+    return allocated;
   }
 
+  /**
+   * @return a copy of the allocated memory, split in {@code CHUNK_SIZE} chunks.
+   */
   public List<byte[]> getChunks() {
-    return new LinkedList<>(chunks);
-  }
-
-  private int captureMax(int chunkIndex, int chunkOffset, int size, byte[] src, int srcPos) {
-
-    byte[] chunk = chunks.get(chunkIndex);
-    int toCapture = min(size, chunk.length - chunkOffset);
-
-    System.arraycopy(src, srcPos, chunk, chunkOffset, toCapture);
-    return toCapture;
-  }
-
-  private int grabMax(int chunkIndex, int chunkOffset, int size, byte[] dest, int destPos) {
-
-    byte[] chunk = chunks.get(chunkIndex);
-    int toGrab = min(size, chunk.length - chunkOffset);
-
-    System.arraycopy(chunk, chunkOffset, dest, destPos, toGrab);
-
-    return toGrab;
+    List<byte[]> chunks = new ArrayList<>(allocated / CHUNK_SIZE);
+    for (int offset = 0; offset < allocated; offset += CHUNK_SIZE) {
+      chunks.add(Arrays.copyOfRange(buffer, offset, offset + CHUNK_SIZE));
+    }
+    return chunks;
   }
 
-  private void addChunks(int num) {
-    for (int i = 0; i < num; ++i) {
-      chunks.add(new byte[CHUNK_SIZE]);
+  private void allocate(int chunks) {
+    int newAllocated = Math.addExact(allocated, Math.multiplyExact(chunks, CHUNK_SIZE));
+    if (newAllocated > buffer.length) {
+      int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max((long) newAllocated,
+          (long) buffer.length << 1));
+      buffer = Arrays.copyOf(buffer, capacity);
     }
+    allocated = newAllocated;
   }
 }
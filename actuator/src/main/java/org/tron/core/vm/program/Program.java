@@ -21,7 +21,6 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.util.encoders.Hex;
@@ -30,6 +29,7 @@ import org.tron.common.parameter.CommonParameter;
 import org.tron.common.runtime.InternalTransaction;
 import org.tron.common.runtime.ProgramResult;
 import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.runtime.vm.UInt256;
 import org.tron.common.utils.BIUtil;
 import org.tron.common.utils.ByteUtil;
 import org.tron.common.utils.FastByteComparisons;
@@ -84,7 +84,6 @@ import org.tron.core.vm.program.invoke.ProgramInvokeFactory;
 import org.tron.core.vm.program.listener.CompositeProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 import org.tron.core.vm.program.listener.ProgramStorageChangeListener;
-import org.tron.core.vm.repository.Key;
 import org.tron.core.vm.repository.Repository;
 import org.tron.core.vm.trace.ProgramTrace;
 import org.tron.core.vm.trace.ProgramTraceListener;
@@ -101,15 +100,12 @@ public class Program {
 
   private static final int MAX_DEPTH = 64;
   //Max size for stack checks
-  private static final int MAX_STACK_SIZE = 1024;
+  private static final int MAX_STACK_SIZE = Stack.MAX_SIZE;
   private static final String VALIDATE_FOR_SMART_CONTRACT_FAILURE =
       "validateForSmartContract failure:%s";
   private static final String INVALID_TOKEN_ID_MSG = "not valid token id";
   private static final String REFUND_ENERGY_FROM_MESSAGE_CALL = "refund energy from message call";
   private static final String CALL_PRE_COMPILED = "call pre-compiled";
-  private static final int lruCacheSize = CommonParameter.getInstance().getSafeLruCacheSize();
-  private static final LRUMap<Key, ProgramPrecompile> programPrecompileLRUMap
-      = new LRUMap<>(lruCacheSize);
   private long nonce;
   private byte[] rootTransactionId;
   private InternalTransaction internalTransaction;
@@ -133,6 +129,9 @@ public class Program {
   private ProgramPrecompile programPrecompile;
   private int contractVersion;
   private DataWord adjustedCallEnergy;
+  // operands of the arithmetic opcodes, reused across the instructions of this frame
+  private final UInt256 operand1 = new UInt256();
+  private final UInt256 operand2 = new UInt256();
   @Getter
   @Setter
   private long contextContractFactor;
@@ -197,20 +196,8 @@ public class Program {
   }
 
   public ProgramPrecompile getProgramPrecompile() {
-    if (isConstantCall()) {
-      if (programPrecompile == null) {
-        programPrecompile = ProgramPrecompile.compile(ops);
-      }
-      return programPrecompile;
-    }
     if (programPrecompile == null) {
-      Key key = getJumpDestAnalysisCacheKey();
-      if (programPrecompileLRUMap.containsKey(key)) {
-        programPrecompile = programPrecompileLRUMap.get(key);
-      } else {
-        programPrecompile = ProgramPrecompile.compile(ops);
-        programPrecompileLRUMap.put(key, programPrecompile);
-      }
+      programPrecompile = ProgramPrecompile.load(getCodeHash(), ops);
     }
     return programPrecompile;
   }
@@ -306,6 +293,20 @@ public class Program {
     return this.stack;
   }
 
+  /**
+   * Loads word into the first operand register of this frame.
+   */
+  public UInt256 operand1(DataWord word) {
+    return operand1.set(word.getData());
+  }
+
+  /**
+   * Loads word into the second operand register of this frame.
+   */
+  public UInt256 operand2(DataWord word) {
+    return operand2.set(word.getData());
+  }
+
   public int getPC() {
     return pc;
   }
@@ -421,6 +422,10 @@ public class Program {
     return memory.read(offset, size);
   }
 
+  public byte[] memorySha3(int offset, int size) {
+    return memory.sha3(offset, size);
+  }
+
   /**
    * . Allocates extra memory in the program for a specified size, calculated from a given offset
    *
@@ -1218,10 +1223,6 @@ public class Program {
     return codeHash;
   }
 
-  private Key getJumpDestAnalysisCacheKey() {
-    return Key.create(ByteUtil.merge(codeAddress, getCodeHash()));
-  }
-
   public byte[] getContextAddress() {
     return invoke.getContractAddress().toTronAddress();
   }
@@ -1,24 +1,48 @@
 package org.tron.core.vm.program;
 
-import java.util.HashSet;
-import java.util.Set;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
 import lombok.extern.slf4j.Slf4j;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.common.parameter.CommonParameter;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.Op;
 import org.tron.core.vm.config.VMConfig;
 
+/**
+ * Jump destination analysis of a bytecode: one bit per code offset for the valid
+ * JUMPDESTs. Analyses are shared by all the programs running the same code, block
+ * execution and constant calls alike, through a cache keyed by code hash; a hit is only
+ * used when the cached code equals the code run.
+ */
 @Slf4j(topic = "VM")
 public class ProgramPrecompile {
 
-  private final Set<Integer> jumpDest = new HashSet<>();
+  private static final String STRATEGY = String.format(CacheStrategies.PATTERNS,
+      100, CommonParameter.getInstance().getSafeLruCacheSize(), "1h",
+      Runtime.getRuntime().availableProcessors());
+
+  private static final TronCache<ByteString, ProgramPrecompile> CACHE =
+      CacheManager.allocate(CacheType.jumpDestAnalysis, STRATEGY);
+
+  private final byte[] code;
+  private final long[] jumpDest;
+
+  private ProgramPrecompile(byte[] code) {
+    this.code = code;
+    this.jumpDest = new long[(code.length + 63) >>> 6];
+  }
 
   public static ProgramPrecompile compile(byte[] ops) {
-    ProgramPrecompile ret = new ProgramPrecompile();
+    ProgramPrecompile ret = new ProgramPrecompile(ops);
     for (int i = 0; i < ops.length; ++i) {
       int op = ops[i] & 0xff;
 
       if (op == Op.JUMPDEST) {
-        ret.jumpDest.add(i);
+        set(ret.jumpDest, i);
       }
 
       if (op >= Op.PUSH1 && op <= Op.PUSH32) {
@@ -28,6 +52,20 @@ public class ProgramPrecompile {
     return ret;
   }
 
+  /**
+   * @return the analysis of ops from the shared cache, compiling it on a miss.
+   */
+  public static ProgramPrecompile load(byte[] codeHash, byte[] ops) {
+    ByteString key = ByteString.copyFrom(codeHash);
+    ProgramPrecompile cached = CACHE.getIfPresent(key);
+    if (cached != null && Arrays.equals(cached.code, ops)) {
+      return cached;
+    }
+    ProgramPrecompile ret = compile(ops);
+    CACHE.put(key, ret);
+    return ret;
+  }
+
   public static byte[] getCode(byte[] ops) {
     for (int i = 0; i < ops.length; ++i) {
 
@@ -54,6 +92,14 @@ public class ProgramPrecompile {
   }
 
   public boolean hasJumpDest(int pc) {
-    return jumpDest.contains(pc);
+    return get(jumpDest, pc);
+  }
+
+  private static void set(long[] bits, int pc) {
+    bits[pc >>> 6] |= 1L << pc;
+  }
+
+  private static boolean get(long[] bits, int pc) {
+    return pc >= 0 && (pc >>> 6) < bits.length && (bits[pc >>> 6] & (1L << pc)) != 0;
   }
 }
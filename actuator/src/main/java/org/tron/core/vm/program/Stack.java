@@ -1,35 +1,69 @@
 package org.tron.core.vm.program;
 
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.Objects;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.program.listener.ProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 
-public class Stack extends java.util.Stack<DataWord> implements ProgramListenerAware {
+/**
+ * Operand stack of one program frame. It is only touched by the thread running the frame,
+ * so it is a plain array sized to the TVM stack limit, without the monitor taken by
+ * {@link java.util.Stack} on every operation.
+ */
+public class Stack implements ProgramListenerAware {
 
-  private static final long serialVersionUID = 1;
+  public static final int MAX_SIZE = 1024;
 
-  private transient ProgramListener programListener;
+  private final DataWord[] items = new DataWord[MAX_SIZE];
+  private int size;
+
+  private ProgramListener programListener;
 
   @Override
   public void setProgramListener(ProgramListener listener) {
     this.programListener = listener;
   }
 
-  @Override
-  public synchronized DataWord pop() {
+  public DataWord pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
     if (programListener != null) {
       programListener.onStackPop();
     }
-    return super.pop();
+    DataWord item = items[--size];
+    items[size] = null;
+    return item;
   }
 
-  @Override
   public DataWord push(DataWord item) {
+    if (size == MAX_SIZE) {
+      throw new ArrayIndexOutOfBoundsException(size);
+    }
     if (programListener != null) {
       programListener.onStackPush(item);
     }
-    return super.push(item);
+    items[size++] = item;
+    return item;
+  }
+
+  public DataWord peek() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return items[size - 1];
+  }
+
+  /**
+   * @param index position counted from the bottom of the stack.
+   */
+  public DataWord get(int index) {
+    if (index < 0 || index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return items[index];
   }
 
   public void swap(int from, int to) {
@@ -37,13 +71,22 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
       if (programListener != null) {
         programListener.onStackSwap(from, to);
       }
-      DataWord tmp = get(from);
-      set(from, set(to, tmp));
+      DataWord tmp = items[from];
+      items[from] = items[to];
+      items[to] = tmp;
     }
   }
 
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
   private boolean isAccessible(int from) {
-    return from >= 0 && from < size();
+    return from >= 0 && from < size;
   }
 
   @Override
@@ -57,16 +100,29 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
     if (o.getClass() != this.getClass()) {
       return false;
     }
-    if (!super.equals(o)) {
+    Stack dataWords = (Stack) o;
+    if (size != dataWords.size) {
       return false;
     }
-    Stack dataWords = (Stack) o;
+    for (int i = 0; i < size; i++) {
+      if (!Objects.equals(items[i], dataWords.items[i])) {
+        return false;
+      }
+    }
     return Objects.equals(programListener, dataWords.programListener);
   }
 
-
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), programListener);
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + Objects.hashCode(items[i]);
+    }
+    return Objects.hash(result, programListener);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(Arrays.copyOf(items, size));
   }
 }
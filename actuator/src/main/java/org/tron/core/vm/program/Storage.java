@@ -25,6 +25,10 @@ public class Storage {
   private byte[] address;
   @Setter
   private int contractVersion;
+  // the rows read from the store, null for a missing row, shared by the storages of an address
+  // read through an EstimationRepository
+  @Setter
+  private Map<DataWord, StorageRowCapsule> readRows;
 
   public Storage(byte[] address, StorageRowStore store) {
     addrHash = addrHash(address);
@@ -37,6 +41,7 @@ public class Storage {
     this.address = storage.getAddress().clone();
     this.store = storage.store;
     this.contractVersion = storage.contractVersion;
+    this.readRows = storage.readRows;
     storage.getRowCache().forEach((DataWord rowKey, StorageRowCapsule row) -> {
       StorageRowCapsule newRow = new StorageRowCapsule(row);
       this.rowCache.put(rowKey.clone(), newRow);
@@ -44,12 +49,16 @@ public class Storage {
   }
 
   private byte[] compose(byte[] key, byte[] addrHash) {
+    byte[] result;
     if (contractVersion == 1) {
-      key = Hash.sha3(key);
+      // the hash of the key is written in place, then its prefix overwritten
+      result = new byte[DataWord.WORD_SIZE];
+      Hash.sha3(key, 0, key.length, result, 0);
+    } else {
+      result = new byte[key.length];
+      arraycopy(key, PREFIX_BYTES, result, PREFIX_BYTES, PREFIX_BYTES);
     }
-    byte[] result = new byte[key.length];
     arraycopy(addrHash, 0, result, 0, PREFIX_BYTES);
-    arraycopy(key, PREFIX_BYTES, result, PREFIX_BYTES, PREFIX_BYTES);
     return result;
   }
 
@@ -62,7 +71,7 @@ public class Storage {
     if (ByteUtil.isNullOrZeroArray(trxHash)) {
       return Hash.sha3(address);
     }
-    return Hash.sha3(ByteUtil.merge(address, trxHash));
+    return Hash.sha3(address, trxHash);
   }
 
   public void generateAddrHash(byte[] trxId) {
@@ -74,7 +83,7 @@ public class Storage {
     if (rowCache.containsKey(key)) {
       return new DataWord(rowCache.get(key).getValue());
     } else {
-      StorageRowCapsule row = store.get(compose(key.getData(), addrHash));
+      StorageRowCapsule row = readRow(key);
       if (row == null || row.getInstance() == null) {
         return null;
       }
@@ -83,6 +92,24 @@ public class Storage {
     }
   }
 
+  private StorageRowCapsule readRow(DataWord key) {
+    if (readRows == null) {
+      return store.get(compose(key.getData(), addrHash));
+    }
+    StorageRowCapsule row;
+    if (readRows.containsKey(key)) {
+      row = readRows.get(key);
+    } else {
+      row = store.get(compose(key.getData(), addrHash));
+      if (row == null || row.getInstance() == null) {
+        row = null;
+      }
+      readRows.put(key.clone(), row);
+    }
+    // the row is changed in place by put
+    return row == null ? null : new StorageRowCapsule(row);
+  }
+
   public void put(DataWord key, DataWord value) {
     if (rowCache.containsKey(key)) {
       rowCache.get(key).setValue(value.getData());
@@ -0,0 +1,109 @@
+package org.tron.core.vm.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.StorageRowCapsule;
+import org.tron.core.store.StoreFactory;
+import org.tron.core.vm.program.Storage;
+
+/**
+ * The parent of the root repositories of the executions of one energy estimate. The first
+ * execution reads accounts, contracts, code and storage rows from the stores through it, and it
+ * keeps them, so the next executions of the estimate read them from memory. The executions are
+ * constant calls that never commit, and nothing is written to it: the values it keeps are the
+ * values read from the stores.
+ */
+public class EstimationRepository extends RepositoryImpl {
+
+  // the storage rows read by the executions, by contract address
+  private final Map<Key, Map<DataWord, StorageRowCapsule>> storageRows = new HashMap<>();
+
+  @Getter
+  private int executions;
+
+  public EstimationRepository(StoreFactory storeFactory) {
+    super(storeFactory, null);
+  }
+
+  /**
+   * @return the root repository of the next execution of the estimate
+   */
+  public Repository newExecution() {
+    executions++;
+    return newRepositoryChild();
+  }
+
+  @Override
+  public Storage getStorage(byte[] address) {
+    Storage storage = super.getStorage(address);
+    storage.setReadRows(storageRows.computeIfAbsent(Key.create(address), k -> new HashMap<>()));
+    return storage;
+  }
+
+  @Override
+  public void commit() {
+    throw readOnly();
+  }
+
+  @Override
+  public void putAccount(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putCode(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putContract(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putContractState(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putStorage(Key key, Storage cache) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putAccountValue(byte[] address, AccountCapsule accountCapsule) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putDynamicProperty(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putDelegatedResource(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putVotes(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putDelegation(Key key, Value value) {
+    throw readOnly();
+  }
+
+  @Override
+  public void putDelegatedResourceAccountIndex(Key key, Value value) {
+    throw readOnly();
+  }
+
+  private static UnsupportedOperationException readOnly() {
+    return new UnsupportedOperationException("the repository of an estimate is read only");
+  }
+}
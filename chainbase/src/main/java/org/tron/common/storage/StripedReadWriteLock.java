@@ -0,0 +1,235 @@
+package org.tron.common.storage;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A read write lock for a lot of readers and a rare writer, as the reset and close of a database
+ * against its reads and writes. A reader counts itself in a stripe picked by its thread, each on
+ * its own cache line, so readers on different cores do not write the same line as they would
+ * the shared count of a ReentrantReadWriteLock. The writer announces itself then waits for all
+ * the stripes to drain, while new readers see it and wait for it to release.
+ * The write lock is reentrant and its holder may read, the read lock cannot be upgraded.
+ */
+public class StripedReadWriteLock implements ReadWriteLock {
+
+  // longs between two stripes, two cache lines so the adjacent line prefetch does not share them
+  private static final int PADDING = 16;
+  private static final int STRIPES = stripes();
+
+  private final AtomicLongArray readers = new AtomicLongArray(STRIPES * PADDING);
+  private final ReentrantLock writer = new ReentrantLock();
+  private volatile boolean writing;
+  private final Lock readLock = new ReadLock();
+  private final Lock writeLock = new WriteLock();
+
+  private static int stripes() {
+    int stripes = 1;
+    while (stripes < Runtime.getRuntime().availableProcessors() * 2) {
+      stripes <<= 1;
+    }
+    return stripes;
+  }
+
+  private static int stripe() {
+    long id = Thread.currentThread().getId();
+    return (int) ((id ^ (id >>> 16)) & (STRIPES - 1)) * PADDING;
+  }
+
+  @Override
+  public Lock readLock() {
+    return readLock;
+  }
+
+  @Override
+  public Lock writeLock() {
+    return writeLock;
+  }
+
+  private void lockRead() {
+    int stripe = stripe();
+    while (!tryLockRead(stripe)) {
+      writer.lock();
+      writer.unlock();
+    }
+  }
+
+  private void lockReadInterruptibly() throws InterruptedException {
+    int stripe = stripe();
+    while (!tryLockRead(stripe)) {
+      writer.lockInterruptibly();
+      writer.unlock();
+    }
+  }
+
+  private boolean tryLockRead(long time, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(time);
+    int stripe = stripe();
+    while (!tryLockRead(stripe)) {
+      if (!writer.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+      writer.unlock();
+    }
+    return true;
+  }
+
+  private boolean tryLockRead(int stripe) {
+    // the count is published before writing is read, and the writer publishes writing
+    // before reading the counts, so one of them sees the other
+    readers.incrementAndGet(stripe);
+    if (!writing || writer.isHeldByCurrentThread()) {
+      return true;
+    }
+    readers.decrementAndGet(stripe);
+    return false;
+  }
+
+  private void unlockRead() {
+    readers.decrementAndGet(stripe());
+  }
+
+  private void lockWrite() {
+    writer.lock();
+    if (writer.getHoldCount() > 1) {
+      return;
+    }
+    writing = true;
+    for (int i = 0; i < readers.length(); i += PADDING) {
+      while (readers.get(i) != 0) {
+        LockSupport.parkNanos(10_000);
+      }
+    }
+  }
+
+  private void lockWriteInterruptibly() throws InterruptedException {
+    writer.lockInterruptibly();
+    if (writer.getHoldCount() > 1) {
+      return;
+    }
+    writing = true;
+    for (int i = 0; i < readers.length(); i += PADDING) {
+      while (readers.get(i) != 0) {
+        if (Thread.interrupted()) {
+          unlockWrite();
+          throw new InterruptedException();
+        }
+        LockSupport.parkNanos(10_000);
+      }
+    }
+  }
+
+  /**
+   * @param deadline the System.nanoTime to give up at, the current time for no wait
+   */
+  private boolean tryLockWrite(long deadline) throws InterruptedException {
+    long wait = deadline - System.nanoTime();
+    if (wait > 0 ? !writer.tryLock(wait, TimeUnit.NANOSECONDS) : !writer.tryLock()) {
+      return false;
+    }
+    if (writer.getHoldCount() > 1) {
+      return true;
+    }
+    writing = true;
+    for (int i = 0; i < readers.length(); i += PADDING) {
+      while (readers.get(i) != 0) {
+        // the readers that saw writing wait on writer, and go on once it is released
+        if (System.nanoTime() - deadline >= 0) {
+          unlockWrite();
+          return false;
+        }
+        if (Thread.interrupted()) {
+          unlockWrite();
+          throw new InterruptedException();
+        }
+        LockSupport.parkNanos(10_000);
+      }
+    }
+    return true;
+  }
+
+  private void unlockWrite() {
+    if (writer.getHoldCount() == 1) {
+      writing = false;
+    }
+    writer.unlock();
+  }
+
+  private final class ReadLock extends AbstractLock {
+
+    @Override
+    public void lock() {
+      lockRead();
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+      lockReadInterruptibly();
+    }
+
+    @Override
+    public boolean tryLock() {
+      return tryLockRead(stripe());
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+      return tryLockRead(time, unit);
+    }
+
+    @Override
+    public void unlock() {
+      unlockRead();
+    }
+  }
+
+  private final class WriteLock extends AbstractLock {
+
+    @Override
+    public void lock() {
+      lockWrite();
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+      lockWriteInterruptibly();
+    }
+
+    @Override
+    public boolean tryLock() {
+      try {
+        return tryLockWrite(System.nanoTime());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+      return tryLockWrite(System.nanoTime() + unit.toNanos(time));
+    }
+
+    @Override
+    public void unlock() {
+      unlockWrite();
+    }
+  }
+
+  private abstract static class AbstractLock implements Lock {
+
+    /**
+     * Conditions are not supported, as by the read lock of ReentrantReadWriteLock: the writer
+     * waiting on one would leave the readers out.
+     */
+    @Override
+    public Condition newCondition() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -33,7 +33,6 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -51,6 +50,7 @@ import org.iq80.leveldb.WriteBatch;
 import org.iq80.leveldb.WriteOptions;
 import org.slf4j.LoggerFactory;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.storage.StripedReadWriteLock;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.storage.metric.DbStat;
 import org.tron.common.utils.FileUtil;
@@ -71,7 +71,7 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   private String parentPath;
   private Options options;
   private WriteOptions writeOptions;
-  private ReadWriteLock resetDbLock = new ReentrantReadWriteLock();
+  private ReadWriteLock resetDbLock = new StripedReadWriteLock();
   private static final String LEVELDB = "LEVELDB";
   private static final org.slf4j.Logger innerLogger = LoggerFactory.getLogger(LEVELDB);
   private Logger leveldbLogger = new Logger() {
@@ -380,12 +380,24 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  private void updateByBatchInner(Iterable<Map.Entry<byte[], byte[]>> rows,
+      WriteOptions options) throws Exception {
+    try (WriteBatch batch = database.createWriteBatch()) {
+      innerBatchUpdate(rows, batch);
+      database.write(batch, options);
+    }
+  }
+
   private void innerBatchUpdate(Map<byte[], byte[]> rows, WriteBatch batch) {
-    rows.forEach((key, value) -> {
-      if (value == null) {
-        batch.delete(key);
+    innerBatchUpdate(rows.entrySet(), batch);
+  }
+
+  private void innerBatchUpdate(Iterable<Map.Entry<byte[], byte[]>> rows, WriteBatch batch) {
+    rows.forEach(e -> {
+      if (e.getValue() == null) {
+        batch.delete(e.getKey());
       } else {
-        batch.put(key, value);
+        batch.put(e.getKey(), e.getValue());
       }
     });
   }
@@ -406,6 +418,23 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  @Override
+  public void updateByBatch(Iterable<Map.Entry<byte[], byte[]>> rows,
+      WriteOptionsWrapper options) {
+    resetDbLock.readLock().lock();
+    try {
+      updateByBatchInner(rows, options.level);
+    } catch (Exception e) {
+      try {
+        updateByBatchInner(rows, options.level);
+      } catch (Exception e1) {
+        throw new RuntimeException(e);
+      }
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void updateByBatch(Map<byte[], byte[]> rows) {
     resetDbLock.readLock().lock();
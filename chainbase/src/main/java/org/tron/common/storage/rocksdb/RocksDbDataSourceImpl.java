@@ -16,7 +16,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +35,7 @@ import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.LoggerFactory;
 import org.tron.common.setting.RocksDbSettings;
+import org.tron.common.storage.StripedReadWriteLock;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.storage.metric.DbStat;
 import org.tron.common.utils.FileUtil;
@@ -56,7 +56,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   private RocksDB database;
   private volatile boolean alive;
   private String parentPath;
-  private ReadWriteLock resetDbLock = new ReentrantReadWriteLock();
+  private ReadWriteLock resetDbLock = new StripedReadWriteLock();
   private static final String KEY_ENGINE = "ENGINE";
   private static final String ROCKSDB = "ROCKSDB";
   private DirectComparator comparator;
@@ -370,6 +370,43 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  private void updateByBatchInner(Iterable<Map.Entry<byte[], byte[]>> rows,
+      WriteOptions options) throws Exception {
+    if (quitIfNotAlive()) {
+      return;
+    }
+    try (WriteBatch batch = new WriteBatch()) {
+      for (Map.Entry<byte[], byte[]> entry : rows) {
+        if (entry.getValue() == null) {
+          batch.delete(entry.getKey());
+        } else {
+          batch.put(entry.getKey(), entry.getValue());
+        }
+      }
+      database.write(options, batch);
+    }
+  }
+
+  @Override
+  public void updateByBatch(Iterable<Map.Entry<byte[], byte[]>> rows,
+      WriteOptionsWrapper optionsWrapper) {
+    resetDbLock.readLock().lock();
+    try {
+      if (quitIfNotAlive()) {
+        return;
+      }
+      updateByBatchInner(rows, optionsWrapper.rocks);
+    } catch (Exception e) {
+      try {
+        updateByBatchInner(rows, optionsWrapper.rocks);
+      } catch (Exception e1) {
+        throw new RuntimeException(dataBaseName, e1);
+      }
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void updateByBatch(Map<byte[], byte[]> rows, WriteOptionsWrapper optionsWrapper) {
     resetDbLock.readLock().lock();
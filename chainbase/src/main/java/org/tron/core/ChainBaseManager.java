@@ -62,6 +62,7 @@ import org.tron.core.store.ProposalStore;
 import org.tron.core.store.SectionBloomStore;
 import org.tron.core.store.StorageRowStore;
 import org.tron.core.store.TransactionHistoryStore;
+import org.tron.core.store.TransactionInfoIndexStore;
 import org.tron.core.store.TransactionRetStore;
 import org.tron.core.store.TreeBlockIndexStore;
 import org.tron.core.store.VotesStore;
@@ -194,6 +195,9 @@ public class ChainBaseManager {
   private TransactionRetStore transactionRetStore;
   @Autowired
   @Getter
+  private TransactionInfoIndexStore transactionInfoIndexStore;
+  @Autowired
+  @Getter
   private RecentBlockStore recentBlockStore;
   @Autowired
   @Getter
@@ -259,6 +263,7 @@ public class ChainBaseManager {
   public void closeAllStore() {
     dbStatService.shutdown();
     closeOneStore(transactionRetStore);
+    closeOneStore(transactionInfoIndexStore);
     closeOneStore(recentBlockStore);
     closeOneStore(transactionHistoryStore);
     closeOneStore(transactionStore);
@@ -61,6 +61,9 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   @Getter
   @Setter
   private Bloom bloom;
+  // results of preValidate, computed ahead of execution while syncing
+  private volatile Sha256Hash preCalcMerkleRoot;
+  private volatile byte[] preRecoveredWitnessAddress;
 
   public boolean isSwitch() {
     return isSwitch;
@@ -179,13 +182,37 @@ public class BlockCapsule implements ProtoCapsule<Block> {
         this.block.getBlockHeader().getRawData().toByteArray());
   }
 
+  /**
+   * Do the state independent part of the block validation: calculate the merkle root,
+   * the transaction ids and recover the witness and transaction signatures. The results
+   * are used by {@link #getCalculatedMerkleRoot()}, {@link #validateSignature} and the
+   * transaction signature checks.
+   */
+  public void preValidate() throws SignatureException {
+    getTransactions().forEach(TransactionCapsule::recoverSigners);
+    preCalcMerkleRoot = calcMerkleRoot();
+    preRecoveredWitnessAddress = recoverWitnessAddress();
+  }
+
+  public Sha256Hash getCalculatedMerkleRoot() {
+    Sha256Hash merkleRoot = preCalcMerkleRoot;
+    return merkleRoot != null ? merkleRoot : calcMerkleRoot();
+  }
+
+  private byte[] recoverWitnessAddress() throws SignatureException {
+    return SignUtils.signatureToAddress(getRawHash().getBytes(),
+        TransactionCapsule.getBase64FromByteString(
+            block.getBlockHeader().getWitnessSignature()),
+        CommonParameter.getInstance().isECKeyCryptoEngine());
+  }
+
   public boolean validateSignature(DynamicPropertiesStore dynamicPropertiesStore,
       AccountStore accountStore) throws ValidateSignatureException {
     try {
-      byte[] sigAddress = SignUtils.signatureToAddress(getRawHash().getBytes(),
-          TransactionCapsule.getBase64FromByteString(
-              block.getBlockHeader().getWitnessSignature()),
-          CommonParameter.getInstance().isECKeyCryptoEngine());
+      byte[] sigAddress = preRecoveredWitnessAddress;
+      if (sigAddress == null) {
+        sigAddress = recoverWitnessAddress();
+      }
       byte[] witnessAccountAddress = block.getBlockHeader().getRawData().getWitnessAddress()
           .toByteArray();
 
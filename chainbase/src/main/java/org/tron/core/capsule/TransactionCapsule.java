@@ -50,6 +50,7 @@ import org.tron.common.utils.ForkController;
 import org.tron.common.utils.ReflectUtils;
 import org.tron.common.utils.Sha256Hash;
 import org.tron.core.actuator.TransactionFactory;
+import org.tron.core.capsule.utils.RecoveredSignerCache;
 import org.tron.core.config.Parameter;
 import org.tron.core.db.TransactionContext;
 import org.tron.core.db.TransactionTrace;
@@ -230,14 +231,14 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
               + permission.getKeysCount());
     }
     HashMap addMap = new HashMap();
-    for (ByteString sig : sigs) {
+    for (int i = 0; i < sigs.size(); i++) {
+      ByteString sig = sigs.get(i);
       if (sig.size() < 65) {
         throw new SignatureFormatException(
             "Signature size is " + sig.size());
       }
       String base64 = TransactionCapsule.getBase64FromByteString(sig);
-      byte[] address = SignUtils
-          .signatureToAddress(hash, base64, CommonParameter.getInstance().isECKeyCryptoEngine());
+      byte[] address = RecoveredSignerCache.signatureToAddress(hash, i, sig);
       long weight = getWeight(permission, address);
       if (weight == 0) {
         throw new PermissionException(
@@ -684,6 +685,25 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
     return true;
   }
 
+  /**
+   * Recover the signer addresses into the RecoveredSignerCache ahead of
+   * validateSignature. Failures are left for validateSignature to report.
+   */
+  public void recoverSigners() {
+    byte[] hash = getTransactionId().getBytes();
+    List<ByteString> sigs = this.transaction.getSignatureList();
+    for (int i = 0; i < sigs.size(); i++) {
+      if (sigs.get(i).size() < 65) {
+        continue;
+      }
+      try {
+        RecoveredSignerCache.signatureToAddress(hash, i, sigs.get(i));
+      } catch (SignatureException e) {
+        logger.debug("Recover signer of {} failed", getTransactionId(), e);
+      }
+    }
+  }
+
   public Sha256Hash getTransactionId() {
     if (this.id == null) {
       this.id = getRawHash();
@@ -1,6 +1,9 @@
 package org.tron.core.capsule;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +14,12 @@ import org.tron.protos.Protocol.TransactionRet;
 @Slf4j(topic = "capsule")
 public class TransactionRetCapsule implements ProtoCapsule<TransactionRet> {
 
+  // field number << 3 | wire type, as WireFormat.makeTag, which is not public
+  private static final int TRANSACTION_INFO_TAG =
+      TransactionRet.TRANSACTIONINFO_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int ID_TAG =
+      TransactionInfo.ID_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
   private TransactionRet transactionRet;
 
   public TransactionRetCapsule(BlockCapsule blockCapsule) {
@@ -56,4 +65,62 @@ public class TransactionRetCapsule implements ProtoCapsule<TransactionRet> {
   public TransactionRet getInstance() {
     return transactionRet;
   }
-}
\ No newline at end of file
+
+  /**
+   * Walks the transaction infos of serialized transaction results, decoding only the id of each
+   * info and skipping the rest.
+   *
+   * @param data the serialized TransactionRet
+   * @param visitor called with the index, id, offset and length of each info in data, until it
+   *     returns false
+   */
+  public static void forEachTransactionInfo(byte[] data, TransactionInfoVisitor visitor)
+      throws BadItemException {
+    try {
+      CodedInputStream input = CodedInputStream.newInstance(data);
+      int index = 0;
+      for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+        if (tag != TRANSACTION_INFO_TAG) {
+          input.skipField(tag);
+          continue;
+        }
+        int length = input.readRawVarint32();
+        int offset = input.getTotalBytesRead();
+        int limit = input.pushLimit(length);
+        byte[] id = new byte[0];
+        while (!input.isAtEnd()) {
+          int infoTag = input.readTag();
+          if (infoTag == ID_TAG) {
+            id = input.readByteArray();
+            break;
+          }
+          input.skipField(infoTag);
+        }
+        input.skipRawBytes(input.getBytesUntilLimit());
+        input.popLimit(limit);
+        if (!visitor.visit(index++, id, offset, length)) {
+          return;
+        }
+      }
+    } catch (IOException e) {
+      throw new BadItemException("TransactionRetCapsule proto data parse exception");
+    }
+  }
+
+  /**
+   * Decodes one transaction info of serialized transaction results.
+   */
+  public static TransactionInfo parseTransactionInfo(byte[] data, int offset, int length)
+      throws BadItemException {
+    try {
+      return TransactionInfo.parseFrom(CodedInputStream.newInstance(data, offset, length));
+    } catch (IOException e) {
+      throw new BadItemException("TransactionInfoCapsule proto data parse exception");
+    }
+  }
+
+  public interface TransactionInfoVisitor {
+
+    boolean visit(int index, byte[] id, int offset, int length);
+  }
+}
@@ -0,0 +1,77 @@
+package org.tron.core.capsule.utils;
+
+import com.google.protobuf.ByteString;
+import java.security.SignatureException;
+import java.util.Arrays;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.common.crypto.SignUtils;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.core.capsule.TransactionCapsule;
+
+/**
+ * Node wide cache of the addresses recovered from signatures, keyed by the signed hash
+ * and the signature index. A transaction is verified when it is pushed, when it is
+ * processed and again when its block arrives; the permission weights are checked against
+ * the current account each time, but the elliptic curve recovery is only done once.
+ */
+public class RecoveredSignerCache {
+
+  private static final String STRATEGY = String.format(CacheStrategies.PATTERNS,
+      10_000, 200_000, "10m", Runtime.getRuntime().availableProcessors());
+
+  private static final TronCache<Key, Signer> CACHE =
+      CacheManager.allocate(CacheType.recoveredSigner, STRATEGY);
+
+  private RecoveredSignerCache() {
+  }
+
+  /**
+   * @return the address recovered from the signature at index of the signatures over
+   *     hash, a copy the caller may keep.
+   */
+  public static byte[] signatureToAddress(byte[] hash, int index, ByteString sig)
+      throws SignatureException {
+    long start = System.nanoTime();
+    Key key = new Key(ByteString.copyFrom(hash), index);
+    Signer signer = CACHE.getIfPresent(key);
+    // the txid does not cover the signatures, so a hit must be for the same signature
+    if (signer != null && signer.sig.equals(sig)) {
+      observe(start, MetricLabels.Histogram.SIGNER_CACHE_HIT);
+      return Arrays.copyOf(signer.address, signer.address.length);
+    }
+    byte[] address = SignUtils.signatureToAddress(hash,
+        TransactionCapsule.getBase64FromByteString(sig),
+        CommonParameter.getInstance().isECKeyCryptoEngine());
+    CACHE.put(key, new Signer(sig, Arrays.copyOf(address, address.length)));
+    observe(start, MetricLabels.Histogram.SIGNER_CACHE_MISS);
+    return address;
+  }
+
+  private static void observe(long start, String label) {
+    Metrics.histogramObserve(MetricKeys.Histogram.VERIFY_SIGN_LATENCY,
+        (System.nanoTime() - start) / 1_000_000_000.0, label);
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static class Key {
+
+    private final ByteString hash;
+    private final int index;
+  }
+
+  @AllArgsConstructor
+  private static class Signer {
+
+    private final ByteString sig;
+    private final byte[] address;
+  }
+}
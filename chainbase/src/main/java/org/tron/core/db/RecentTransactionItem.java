@@ -1,11 +1,28 @@
 package org.tron.core.db;
 
+import com.google.common.primitives.Longs;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import org.bouncycastle.util.encoders.Hex;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.JsonUtil;
+import org.tron.common.utils.Sha256Hash;
 
+/**
+ * The transactions of a recent block. An entry is stored as a binary record, the block number
+ * followed by the packed 32 byte transaction ids, and entries written before as json are still
+ * read.
+ */
 public class RecentTransactionItem {
+
+  private static final int NUM_LENGTH = Long.BYTES;
+  private static final int ID_LENGTH = Sha256Hash.LENGTH;
+
   @Getter
   @Setter
   private long num;
@@ -20,4 +37,57 @@ public class RecentTransactionItem {
     this.num = num;
     this.transactionIds = transactionIds;
   }
+
+  public static byte[] encode(long num, List<byte[]> transactionIds) {
+    byte[] data = new byte[NUM_LENGTH + transactionIds.size() * ID_LENGTH];
+    System.arraycopy(ByteArray.fromLong(num), 0, data, 0, NUM_LENGTH);
+    int offset = NUM_LENGTH;
+    for (byte[] id : transactionIds) {
+      System.arraycopy(id, 0, data, offset, ID_LENGTH);
+      offset += ID_LENGTH;
+    }
+    return data;
+  }
+
+  /**
+   * @return whether the entry is json, the binary record starts with the block number whose
+   *     first byte is zero.
+   */
+  public static boolean isJson(byte[] data) {
+    return data != null && data.length > 0 && data[0] == '{';
+  }
+
+  /**
+   * @return the item of an entry in either format, null if the entry is empty
+   */
+  public static RecentTransactionItem decode(byte[] data) {
+    if (isJson(data)) {
+      return JsonUtil.json2Obj(new String(data), RecentTransactionItem.class);
+    }
+    if (data == null || data.length < NUM_LENGTH) {
+      return null;
+    }
+    List<String> ids = new ArrayList<>((data.length - NUM_LENGTH) / ID_LENGTH);
+    forEachTransactionId(data, id -> ids.add(Hex.toHexString(id)));
+    return new RecentTransactionItem(Longs.fromByteArray(data), ids);
+  }
+
+  /**
+   * Pass the raw ids of an entry in either format, without the hex strings of a binary record.
+   */
+  public static void forEachTransactionId(byte[] data, Consumer<byte[]> consumer) {
+    if (isJson(data)) {
+      RecentTransactionItem item = decode(data);
+      if (item != null) {
+        item.getTransactionIds().forEach(tid -> consumer.accept(Hex.decode(tid)));
+      }
+      return;
+    }
+    if (data == null) {
+      return;
+    }
+    for (int offset = NUM_LENGTH; offset + ID_LENGTH <= data.length; offset += ID_LENGTH) {
+      consumer.accept(Arrays.copyOfRange(data, offset, offset + ID_LENGTH));
+    }
+  }
 }
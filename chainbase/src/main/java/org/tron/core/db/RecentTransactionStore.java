@@ -1,14 +1,28 @@
 package org.tron.core.db;
 
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.exception.ItemNotFoundException;
+import org.tron.core.store.DynamicPropertiesStore;
 
+@Slf4j(topic = "DB")
 @Component
 public class RecentTransactionStore extends TronStoreWithRevoking<BytesCapsule> {
 
+  // the keys are the last two bytes of the block number
+  private static final int KEY_SPACE = 1 << 16;
+
+  @Autowired
+  private DynamicPropertiesStore dynamicPropertiesStore;
+
+  private long migrated;
+
   @Autowired
   private RecentTransactionStore(@Value("recent-transaction") String dbName) {
     super(dbName);
@@ -19,4 +33,42 @@ public class RecentTransactionStore extends TronStoreWithRevoking<BytesCapsule>
     byte[] value = revokingDB.get(key);
     return new BytesCapsule(value);
   }
+
+  /**
+   * Rewrite the entries still in json among the next keys as binary records. It is called with
+   * each block applied, so the migration runs in the background of block processing. The next key
+   * to check is kept in the dynamic properties, so the rewrites and the progress are kept or
+   * reverted together with the block, and go on from where they were after a restart.
+   *
+   * @param keys the keys to check at most
+   * @return whether all keys have been checked
+   */
+  public boolean migrate(int keys) {
+    int cursor = dynamicPropertiesStore.getRecentTransactionMigrateCursor();
+    if (cursor >= KEY_SPACE) {
+      return true;
+    }
+    int end = Math.min(KEY_SPACE, cursor + keys);
+    for (; cursor < end; cursor++) {
+      byte[] key = new byte[] {(byte) (cursor >>> 8), (byte) cursor};
+      byte[] value = revokingDB.getUnchecked(key);
+      if (!RecentTransactionItem.isJson(value)) {
+        continue;
+      }
+      RecentTransactionItem item = RecentTransactionItem.decode(value);
+      if (item == null) {
+        continue;
+      }
+      List<byte[]> ids = new ArrayList<>(item.getTransactionIds().size());
+      item.getTransactionIds().forEach(tid -> ids.add(Hex.decode(tid)));
+      put(key, new BytesCapsule(RecentTransactionItem.encode(item.getNum(), ids)));
+      migrated++;
+    }
+    dynamicPropertiesStore.saveRecentTransactionMigrateCursor(cursor);
+    if (cursor >= KEY_SPACE) {
+      logger.info("Migrate recent transactions to binary records done, migrated: {}.", migrated);
+      return true;
+    }
+    return false;
+  }
 }
@@ -17,6 +17,7 @@
  */
 package org.tron.core.db.common;
 
+import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.core.db2.common.WrappedByteArray;
 
 import java.util.Map;
@@ -48,4 +49,10 @@ public interface DbSourceInter<V> extends BatchSourceInter<byte[], V>,
 
   Map<WrappedByteArray, byte[]> prefixQuery(byte[] key);
 
+  /**
+   * Write rows in one atomic batch without collecting them into a map first.
+   * Rows are applied in order and a null value deletes the key.
+   */
+  void updateByBatch(Iterable<Map.Entry<byte[], V>> rows, WriteOptionsWrapper writeOptions);
+
 }
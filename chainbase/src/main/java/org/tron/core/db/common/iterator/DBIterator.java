@@ -6,4 +6,8 @@ import java.util.Map.Entry;
 
 public interface DBIterator extends Iterator<Entry<byte[], byte[]>>, Closeable {
 
+  /**
+   * position the iterator at the first key not less than key, instead of the first key.
+   */
+  void seek(byte[] key);
 }
@@ -24,6 +24,15 @@ public final class RockStoreIterator implements DBIterator {
     dbIterator.close();
   }
 
+  @Override
+  public void seek(byte[] key) {
+    if (!valid) {
+      return;
+    }
+    dbIterator.seek(key);
+    first = false;
+  }
+
   @Override
   public boolean hasNext() {
     if (!valid) {
@@ -24,6 +24,15 @@ public final class StoreIterator implements org.tron.core.db.common.iterator.DBI
     dbIterator.close();
   }
 
+  @Override
+  public void seek(byte[] key) {
+    if (!valid) {
+      return;
+    }
+    dbIterator.seek(key);
+    first = false;
+  }
+
   @Override
   public boolean hasNext() {
     if (!valid) {
@@ -1,5 +1,6 @@
 package org.tron.core.db2.common;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,10 @@ public interface IRevokingDB extends Iterable<Map.Entry<byte[], byte[]>> {
 
   void delete(byte[] key);
 
+  default void delete(Collection<byte[]> keys) {
+    keys.forEach(this::delete);
+  }
+
   boolean has(byte[] key);
 
   byte[] get(byte[] key) throws ItemNotFoundException;
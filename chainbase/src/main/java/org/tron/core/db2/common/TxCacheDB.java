@@ -3,13 +3,20 @@ package org.tron.core.db2.common;
 import com.google.common.hash.BloomFilter;
 import com.google.common.hash.Funnels;
 import com.google.common.primitives.Longs;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
-import org.bouncycastle.util.encoders.Hex;
 import org.iq80.leveldb.WriteOptions;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.prometheus.MetricKeys;
@@ -17,7 +24,6 @@ import org.tron.common.prometheus.Metrics;
 import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
 import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
 import org.tron.common.utils.ByteArray;
-import org.tron.common.utils.JsonUtil;
 import org.tron.common.utils.StorageUtils;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.db.RecentTransactionItem;
@@ -34,6 +40,9 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
 
   private static final long INVALID_BLOCK = -1;
 
+  // the version of the filter image, written first
+  private static final int IMAGE_VERSION = 1;
+
   // Since the filter cannot query for specific record information,
   // FAKE_TRANSACTION represent the record presence.
   private final byte[] FAKE_TRANSACTION = ByteArray.fromLong(0);
@@ -48,6 +57,15 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
   // record the last metric block to avoid duplication
   private long lastMetricBlock = 0;
 
+  // the highest block put into the filters
+  private long lastBlock = INVALID_BLOCK;
+  // whether the active filter has rotated since the image was written
+  private boolean rotated = false;
+  // the filters, their start block and active index as of lastBlock, written on close and on
+  // each rotation, so init only replays the blocks after it
+  private final Path imagePath;
+  private boolean initialized = false;
+
   private final String name;
 
   // add a persistent storage, the store name is: trans-cache
@@ -81,6 +99,8 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
     } else {
       throw new RuntimeException(String.format("db type: %s is not supported", dbEngine));
     }
+    this.imagePath = Paths.get(StorageUtils.getOutputDirectoryByDbName(name),
+        CommonParameter.getInstance().getStorage().getDbDirectory(), name + ".bloom");
     this.bloomFilters[0] = BloomFilter.create(Funnels.byteArrayFunnel(),
         MAX_BLOCK_SIZE * TRANSACTION_COUNT);
     this.bloomFilters[1] = BloomFilter.create(Funnels.byteArrayFunnel(),
@@ -110,6 +130,10 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
   }
 
   public void init() {
+    initialized = true;
+    if (loadImage()) {
+      return;
+    }
     long size = recentTransactionStore.size();
     if (size != MAX_BLOCK_SIZE) {
       // 0. load from persistentStore
@@ -118,17 +142,126 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
 
     // 1. load from recentTransactionStore
     long start = System.currentTimeMillis();
+    long json = 0;
     for (Entry<byte[], BytesCapsule> bytesCapsuleEntry : recentTransactionStore) {
       byte[] data = bytesCapsuleEntry.getValue().getData();
-      RecentTransactionItem trx =
-          JsonUtil.json2Obj(new String(data), RecentTransactionItem.class);
+      if (RecentTransactionItem.isJson(data)) {
+        json++;
+      }
+      RecentTransactionItem.forEachTransactionId(data, bloomFilters[1]::put);
+    }
+
+    logger.info("Load cache from recentTransactionStore, filter: {}, filter-fpp: {}, json: {}, "
+            + "cost: {} ms.", bloomFilters[1].approximateElementCount(),
+        bloomFilters[1].expectedFpp(), json, System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Load the filters from the image and replay the blocks of recentTransactionStore after it.
+   * The image is used only if the store still holds its last block, so no block is missed.
+   *
+   * @return whether the filters are loaded
+   */
+  private boolean loadImage() {
+    if (!Files.exists(imagePath)) {
+      return false;
+    }
+    long start = System.currentTimeMillis();
+    BloomFilter<byte[]>[] filters = new BloomFilter[2];
+    long imageBlock;
+    long imageStartBlock;
+    int imageIndex;
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(imagePath), 1 << 20))) {
+      if (in.readInt() != IMAGE_VERSION || in.readInt() != TRANSACTION_COUNT) {
+        logger.info("Skip tx cache image {}, version or estimated transactions changed.",
+            imagePath);
+        return false;
+      }
+      imageBlock = in.readLong();
+      imageStartBlock = in.readLong();
+      imageIndex = in.readInt();
+      filters[0] = BloomFilter.readFrom(in, Funnels.byteArrayFunnel());
+      filters[1] = BloomFilter.readFrom(in, Funnels.byteArrayFunnel());
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Skip tx cache image {}, {}.", imagePath, e.getMessage());
+      return false;
+    }
 
-      trx.getTransactionIds().forEach(tid -> bloomFilters[1].put(Hex.decode(tid)));
+    if (blockNum(recentTransaction(imageBlock)) != imageBlock) {
+      logger.info("Skip tx cache image {} of block {}, it is not in recentTransactionStore.",
+          imagePath, imageBlock);
+      return false;
     }
 
-    logger.info("Load cache from recentTransactionStore, filter: {}, filter-fpp: {}, cost: {} ms.",
-        bloomFilters[1].approximateElementCount(), bloomFilters[1].expectedFpp(),
-        System.currentTimeMillis() - start);
+    bloomFilters = filters;
+    filterStartBlock = imageStartBlock;
+    currentFilterIndex = imageIndex;
+    lastBlock = imageBlock;
+    long replay = 0;
+    for (long num = imageBlock + 1; num < imageBlock + MAX_BLOCK_SIZE; num++) {
+      byte[] data = recentTransaction(num);
+      if (blockNum(data) != num) {
+        break;
+      }
+      byte[] value = ByteArray.fromLong(num);
+      RecentTransactionItem.forEachTransactionId(data, id -> put(id, value));
+      replay++;
+    }
+    if (rotated) {
+      writeImage();
+    }
+    logger.info("Load cache from image at block {}, replay blocks: {}, filter: {}, "
+            + "filter-fpp: {}, cost: {} ms.", imageBlock, replay,
+        bloomFilters[currentFilterIndex].approximateElementCount(),
+        bloomFilters[currentFilterIndex].expectedFpp(), System.currentTimeMillis() - start);
+    return true;
+  }
+
+  private byte[] recentTransaction(long num) {
+    BytesCapsule capsule = recentTransactionStore.getUnchecked(
+        ByteArray.subArray(ByteArray.fromLong(num), 6, 8));
+    return capsule == null ? null : capsule.getData();
+  }
+
+  private static long blockNum(byte[] data) {
+    RecentTransactionItem item = RecentTransactionItem.isJson(data)
+        ? RecentTransactionItem.decode(data) : null;
+    if (item != null) {
+      return item.getNum();
+    }
+    return data != null && data.length >= Long.BYTES ? Longs.fromByteArray(data) : INVALID_BLOCK;
+  }
+
+  /**
+   * Write the filters to a temporary file and move it over the image, so a crash leaves either
+   * image whole.
+   */
+  private void writeImage() {
+    if (lastBlock == INVALID_BLOCK) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    Path tmp = imagePath.resolveSibling(imagePath.getFileName() + ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 20))) {
+        out.writeInt(IMAGE_VERSION);
+        out.writeInt(TRANSACTION_COUNT);
+        out.writeLong(lastBlock);
+        out.writeLong(filterStartBlock);
+        out.writeInt(currentFilterIndex);
+        bloomFilters[0].writeTo(out);
+        bloomFilters[1].writeTo(out);
+      }
+      Files.move(tmp, imagePath, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      rotated = false;
+      logger.info("Write tx cache image at block {}, cost: {} ms.", lastBlock,
+          System.currentTimeMillis() - start);
+    } catch (IOException e) {
+      logger.warn("Write tx cache image {} failed, {}.", imagePath, e.getMessage());
+    }
   }
 
   @Override
@@ -167,11 +300,13 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
       }
 
       filterStartBlock = blockNum;
+      rotated = true;
       bloomFilters[currentFilterIndex] =
           BloomFilter.create(Funnels.byteArrayFunnel(),
               MAX_BLOCK_SIZE * TRANSACTION_COUNT);
     }
     bloomFilters[currentFilterIndex].put(key);
+    lastBlock = Math.max(lastBlock, blockNum);
 
     if (lastMetricBlock != blockNum) {
       lastMetricBlock = blockNum;
@@ -210,10 +345,17 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
   @Override
   public void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
     batch.forEach((k, v) -> this.put(k.getBytes(), v.getBytes()));
+    // a batch may hold several blocks in any order, the image is only consistent after it
+    if (rotated) {
+      writeImage();
+    }
   }
 
   @Override
   public void close() {
+    if (initialized) {
+      writeImage();
+    }
     reset();
     bloomFilters[0] = null;
     bloomFilters[1] = null;
@@ -1,25 +1,26 @@
 package org.tron.core.db2.core;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
+import com.google.common.primitives.UnsignedBytes;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import org.tron.common.utils.ByteUtil;
-import org.tron.common.utils.Pair;
 import org.tron.core.capsule.utils.MarketUtils;
+import org.tron.core.db.common.iterator.DBIterator;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.common.LevelDB;
 import org.tron.core.db2.common.RocksDB;
 import org.tron.core.db2.common.Value;
-import org.tron.core.db2.common.Value.Operator;
 import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.ItemNotFoundException;
 
@@ -32,6 +33,10 @@ public class Chainbase implements IRevokingDB {
     PBFT
   }
 
+  private static final Comparator<byte[]> BYTES_ORDER =
+      UnsignedBytes.lexicographicalComparator();
+  private static final Comparator<byte[]> PRICE_KEY_ORDER = MarketUtils::comparePriceKey;
+
   //true:fullnode, false:soliditynode
   private ThreadLocal<Cursor> cursor = new ThreadLocal<>();
   private ThreadLocal<Long> offset = new ThreadLocal<>();
@@ -129,6 +134,12 @@ public class Chainbase implements IRevokingDB {
     head().remove(key);
   }
 
+  @Override
+  public synchronized void delete(Collection<byte[]> keys) {
+    Snapshot head = head();
+    keys.forEach(head::remove);
+  }
+
   @Override
   public byte[] get(byte[] key) throws ItemNotFoundException {
     byte[] value = getUnchecked(key);
@@ -174,34 +185,13 @@ public class Chainbase implements IRevokingDB {
       return Collections.emptySet();
     }
 
-    Map<WrappedByteArray, WrappedByteArray> collection = new HashMap<>();
-    if (head.getPrevious() != null) {
-      ((SnapshotImpl) head).collect(collection);
-    }
-
-    Map<WrappedByteArray, WrappedByteArray> levelDBMap = new HashMap<>();
-
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
+    Set<byte[]> result = new LinkedHashSet<>();
+    try (SnapshotMergeIterator iterator = rangeIterator(head, key, BYTES_ORDER)) {
+      for (long i = 0; i < limit && iterator.hasNext(); i++) {
+        result.add(iterator.next().getValue());
+      }
     }
-
-    levelDBMap.putAll(collection);
-
-    return levelDBMap.entrySet().stream()
-        .sorted((e1, e2) -> ByteUtil.compare(e1.getKey().getBytes(), e2.getKey().getBytes()))
-        .filter(e -> ByteUtil.greaterOrEquals(e.getKey().getBytes(), key))
-        .limit(limit)
-        .map(Map.Entry::getValue)
-        .map(WrappedByteArray::getBytes)
-        .collect(Collectors.toSet());
+    return result;
   }
 
   @Override
@@ -220,56 +210,18 @@ public class Chainbase implements IRevokingDB {
       return Collections.emptyList();
     }
 
-    Map<WrappedByteArray, Operator> collectionList = new HashMap<>();
-    if (head.getPrevious() != null) {
-      ((SnapshotImpl) head).collectUnique(collectionList);
-    }
-
-    // just get the same token pair
-    List<WrappedByteArray> snapshotList = new ArrayList<>();
-    if (!collectionList.isEmpty()) {
-      snapshotList = collectionList.keySet().stream()
-          .filter(e -> MarketUtils.pairKeyIsEqual(e.getBytes(), key))
-          .collect(Collectors.toList());
-    }
-
-    // for delete operation
-    long limitLevelDB = limit + collectionList.size();
-
-    List<WrappedByteArray> levelDBList = new ArrayList<>();
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().getKeysNext(key, limitLevelDB)
-          .forEach(e -> levelDBList.add(WrappedByteArray.of(e)));
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().getKeysNext(key, limitLevelDB)
-          .forEach(e -> levelDBList.add(WrappedByteArray.of(e)));
-    }
-
-    // just get the same token pair
-    List<WrappedByteArray> levelDBListFiltered = levelDBList.stream()
-        .filter(e -> MarketUtils.pairKeyIsEqual(e.getBytes(), key))
-        .collect(Collectors.toList());
-
-    List<WrappedByteArray> keyList = new ArrayList<>();
-    keyList.addAll(levelDBListFiltered);
-
-    // snapshot and levelDB will have duplicated key, so need to check it before,
-    // and remove the key which has been deleted
-    snapshotList.forEach(ssKey -> {
-      if (!keyList.contains(ssKey)) {
-        keyList.add(ssKey);
-      }
-      if (collectionList.get(ssKey) == Operator.DELETE) {
-        keyList.remove(ssKey);
+    List<byte[]> result = new ArrayList<>();
+    try (SnapshotMergeIterator iterator = rangeIterator(head, key, PRICE_KEY_ORDER)) {
+      while (result.size() < limit && iterator.hasNext()) {
+        byte[] next = iterator.next().getKey();
+        // the keys of a token pair are contiguous in price key order
+        if (!MarketUtils.pairKeyIsEqual(next, key)) {
+          break;
+        }
+        result.add(next);
       }
-    });
-
-    return keyList.stream()
-        .filter(e -> MarketUtils.greaterOrEquals(e.getBytes(), key))
-        .sorted((e1, e2) -> MarketUtils.comparePriceKey(e1.getBytes(), e2.getBytes()))
-        .limit(limit)
-        .map(WrappedByteArray::getBytes)
-        .collect(Collectors.toList());
+    }
+    return result;
   }
 
   // for blockstore
@@ -320,62 +272,64 @@ public class Chainbase implements IRevokingDB {
       return Collections.emptyMap();
     }
 
-    Map<WrappedByteArray, WrappedByteArray> collection = new HashMap<>();
-    if (head.getPrevious() != null) {
-      ((SnapshotImpl) head).collect(collection);
-    }
-
-    Map<WrappedByteArray, WrappedByteArray> levelDBMap = new HashMap<>();
-
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
+    Map<byte[], byte[]> result = new LinkedHashMap<>();
+    try (SnapshotMergeIterator iterator = rangeIterator(head, key, BYTES_ORDER)) {
+      for (long i = 0; i < limit && iterator.hasNext(); i++) {
+        Map.Entry<byte[], byte[]> entry = iterator.next();
+        result.put(entry.getKey(), entry.getValue());
+      }
     }
-
-    levelDBMap.putAll(collection);
-
-    return levelDBMap.entrySet().stream()
-        .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-        .sorted((e1, e2) -> ByteUtil.compare(e1.getKey(), e2.getKey()))
-        .filter(e -> ByteUtil.greaterOrEquals(e.getKey(), key))
-        .limit(limit)
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    return result;
   }
 
   public Map<WrappedByteArray, byte[]> prefixQuery(byte[] key) {
-    Map<WrappedByteArray, byte[]> result = prefixQueryRoot(key);
-    Map<WrappedByteArray, byte[]>  snapshot = prefixQuerySnapshot(key);
-    result.putAll(snapshot);
-    result.entrySet().removeIf(e -> e.getValue() == null);
+    Map<WrappedByteArray, byte[]> result = new HashMap<>();
+    try (SnapshotMergeIterator iterator = rangeIterator(head(), key, BYTES_ORDER)) {
+      while (iterator.hasNext()) {
+        Map.Entry<byte[], byte[]> entry = iterator.next();
+        if (!startsWith(entry.getKey(), key)) {
+          break;
+        }
+        result.put(WrappedByteArray.of(entry.getKey()), entry.getValue());
+      }
+    }
     return result;
   }
 
-  private Map<WrappedByteArray, byte[]> prefixQueryRoot(byte[] key) {
-    Map<WrappedByteArray, byte[]> result = new HashMap<>();
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      result = ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().prefixQuery(key);
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      result = ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().prefixQuery(key);
+  /**
+   * Lazily merges the snapshot layers and the root database from key on, so a range query
+   * reads only as many entries as it returns. Like before, once head is not the root all
+   * the layers above the root are visible.
+   */
+  private SnapshotMergeIterator rangeIterator(Snapshot head, byte[] key,
+      Comparator<byte[]> comparator) {
+    List<SnapshotImpl> layers = new ArrayList<>();
+    if (head.getPrevious() != null) {
+      for (Snapshot next = head.getRoot().getNext(); next != null; next = next.getNext()) {
+        layers.add(0, (SnapshotImpl) next);
+      }
     }
-    return result;
+
+    SnapshotRoot root = (SnapshotRoot) head.getRoot();
+    DBIterator rootIterator = null;
+    if (root.db.getClass() == LevelDB.class) {
+      rootIterator = ((LevelDB) root.db).iterator();
+    } else if (root.db.getClass() == RocksDB.class) {
+      rootIterator = ((RocksDB) root.db).iterator();
+    }
+    return new SnapshotMergeIterator(layers, rootIterator, key, comparator);
   }
 
-  private Map<WrappedByteArray, byte[]> prefixQuerySnapshot(byte[] key) {
-    Map<WrappedByteArray, byte[]> result = new HashMap<>();
-    Snapshot snapshot = head();
-    if (!snapshot.equals(head.getRoot())) {
-      Map<WrappedByteArray, WrappedByteArray> all = new HashMap<>();
-      ((SnapshotImpl) snapshot).collect(all, key);
-      all.forEach((k, v) -> result.put(k, v.getBytes()));
+  private static boolean startsWith(byte[] bytes, byte[] prefix) {
+    if (bytes.length < prefix.length) {
+      return false;
     }
-    return result;
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
 }
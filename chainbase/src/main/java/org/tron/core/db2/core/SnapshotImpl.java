@@ -4,18 +4,20 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
-import com.google.common.primitives.Bytes;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.tron.core.db2.common.HashDB;
 import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.Value;
-import org.tron.core.db2.common.Value.Operator;
 import org.tron.core.db2.common.WrappedByteArray;
 
 public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
@@ -23,8 +25,17 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Getter
   protected Snapshot root;
 
+  private final SnapshotIndex index;
+  @Getter(AccessLevel.PACKAGE)
+  private final long sequence;
+  // bumped on every write, a sorted view built at another version is stale
+  private volatile long version;
+  private volatile SortedKeys sortedKeys;
+
   SnapshotImpl(Snapshot snapshot) {
     root = snapshot.getRoot();
+    index = ((SnapshotRoot) root).getIndex();
+    sequence = index.nextSequence();
     synchronized (this) {
       db = new HashDB(SnapshotImpl.class.getSimpleName() + ":" + root.getDbName());
     }
@@ -34,6 +45,16 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
 
   @Override
   public byte[] get(byte[] key) {
+    Key k = Key.of(key);
+    SnapshotImpl layer = index.find(k, sequence);
+    if (layer == null) {
+      return root.get(key);
+    }
+    Value value = layer.db.get(k);
+    if (value != null) {
+      return value.getBytes();
+    }
+    // the layer was merged or dropped concurrently, walk the layers instead
     return get(this, key);
   }
 
@@ -56,13 +77,19 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     Preconditions.checkNotNull(key, "key in db is not null.");
     Preconditions.checkNotNull(value, "value in db is not null.");
 
-    db.put(Key.copyOf(key), Value.copyOf(Value.Operator.PUT, value));
+    Key k = Key.copyOf(key);
+    db.put(k, Value.copyOf(Value.Operator.PUT, value));
+    index.add(k, this);
+    version++;
   }
 
   @Override
   public void remove(byte[] key) {
     Preconditions.checkNotNull(key, "key in db is not null.");
-    db.put(Key.of(key), Value.of(Value.Operator.DELETE, null));
+    Key k = Key.of(key);
+    db.put(k, Value.of(Value.Operator.DELETE, null));
+    index.add(k, this);
+    version++;
   }
 
   // we have a 3x3 matrix of all possibilities when merging previous snapshot and current snapshot :
@@ -80,14 +107,29 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Override
   public void merge(Snapshot from) {
     SnapshotImpl fromImpl = (SnapshotImpl) from;
-    Streams.stream(fromImpl.db).forEach(e -> db.put(e.getKey(), e.getValue()));
+    Streams.stream(fromImpl.db).forEach(e -> {
+      db.put(e.getKey(), e.getValue());
+      index.add(e.getKey(), this);
+    });
+    version++;
   }
 
+  /**
+   * The caller drops this layer, so its keys no longer serve reads.
+   */
   @Override
   public Snapshot retreat() {
+    release();
     return previous;
   }
 
+  /**
+   * Remove this layer from the read index, once it is dropped or merged into the root.
+   */
+  void release() {
+    Streams.stream(db).forEach(e -> index.remove(e.getKey(), this));
+  }
+
   @Override
   public Snapshot getSolidity() {
     return root.getSolidity();
@@ -107,47 +149,54 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
             e -> !keys.contains(WrappedByteArray.of(e.getKey()))));
   }
 
-  synchronized void collect(Map<WrappedByteArray, WrappedByteArray> all) {
-    Snapshot next = getRoot().getNext();
-    while (next != null) {
-      Streams.stream(((SnapshotImpl) next).db)
-          .forEach(e -> all.put(WrappedByteArray.of(e.getKey().getBytes()),
-              WrappedByteArray.of(e.getValue().getBytes())));
-      next = next.getNext();
+  /**
+   * The keys of this layer in comparator order, kept until the layer is written again.
+   */
+  SortedKeys sortedKeys(Comparator<byte[]> comparator) {
+    SortedKeys view = sortedKeys;
+    long current = version;
+    if (view != null && view.version == current && view.comparator == comparator) {
+      return view;
     }
+    List<Map.Entry<byte[], Key>> entries = Streams.stream(db)
+        .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getKey()))
+        .sorted((e1, e2) -> comparator.compare(e1.getKey(), e2.getKey()))
+        .collect(Collectors.toList());
+    byte[][] bytes = new byte[entries.size()][];
+    Key[] keys = new Key[entries.size()];
+    for (int i = 0; i < keys.length; i++) {
+      bytes[i] = entries.get(i).getKey();
+      keys[i] = entries.get(i).getValue();
+    }
+    view = new SortedKeys(current, comparator, bytes, keys);
+    sortedKeys = view;
+    return view;
   }
 
-  synchronized void collect(Map<WrappedByteArray, WrappedByteArray> all, byte[] prefix) {
-    Snapshot next = getRoot().getNext();
-    while (next != null) {
-      Streams.stream(((SnapshotImpl) next).db).filter(e -> Bytes.indexOf(
-              Objects.requireNonNull(e.getKey().getBytes()), prefix) == 0)
-          .forEach(e -> all.put(WrappedByteArray.of(e.getKey().getBytes()),
-              WrappedByteArray.of(e.getValue().getBytes())));
-      next = next.getNext();
-    }
+  Value getValue(Key key) {
+    return db.get(key);
   }
 
-  /**
-   * Note: old --> new
-   * In the snapshot, there may be same keys.
-   * If we use Map to get all the data, the later will overwrite the previous value.
-   * So, if we use list, we need to exclude duplicate keys.
-   * More than that, there will be some item which has been deleted, but just assigned in Operator,
-   * so we need Operator value to determine next step.
-   * */
-  synchronized void collectUnique(Map<WrappedByteArray, Operator> all) {
+  @AllArgsConstructor
+  static class SortedKeys {
+
+    private final long version;
+    private final Comparator<byte[]> comparator;
+    // shared by the readers, must not be modified
+    final byte[][] bytes;
+    final Key[] keys;
+  }
+
+  synchronized void collect(Map<WrappedByteArray, WrappedByteArray> all) {
     Snapshot next = getRoot().getNext();
     while (next != null) {
       Streams.stream(((SnapshotImpl) next).db)
           .forEach(e -> all.put(WrappedByteArray.of(e.getKey().getBytes()),
-              e.getValue().getOperator()));
+              WrappedByteArray.of(e.getValue().getBytes())));
       next = next.getNext();
     }
   }
 
-
-
   @Override
   public void close() {
     getRoot().close();
@@ -0,0 +1,90 @@
+package org.tron.core.db2.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.tron.core.db2.common.Key;
+
+/**
+ * Read index shared by all {@link SnapshotImpl} layers above one {@link SnapshotRoot}.
+ * It maps a key to the layers holding it, newest first, so a lookup costs one probe
+ * here plus at most one layer read instead of one probe per layer.
+ */
+final class SnapshotIndex {
+
+  private final Map<Key, SnapshotImpl[]> index = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  long nextSequence() {
+    return sequence.incrementAndGet();
+  }
+
+  void add(Key key, SnapshotImpl layer) {
+    index.compute(key, (k, layers) -> insert(layers, layer));
+  }
+
+  void remove(Key key, SnapshotImpl layer) {
+    index.computeIfPresent(key, (k, layers) -> delete(layers, layer));
+  }
+
+  /**
+   * @return the newest layer holding key that is visible from a layer with the given
+   *     sequence, or null if the key is only in the root.
+   */
+  SnapshotImpl find(Key key, long sequence) {
+    SnapshotImpl[] layers = index.get(key);
+    if (layers == null) {
+      return null;
+    }
+    for (SnapshotImpl layer : layers) {
+      if (layer.getSequence() <= sequence) {
+        return layer;
+      }
+    }
+    return null;
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  // layers are kept ordered by sequence, newest first
+  private static SnapshotImpl[] insert(SnapshotImpl[] layers, SnapshotImpl layer) {
+    if (layers == null) {
+      return new SnapshotImpl[] {layer};
+    }
+    int pos = 0;
+    while (pos < layers.length && layers[pos].getSequence() > layer.getSequence()) {
+      pos++;
+    }
+    if (pos < layers.length && layers[pos] == layer) {
+      return layers;
+    }
+    SnapshotImpl[] r = new SnapshotImpl[layers.length + 1];
+    System.arraycopy(layers, 0, r, 0, pos);
+    r[pos] = layer;
+    System.arraycopy(layers, pos, r, pos + 1, layers.length - pos);
+    return r;
+  }
+
+  private static SnapshotImpl[] delete(SnapshotImpl[] layers, SnapshotImpl layer) {
+    int pos = -1;
+    for (int i = 0; i < layers.length; i++) {
+      if (layers[i] == layer) {
+        pos = i;
+        break;
+      }
+    }
+    if (pos < 0) {
+      return layers;
+    }
+    if (layers.length == 1) {
+      // returning null drops the mapping
+      return null;
+    }
+    SnapshotImpl[] r = new SnapshotImpl[layers.length - 1];
+    System.arraycopy(layers, 0, r, 0, pos);
+    System.arraycopy(layers, pos + 1, r, pos, layers.length - pos - 1);
+    return r;
+  }
+}
@@ -1,5 +1,6 @@
 package org.tron.core.db2.core;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.Ints;
@@ -7,14 +8,17 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.prometheus.client.Histogram;
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -32,6 +36,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.tron.common.error.TronDBException;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.utils.FileUtil;
 import org.tron.common.utils.StorageUtils;
@@ -42,7 +49,6 @@ import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.Value;
-import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.RevokingStoreIllegalStateException;
 import org.tron.core.store.CheckPointV2Store;
 import org.tron.core.store.CheckTmpStore;
@@ -379,33 +385,28 @@ public class SnapshotManager implements RevokingDatabase {
     TronDatabase<byte[]> checkPointStore = null;
     boolean syncFlag;
     try {
-      Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
       for (Chainbase db : dbs) {
-        Snapshot head = db.getHead();
-        if (Snapshot.isRoot(head)) {
+        if (Snapshot.isRoot(db.getHead())) {
           return;
         }
+      }
 
-        String dbName = db.getDbName();
-
-        if (Objects.equals(dbName, "trans-cache")) {
+      Histogram.Timer encodeTimer = Metrics.histogramStartTimer(
+          MetricKeys.Histogram.CHECKPOINT_LATENCY, MetricLabels.Histogram.CHECKPOINT_ENCODE);
+      int count = flushCount;
+      List<ListenableFuture<List<Map.Entry<byte[], byte[]>>>> futures =
+          new ArrayList<>(dbs.size());
+      for (Chainbase db : dbs) {
+        if (Objects.equals(db.getDbName(), "trans-cache")) {
           // trans-cache is deprecated
           continue;
         }
-
-        Snapshot next = head.getRoot();
-        for (int i = 0; i < flushCount; ++i) {
-          next = next.getNext();
-          SnapshotImpl snapshot = (SnapshotImpl) next;
-          DB<Key, Value> keyValueDB = snapshot.getDb();
-          for (Map.Entry<Key, Value> e : keyValueDB) {
-            Key k = e.getKey();
-            Value v = e.getValue();
-            batch.put(WrappedByteArray.of(Bytes.concat(simpleEncode(dbName), k.getBytes())),
-                WrappedByteArray.of(v.encode()));
-          }
-        }
+        futures.add(flushServices.get(db.getDbName())
+            .submit(() -> encodeCheckpoint(db, count)));
       }
+      List<List<Map.Entry<byte[], byte[]>>> batches = Futures.allAsList(futures).get();
+      Metrics.histogramObserve(encodeTimer);
+
       if (isV2Open()) {
         String dbName = String.valueOf(System.currentTimeMillis());
         checkPointStore = getCheckpointDB(dbName);
@@ -415,11 +416,27 @@ public class SnapshotManager implements RevokingDatabase {
         syncFlag = CommonParameter.getInstance().getStorage().isDbSync();
       }
 
-      checkPointStore.getDbSource().updateByBatch(batch.entrySet().stream()
-              .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-              .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll),
+      Histogram.Timer writeTimer = Metrics.histogramStartTimer(
+          MetricKeys.Histogram.CHECKPOINT_LATENCY, MetricLabels.Histogram.CHECKPOINT_WRITE);
+      checkPointStore.getDbSource().updateByBatch(Iterables.concat(batches),
           WriteOptionsWrapper.getInstance().sync(syncFlag));
-
+      Metrics.histogramObserve(writeTimer);
+
+      if (Metrics.enabled()) {
+        long entries = 0;
+        long bytes = 0;
+        for (List<Map.Entry<byte[], byte[]>> batch : batches) {
+          entries += batch.size();
+          for (Map.Entry<byte[], byte[]> e : batch) {
+            bytes += e.getKey().length + e.getValue().length;
+          }
+        }
+        Metrics.histogramObserve(MetricKeys.Histogram.CHECKPOINT_ENTRIES, entries);
+        Metrics.histogramObserve(MetricKeys.Histogram.CHECKPOINT_BYTES, bytes);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TronDBException(e);
     } catch (Exception e) {
       throw new TronDBException(e);
     } finally {
@@ -429,6 +446,33 @@ public class SnapshotManager implements RevokingDatabase {
     }
   }
 
+  /**
+   * Encode the oldest count layers of db as checkpoint rows. Layers are walked from the
+   * newest to the oldest so every key is encoded once, with its latest value.
+   */
+  private List<Map.Entry<byte[], byte[]>> encodeCheckpoint(Chainbase db, int count) {
+    byte[] prefix = simpleEncode(db.getDbName());
+    List<SnapshotImpl> snapshots = new ArrayList<>(count);
+    Snapshot next = db.getHead().getRoot();
+    for (int i = 0; i < count; ++i) {
+      next = next.getNext();
+      snapshots.add((SnapshotImpl) next);
+    }
+
+    Set<Key> encoded = new HashSet<>();
+    List<Map.Entry<byte[], byte[]>> rows = new ArrayList<>();
+    for (int i = snapshots.size() - 1; i >= 0; --i) {
+      DB<Key, Value> keyValueDB = snapshots.get(i).getDb();
+      for (Map.Entry<Key, Value> e : keyValueDB) {
+        if (encoded.add(e.getKey())) {
+          rows.add(Maps.immutableEntry(Bytes.concat(prefix, e.getKey().getBytes()),
+              e.getValue().encode()));
+        }
+      }
+    }
+    return rows;
+  }
+
   private TronDatabase<byte[]> getCheckpointDB(String dbName) {
     return new CheckPointV2Store(CHECKPOINT_V2_DIR+"/"+dbName);
   }
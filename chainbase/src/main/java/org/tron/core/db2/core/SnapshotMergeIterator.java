@@ -0,0 +1,183 @@
+package org.tron.core.db2.core;
+
+import com.google.common.collect.Maps;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.db.common.iterator.DBIterator;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
+import org.tron.core.db2.common.Value.Operator;
+
+/**
+ * Streams the entries of a chainbase from a start key in comparator order, a k-way merge of
+ * the sorted views of the snapshot layers and the root database iterator. Where a key is in
+ * several sources the newest layer wins, and a deleted key is skipped.
+ */
+@Slf4j(topic = "DB")
+final class SnapshotMergeIterator implements Iterator<Map.Entry<byte[], byte[]>>,
+    AutoCloseable {
+
+  private final Comparator<byte[]> comparator;
+  private final PriorityQueue<Source> queue;
+  private final DBIterator rootIterator;
+  private Map.Entry<byte[], byte[]> next;
+
+  /**
+   * @param layers the snapshot layers, newest first
+   * @param rootIterator iterator of the root database, null if it can not be iterated
+   */
+  SnapshotMergeIterator(List<SnapshotImpl> layers, DBIterator rootIterator, byte[] start,
+      Comparator<byte[]> comparator) {
+    this.comparator = comparator;
+    this.rootIterator = rootIterator;
+    this.queue = new PriorityQueue<>(layers.size() + 1, (s1, s2) -> {
+      int result = comparator.compare(s1.key, s2.key);
+      return result != 0 ? result : Integer.compare(s1.priority, s2.priority);
+    });
+    for (int i = 0; i < layers.size(); i++) {
+      offer(new LayerSource(i, layers.get(i), start, comparator));
+    }
+    if (rootIterator != null) {
+      rootIterator.seek(start);
+      offer(new RootSource(layers.size(), rootIterator));
+    }
+    advance();
+  }
+
+  private void offer(Source source) {
+    if (source.advance()) {
+      queue.add(source);
+    }
+  }
+
+  private void advance() {
+    next = null;
+    while (next == null && !queue.isEmpty()) {
+      Source top = queue.poll();
+      byte[] key = top.key;
+      byte[] value = top.value;
+      // older versions of the same key
+      while (!queue.isEmpty() && comparator.compare(queue.peek().key, key) == 0) {
+        offer(queue.poll());
+      }
+      offer(top);
+      if (value != null) {
+        next = Maps.immutableEntry(key.clone(), value);
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public Map.Entry<byte[], byte[]> next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    Map.Entry<byte[], byte[]> entry = next;
+    advance();
+    return entry;
+  }
+
+  @Override
+  public void close() {
+    if (rootIterator != null) {
+      try {
+        rootIterator.close();
+      } catch (IOException e) {
+        logger.warn("close iterator failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  private abstract static class Source {
+
+    // lower is newer
+    final int priority;
+    byte[] key;
+    // null for a deleted key
+    byte[] value;
+
+    Source(int priority) {
+      this.priority = priority;
+    }
+
+    /**
+     * load the next entry of this source, false if there is none.
+     */
+    abstract boolean advance();
+  }
+
+  private static class LayerSource extends Source {
+
+    private final SnapshotImpl layer;
+    private final byte[][] bytes;
+    private final Key[] keys;
+    private int position;
+
+    LayerSource(int priority, SnapshotImpl layer, byte[] start, Comparator<byte[]> comparator) {
+      super(priority);
+      this.layer = layer;
+      SnapshotImpl.SortedKeys view = layer.sortedKeys(comparator);
+      this.bytes = view.bytes;
+      this.keys = view.keys;
+      // first key not less than start
+      int low = 0;
+      int high = bytes.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (comparator.compare(bytes[mid], start) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      this.position = low;
+    }
+
+    @Override
+    boolean advance() {
+      while (position < keys.length) {
+        int i = position++;
+        Value v = layer.getValue(keys[i]);
+        if (v == null) {
+          continue;
+        }
+        key = bytes[i];
+        value = v.getOperator() == Operator.DELETE ? null : v.getBytes();
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static class RootSource extends Source {
+
+    private final DBIterator iterator;
+
+    RootSource(int priority, DBIterator iterator) {
+      super(priority);
+      this.iterator = iterator;
+    }
+
+    @Override
+    boolean advance() {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      Map.Entry<byte[], byte[]> entry = iterator.next();
+      key = entry.getKey();
+      value = entry.getValue();
+      return true;
+    }
+  }
+}
@@ -8,9 +8,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.tron.common.cache.CacheManager;
 import org.tron.common.cache.CacheType;
+import org.tron.common.cache.OffHeapCache;
 import org.tron.common.cache.TronCache;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.utils.ByteArray;
@@ -26,8 +28,12 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   @Getter
   private Snapshot solidity;
   private boolean isAccountDB;
+  @Getter(AccessLevel.PACKAGE)
+  private final SnapshotIndex index = new SnapshotIndex();
 
   private TronCache<WrappedByteArray, WrappedByteArray> cache;
+  // a larger second level below the heap cache, written through like it
+  private OffHeapCache offHeapCache;
   private static final List<String> CACHE_DBS = CommonParameter.getInstance()
       .getStorage().getCacheDbs();
 
@@ -37,6 +43,7 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     isAccountDB = "account".equalsIgnoreCase(db.getDbName());
     if (CACHE_DBS.contains(this.db.getDbName())) {
       this.cache = CacheManager.allocate(CacheType.findByType(this.db.getDbName()));
+      this.offHeapCache = CacheManager.allocateOffHeap(CacheType.findByType(this.db.getDbName()));
     }
   }
 
@@ -51,7 +58,12 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     if (cache != null) {
       return cache.getBytes();
     }
-    byte[] value = db.get(key);
+    byte[] value = getOffHeapCache(key);
+    if (value != null) {
+      putHeapCache(key, value);
+      return value;
+    }
+    value = db.get(key);
     putCache(key, value);
     return value;
   }
@@ -118,6 +130,8 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
       ((Flusher) db).flush(batch);
       putCache(batch);
     }
+    // flushed layers are read from the root now
+    snapshots.forEach(snapshot -> ((SnapshotImpl) snapshot).release());
   }
 
   private void processAccount(Map<WrappedByteArray, WrappedByteArray> batch) {
@@ -151,6 +165,14 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   }
 
   private void putCache(byte[] key, byte[] value) {
+    putHeapCache(key, value);
+    if (offHeapCache != null) {
+      // an empty value is a removed key
+      offHeapCache.put(key, ByteArray.isEmpty(value) ? null : value);
+    }
+  }
+
+  private void putHeapCache(byte[] key, byte[] value) {
     if (cached()) {
       cache.put(WrappedByteArray.of(key), WrappedByteArray.of(value));
     }
@@ -160,6 +182,17 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     if (cached()) {
       values.forEach(cache::put);
     }
+    if (offHeapCache != null) {
+      values.forEach((k, v) -> offHeapCache.put(k.getBytes(),
+          ByteArray.isEmpty(v.getBytes()) ? null : v.getBytes()));
+    }
+  }
+
+  private byte[] getOffHeapCache(byte[] key) {
+    if (offHeapCache != null) {
+      return offHeapCache.get(key);
+    }
+    return null;
   }
 
   private WrappedByteArray getCache(byte[] key) {
@@ -191,6 +224,9 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     if (cached()) {
       CacheManager.release(cache);
     }
+    if (offHeapCache != null) {
+      CacheManager.release(offHeapCache);
+    }
     ((Flusher) db).close();
   }
 
@@ -199,6 +235,9 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     if (cached()) {
       CacheManager.release(cache);
     }
+    if (offHeapCache != null) {
+      CacheManager.release(offHeapCache);
+    }
     ((Flusher) db).reset();
   }
 
@@ -37,12 +37,42 @@ public class MortgageService {
   @Setter
   private AccountStore accountStore;
 
+  private volatile RewardCycleIndex rewardIndex;
+
   public void initStore(WitnessStore witnessStore, DelegationStore delegationStore,
       DynamicPropertiesStore dynamicPropertiesStore, AccountStore accountStore) {
     this.witnessStore = witnessStore;
     this.delegationStore = delegationStore;
     this.dynamicPropertiesStore = dynamicPropertiesStore;
     this.accountStore = accountStore;
+    this.rewardIndex = new RewardCycleIndex(delegationStore);
+    buildRewardIndex();
+  }
+
+  /**
+   * Index the old cycles of the witnesses in the background, the cycles closed later are added
+   * as rewards of them are computed.
+   */
+  private void buildRewardIndex() {
+    RewardCycleIndex index = rewardIndex;
+    long end = RewardCycleIndex.indexEnd(dynamicPropertiesStore.getCurrentCycleNumber(),
+        dynamicPropertiesStore.getNewRewardAlgorithmEffectiveCycle());
+    if (end <= 0) {
+      return;
+    }
+    Thread thread = new Thread(() -> {
+      long start = System.currentTimeMillis();
+      try {
+        witnessStore.getAllWitnesses().forEach(
+            w -> index.column(w.getAddress().toByteArray(), end));
+        logger.info("Build reward index of {} witnesses, {} cycles, cost {} ms.", index.size(),
+            end, System.currentTimeMillis() - start);
+      } catch (Exception e) {
+        logger.warn("Build reward index failed, {}.", e.getMessage());
+      }
+    }, "reward-index");
+    thread.setDaemon(true);
+    thread.start();
   }
 
   public void payStandbyWitness() {
@@ -172,8 +202,7 @@ public class MortgageService {
         continue;
       }
       long userVote = vote.getVoteCount();
-      double voteRate = (double) userVote / totalVote;
-      reward += voteRate * totalReward;
+      reward = addVoteReward(reward, userVote, totalVote, totalReward);
       logger.debug("ComputeReward {}, {}, {}, {}, {}, {}, {}.", cycle,
           Hex.toHexString(accountCapsule.getAddress().toByteArray()), Hex.toHexString(srAddress),
           userVote, totalVote, totalReward, reward);
@@ -181,6 +210,43 @@ public class MortgageService {
     return reward;
   }
 
+  /**
+   * Compute the reward of the cycles from the reward index, the same as computing it cycle by
+   * cycle from the store.
+   */
+  private long computeReward(long beginCycle, long endCycle, AccountCapsule accountCapsule,
+      RewardCycleIndex index) {
+    List<Vote> votes = accountCapsule.getVotesList();
+    RewardCycleIndex.Column[] columns = new RewardCycleIndex.Column[votes.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = index.column(votes.get(i).getVoteAddress().toByteArray(), endCycle);
+    }
+    long reward = 0;
+    for (long cycle = beginCycle; cycle < endCycle; cycle++) {
+      long cycleReward = 0;
+      for (int i = 0; i < columns.length; i++) {
+        long totalVote = columns[i].getVote(cycle);
+        if (totalVote == DelegationStore.REMARK || totalVote == 0) {
+          continue;
+        }
+        cycleReward = addVoteReward(cycleReward, votes.get(i).getVoteCount(), totalVote,
+            columns[i].getReward(cycle));
+      }
+      reward += cycleReward;
+    }
+    return reward;
+  }
+
+  /**
+   * the reward of a vote in an old cycle, the sum is truncated to long vote by vote.
+   */
+  private static long addVoteReward(long reward, long userVote, long totalVote,
+      long totalReward) {
+    double voteRate = (double) userVote / totalVote;
+    reward += voteRate * totalReward;
+    return reward;
+  }
+
   /**
    * Compute reward from begin cycle to end cycle, which endCycle must greater than beginCycle.
    * While computing reward after new reward algorithm taking effective cycle number,
@@ -199,6 +265,13 @@ public class MortgageService {
     long newAlgorithmCycle = dynamicPropertiesStore.getNewRewardAlgorithmEffectiveCycle();
     if (beginCycle < newAlgorithmCycle) {
       long oldEndCycle = Math.min(endCycle, newAlgorithmCycle);
+      long indexEnd = Math.min(oldEndCycle, RewardCycleIndex.indexEnd(
+          dynamicPropertiesStore.getCurrentCycleNumber(), newAlgorithmCycle));
+      RewardCycleIndex index = rewardIndex;
+      if (index != null && beginCycle < indexEnd) {
+        reward += computeReward(beginCycle, indexEnd, accountCapsule, index);
+        beginCycle = indexEnd;
+      }
       for (long cycle = beginCycle; cycle < oldEndCycle; cycle++) {
         reward += computeReward(cycle, accountCapsule);
       }
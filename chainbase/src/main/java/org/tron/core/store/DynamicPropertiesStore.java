@@ -216,6 +216,10 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   private static final byte[] MAX_DELEGATE_LOCK_PERIOD =
       "MAX_DELEGATE_LOCK_PERIOD".getBytes();
 
+  // the next key of recent-transaction to rewrite from json to a binary record
+  private static final byte[] RECENT_TRANSACTION_MIGRATE_CURSOR =
+      "RECENT_TRANSACTION_MIGRATE_CURSOR".getBytes();
+
   @Autowired
   private DynamicPropertiesStore(@Value("properties") String dbName) {
     super(dbName);
@@ -2831,6 +2835,17 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
     return (getMaxDelegateLockPeriod() > DELEGATE_PERIOD / 3000) && getUnfreezeDelayDays() > 0;
   }
 
+  public void saveRecentTransactionMigrateCursor(int cursor) {
+    this.put(RECENT_TRANSACTION_MIGRATE_CURSOR, new BytesCapsule(ByteArray.fromInt(cursor)));
+  }
+
+  public int getRecentTransactionMigrateCursor() {
+    return Optional.ofNullable(getUnchecked(RECENT_TRANSACTION_MIGRATE_CURSOR))
+        .map(BytesCapsule::getData)
+        .map(ByteArray::toInt)
+        .orElse(0);
+  }
+
   private static class DynamicResourceProperties {
 
     private static final byte[] ONE_DAY_NET_LIMIT = "ONE_DAY_NET_LIMIT".getBytes();
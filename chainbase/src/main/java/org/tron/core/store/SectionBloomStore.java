@@ -11,6 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.tron.common.bloom.Bloom;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
 import org.tron.common.utils.ByteUtil;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.capsule.TransactionRetCapsule;
@@ -22,6 +26,11 @@ import org.tron.core.exception.EventBloomException;
 public class SectionBloomStore extends TronStoreWithRevoking<BytesCapsule> {
 
   public static final int BLOCK_PER_SECTION = 2048;
+  // decoded rows of solidified sections, a row is 256 bytes at most
+  private static final String BITS_STRATEGY = String.format(CacheStrategies.PATTERNS,
+      1024, 32768, "1h", Runtime.getRuntime().availableProcessors());
+  private final TronCache<Long, BitSet> bitsCache =
+      CacheManager.allocate(CacheType.sectionBloomBits, BITS_STRATEGY);
   private List<Integer> bitList;
 
   @Autowired
@@ -65,11 +74,37 @@ public class SectionBloomStore extends TronStoreWithRevoking<BytesCapsule> {
     return BitSet.valueOf(data);
   }
 
+  /**
+   * read the rows of all bitIndexes of one section at once, a missing row is null.
+   * rows of a solidified section never change, so they are served from a shared cache
+   * when solidified is true; returned rows must not be modified.
+   */
+  public BitSet[] get(int section, int[] bitIndexes, boolean solidified)
+      throws EventBloomException {
+    BitSet[] rows = new BitSet[bitIndexes.length];
+    for (int i = 0; i < bitIndexes.length; i++) {
+      if (!solidified) {
+        rows[i] = get(section, bitIndexes[i]);
+        continue;
+      }
+      long keyLong = combineKey(section, bitIndexes[i]);
+      BitSet row = bitsCache.getIfPresent(keyLong);
+      if (row == null) {
+        row = get(section, bitIndexes[i]);
+        // cache missing rows too, a solidified section gets no new bits
+        bitsCache.put(keyLong, row == null ? new BitSet() : row);
+      }
+      rows[i] = row == null || row.isEmpty() ? null : row;
+    }
+    return rows;
+  }
+
   public void put(int section, int bitIndex, BitSet bitSet) throws EventBloomException {
     long keyLong = combineKey(section, bitIndex);
     byte[] key = Long.toHexString(keyLong).getBytes();
     byte[] compressData = ByteUtil.compress(bitSet.toByteArray());
     super.put(key, new BytesCapsule(compressData));
+    bitsCache.invalidate(keyLong);
   }
 
   public Bloom initBlockSection(TransactionRetCapsule transactionRetCapsule) {
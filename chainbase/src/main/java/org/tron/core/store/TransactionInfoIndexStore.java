@@ -0,0 +1,70 @@
+package org.tron.core.store;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.capsule.TransactionRetCapsule;
+import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.exception.BadItemException;
+
+/**
+ * Where the transaction info of each transaction id is in the transaction results of its block:
+ * the block number, the index of the info in the block, and its offset and length in the
+ * serialized TransactionRet, so that the info is decoded alone.
+ */
+@Slf4j(topic = "DB")
+@Component
+public class TransactionInfoIndexStore extends TronStoreWithRevoking<BytesCapsule> {
+
+  private static final int VALUE_LENGTH = Long.BYTES + 3 * Integer.BYTES;
+
+  @Autowired
+  private TransactionInfoIndexStore(@Value("transaction-info-index") String dbName) {
+    super(dbName);
+  }
+
+  /**
+   * Indexes the transaction infos of a block.
+   *
+   * @param transactionRet the serialized transaction results of the block
+   */
+  public void put(long blockNum, byte[] transactionRet) throws BadItemException {
+    TransactionRetCapsule.forEachTransactionInfo(transactionRet, (index, id, offset, length) -> {
+      if (!ArrayUtils.isEmpty(id)) {
+        revokingDB.put(id, Bytes.concat(Longs.toByteArray(blockNum), Ints.toByteArray(index),
+            Ints.toByteArray(offset), Ints.toByteArray(length)));
+      }
+      return true;
+    });
+  }
+
+  public Location getLocation(byte[] id) {
+    byte[] value = revokingDB.getUnchecked(id);
+    if (Objects.isNull(value) || value.length != VALUE_LENGTH) {
+      return null;
+    }
+    return new Location(Longs.fromByteArray(value),
+        Ints.fromBytes(value[8], value[9], value[10], value[11]),
+        Ints.fromBytes(value[12], value[13], value[14], value[15]),
+        Ints.fromBytes(value[16], value[17], value[18], value[19]));
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Location {
+
+    private final long blockNum;
+    private final int index;
+    private final int offset;
+    private final int length;
+  }
+}
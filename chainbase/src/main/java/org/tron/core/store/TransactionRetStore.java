@@ -1,6 +1,6 @@
 package org.tron.core.store;
 
-import com.google.protobuf.ByteString;
+import java.util.Arrays;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
@@ -14,6 +14,7 @@ import org.tron.core.capsule.TransactionRetCapsule;
 import org.tron.core.db.TransactionStore;
 import org.tron.core.db.TronStoreWithRevoking;
 import org.tron.core.exception.BadItemException;
+import org.tron.core.store.TransactionInfoIndexStore.Location;
 import org.tron.protos.Protocol;
 import org.tron.protos.Protocol.TransactionInfo;
 
@@ -24,6 +25,9 @@ public class TransactionRetStore extends TronStoreWithRevoking<TransactionRetCap
   @Autowired
   private TransactionStore transactionStore;
 
+  @Autowired
+  private TransactionInfoIndexStore transactionInfoIndexStore;
+
   @Autowired
   public TransactionRetStore(@Value("transactionRetStore") String dbName) {
     super(dbName);
@@ -33,43 +37,94 @@ public class TransactionRetStore extends TronStoreWithRevoking<TransactionRetCap
   public void put(byte[] key, TransactionRetCapsule item) {
     if (BooleanUtils.toBoolean(CommonParameter.getInstance()
         .getStorage().getTransactionHistorySwitch())) {
-      super.put(key, item);
+      if (Objects.isNull(key) || Objects.isNull(item)) {
+        return;
+      }
+      byte[] data = item.getData();
+      revokingDB.put(key, data);
+      if (CommonParameter.getInstance().getStorage().isTransactionInfoIndex()) {
+        try {
+          transactionInfoIndexStore.put(ByteArray.toLong(key), data);
+        } catch (BadItemException e) {
+          logger.warn("Index transaction infos of block {} failed.", ByteArray.toLong(key), e);
+        }
+      }
     }
   }
 
   public TransactionInfoCapsule getTransactionInfo(byte[] key) throws BadItemException {
-    long blockNumber = transactionStore.getBlockNumber(key);
-    if (blockNumber == -1) {
+    TransactionInfo transactionResultInfo = getIndexedTransactionInfo(key);
+    if (transactionResultInfo == null) {
+      long blockNumber = transactionStore.getBlockNumber(key);
+      if (blockNumber == -1) {
+        return null;
+      }
+      byte[] value = revokingDB.getUnchecked(ByteArray.fromLong(blockNumber));
+      if (Objects.isNull(value)) {
+        return null;
+      }
+      transactionResultInfo = findTransactionInfo(value, key);
+      if (transactionResultInfo == null) {
+        return null;
+      }
+    }
+
+    Protocol.ResourceReceipt receipt = transactionResultInfo.getReceipt();
+    // If query a result with dirty origin usage in receipt, we just reset it.
+    if (receipt.getEnergyUsageTotal() == 0 && receipt.getOriginEnergyUsage() > 0) {
+      transactionResultInfo =
+          transactionResultInfo.toBuilder()
+              .setReceipt(
+                  receipt.toBuilder()
+                      .clearOriginEnergyUsage()
+                      .build())
+              .build();
+    }
+    return new TransactionInfoCapsule(transactionResultInfo);
+  }
+
+  /**
+   * @return the info where the index says it is, null if it is not indexed or not there
+   */
+  private TransactionInfo getIndexedTransactionInfo(byte[] key) {
+    if (!CommonParameter.getInstance().getStorage().isTransactionInfoIndex()) {
       return null;
     }
-    byte[] value = revokingDB.getUnchecked(ByteArray.fromLong(blockNumber));
-    if (Objects.isNull(value)) {
+    Location location = transactionInfoIndexStore.getLocation(key);
+    if (location == null) {
       return null;
     }
-
-    TransactionRetCapsule result = new TransactionRetCapsule(value);
-    if (Objects.isNull(result.getInstance())) {
+    byte[] value = revokingDB.getUnchecked(ByteArray.fromLong(location.getBlockNum()));
+    if (Objects.isNull(value) || location.getOffset() < 0 || location.getLength() < 0
+        || location.getOffset() > value.length - location.getLength()) {
       return null;
     }
+    TransactionInfo transactionInfo;
+    try {
+      transactionInfo = TransactionRetCapsule
+          .parseTransactionInfo(value, location.getOffset(), location.getLength());
+    } catch (BadItemException e) {
+      return null;
+    }
+    // the block of the index may have been switched out
+    return Arrays.equals(transactionInfo.getId().toByteArray(), key) ? transactionInfo : null;
+  }
 
-    ByteString id = ByteString.copyFrom(key);
-    for (TransactionInfo transactionResultInfo : result.getInstance().getTransactioninfoList()) {
-      if (transactionResultInfo.getId().equals(id)) {
-        Protocol.ResourceReceipt receipt = transactionResultInfo.getReceipt();
-        // If query a result with dirty origin usage in receipt, we just reset it.
-        if (receipt.getEnergyUsageTotal() == 0 && receipt.getOriginEnergyUsage() > 0) {
-          transactionResultInfo =
-              transactionResultInfo.toBuilder()
-                  .setReceipt(
-                      receipt.toBuilder()
-                          .clearOriginEnergyUsage()
-                          .build())
-                  .build();
-        }
-        return new TransactionInfoCapsule(transactionResultInfo);
+  private static TransactionInfo findTransactionInfo(byte[] value, byte[] key)
+      throws BadItemException {
+    int[] found = new int[] {-1, 0};
+    TransactionRetCapsule.forEachTransactionInfo(value, (index, id, offset, length) -> {
+      if (Arrays.equals(id, key)) {
+        found[0] = offset;
+        found[1] = length;
+        return false;
       }
+      return true;
+    });
+    if (found[0] < 0) {
+      return null;
     }
-    return null;
+    return TransactionRetCapsule.parseTransactionInfo(value, found[0], found[1]);
   }
 
   public TransactionRetCapsule getTransactionInfoByBlockNum(byte[] key) throws BadItemException {
@@ -1,5 +1,8 @@
 package org.tron.core.store;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
 import org.apache.commons.lang3.ArrayUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,4 +23,15 @@ public class VotesStore extends TronStoreWithRevoking<VotesCapsule> {
     byte[] value = revokingDB.getUnchecked(key);
     return ArrayUtils.isEmpty(value) ? null : new VotesCapsule(value);
   }
+
+  /**
+   * @return the entries with the values not parsed, to be parsed off the iterating thread
+   */
+  public Iterator<Map.Entry<byte[], byte[]>> dataIterator() {
+    return revokingDB.iterator();
+  }
+
+  public void delete(Collection<byte[]> keys) {
+    revokingDB.delete(keys);
+  }
 }
\ No newline at end of file
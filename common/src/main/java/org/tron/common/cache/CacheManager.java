@@ -2,6 +2,7 @@ package org.tron.common.cache;
 
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.Maps;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -10,6 +11,7 @@ import org.tron.common.parameter.CommonParameter;
 public class CacheManager {
 
   private static final Map<CacheType, TronCache<?, ?>> CACHES  = Maps.newConcurrentMap();
+  private static final Map<CacheType, OffHeapCache> OFF_HEAP_CACHES = Maps.newConcurrentMap();
 
   public static <K, V> TronCache<K, V> allocate(CacheType name) {
     TronCache<K, V> cache = new TronCache<>(name, CommonParameter.getInstance()
@@ -31,14 +33,47 @@ public class CacheManager {
     return cache;
   }
 
+  /**
+   * allocate a cache bounded by weight, the strategy gives maximumWeight instead of maximumSize.
+   */
+  public  static <K, V> TronCache<K, V> allocate(CacheType name, String strategy,
+                                                 Weigher<K, V> weigher) {
+    TronCache<K, V> cache = new TronCache<>(name, strategy, weigher);
+    CACHES.put(name, cache);
+    return cache;
+  }
+
+  /**
+   * allocate the off-heap cache of the type if it is given a size, storage.cache.offHeap.
+   *
+   * @return the cache, null if it is disabled
+   */
+  public static OffHeapCache allocateOffHeap(CacheType name) {
+    long size = CommonParameter.getInstance().getStorage().getOffHeapCacheSize(name);
+    if (size <= 0) {
+      return null;
+    }
+    OffHeapCache cache = new OffHeapCache(name, size);
+    OFF_HEAP_CACHES.put(name, cache);
+    return cache;
+  }
 
   public static void release(TronCache<?, ?> cache) {
     cache.invalidateAll();
   }
 
+  public static void release(OffHeapCache cache) {
+    cache.invalidateAll();
+  }
+
   public static Map<String, CacheStats> stats() {
     return CACHES.values().stream().collect(Collectors.toMap(c -> c.getName().toString(),
         TronCache::stats));
   }
 
+  public static Map<String, OffHeapCache> offHeapCaches() {
+    return OFF_HEAP_CACHES.values().stream().collect(Collectors.toMap(
+        c -> c.getName().toString(), c -> c));
+  }
+
 }
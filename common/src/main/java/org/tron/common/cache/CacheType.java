@@ -5,6 +5,14 @@ import java.util.Arrays;
 public enum CacheType {
   // for 127 SR
   witnessStandby("witnessStandby"),
+  // for signature recovery
+  recoveredSigner("recovered-signer"),
+  // for jump destination analysis
+  jumpDestAnalysis("jump-dest-analysis"),
+  // for decoded rows of solidified bloom sections
+  sectionBloomBits("section-bloom-bits"),
+  // for rendered http responses of solidified blocks
+  httpResponse("http-response"),
   // for leveldb or rocksdb cache
   recentBlock("recent-block"),
   witness("witness"),
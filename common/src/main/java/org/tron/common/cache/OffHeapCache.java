@@ -0,0 +1,372 @@
+package org.tron.common.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * A cache of byte arrays kept outside the heap, bounded by bytes. The cache is split into
+ * segments behind their own locks, each a direct buffer written as a circular log of entries
+ * with an open addressing index on the heap. When a segment is full the oldest entries are
+ * evicted, except those read since they were written which get a second chance at the head
+ * of the log, so the cache approximates an LRU without a list to maintain on reads.
+ */
+public class OffHeapCache {
+
+  private static final int SEGMENTS = 16;
+  // hash, key length, value length and flags
+  private static final int HEADER = 13;
+  private static final int KEY_LENGTH = 4;
+  private static final int VALUE_LENGTH = 8;
+  private static final int FLAGS = 12;
+  private static final byte REFERENCED = 1;
+  // the key length of the padding left at the end of the log when an entry does not fit
+  private static final int PADDING = -1;
+  // a segment larger than this cannot be addressed by int offsets
+  private static final long MAX_SEGMENT = 1L << 30;
+
+  @Getter
+  private final CacheType name;
+  @Getter
+  private final long capacity;
+  private final Segment[] segments = new Segment[SEGMENTS];
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  OffHeapCache(CacheType name, long capacity) {
+    this.name = name;
+    int segmentSize = (int) Math.min(MAX_SEGMENT, Math.max(HEADER * 16, capacity / SEGMENTS));
+    this.capacity = (long) segmentSize * SEGMENTS;
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment(segmentSize);
+    }
+  }
+
+  /**
+   * @return a copy of the cached value, null if the key is not cached
+   */
+  public byte[] get(byte[] key) {
+    int hash = hash(key);
+    byte[] value = segment(hash).get(key, hash);
+    if (value == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Cache the value of the key, a null value invalidates the key.
+   */
+  public void put(byte[] key, byte[] value) {
+    int hash = hash(key);
+    if (value == null) {
+      segment(hash).remove(key, hash);
+    } else {
+      segment(hash).put(key, value, hash);
+    }
+  }
+
+  public void invalidate(byte[] key) {
+    put(key, null);
+  }
+
+  public void invalidateAll() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  public long hitCount() {
+    return hitCount.sum();
+  }
+
+  public long missCount() {
+    return missCount.sum();
+  }
+
+  public long evictionCount() {
+    return evictionCount.sum();
+  }
+
+  public long size() {
+    long size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * @return the bytes taken by the entries in the log, including those replaced but not yet
+   *     overwritten
+   */
+  public long usedBytes() {
+    long used = 0;
+    for (Segment segment : segments) {
+      used += segment.used();
+    }
+    return used;
+  }
+
+  private Segment segment(int hash) {
+    return segments[hash >>> 28];
+  }
+
+  private static int hash(byte[] key) {
+    int h = Arrays.hashCode(key);
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    return h;
+  }
+
+  private final class Segment {
+
+    private final ByteBuffer arena;
+    private final int capacity;
+    // an entry larger than this would evict most of the segment
+    private final int maxEntry;
+    // the log is [head, tail) wrapping at capacity, used tells a full log from an empty one
+    private int head;
+    private int tail;
+    private int used;
+    // offset + 1 of the entry of each slot, 0 for an empty slot
+    private int[] offsets = new int[16];
+    private int[] hashes = new int[16];
+    private int size;
+    // entries read since written, to be written again after the current put, at most maxEntry
+    // bytes of them so a put does not copy the segment to the heap
+    private final Deque<byte[][]> reinsert = new ArrayDeque<>();
+    private int reinsertBytes;
+
+    Segment(int capacity) {
+      this.capacity = capacity;
+      this.maxEntry = capacity / 8;
+      this.arena = ByteBuffer.allocateDirect(capacity);
+    }
+
+    synchronized byte[] get(byte[] key, int hash) {
+      int slot = find(key, hash);
+      if (slot < 0) {
+        return null;
+      }
+      int offset = offsets[slot] - 1;
+      arena.put(offset + FLAGS, REFERENCED);
+      byte[] value = new byte[arena.getInt(offset + VALUE_LENGTH)];
+      arena.position(offset + HEADER + key.length);
+      arena.get(value);
+      return value;
+    }
+
+    synchronized void put(byte[] key, byte[] value, int hash) {
+      remove(key, hash);
+      append(key, value, hash);
+      while (!reinsert.isEmpty()) {
+        byte[][] entry = reinsert.poll();
+        reinsertBytes -= entry[0].length + entry[1].length;
+        append(entry[0], entry[1], hash(entry[0]));
+      }
+    }
+
+    synchronized void remove(byte[] key, int hash) {
+      int slot = find(key, hash);
+      if (slot >= 0) {
+        removeSlot(slot);
+      }
+    }
+
+    synchronized void clear() {
+      head = 0;
+      tail = 0;
+      used = 0;
+      size = 0;
+      offsets = new int[16];
+      hashes = new int[16];
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    synchronized int used() {
+      return used;
+    }
+
+    private void append(byte[] key, byte[] value, int hash) {
+      int length = HEADER + key.length + value.length;
+      if (length > maxEntry) {
+        return;
+      }
+      int offset = reserve(length);
+      arena.putInt(offset, hash);
+      arena.putInt(offset + KEY_LENGTH, key.length);
+      arena.putInt(offset + VALUE_LENGTH, value.length);
+      arena.put(offset + FLAGS, (byte) 0);
+      arena.position(offset + HEADER);
+      arena.put(key);
+      arena.put(value);
+      insert(hash, offset);
+    }
+
+    /**
+     * @return the offset of free space of the length at the tail, evicting from the head
+     */
+    private int reserve(int length) {
+      while (true) {
+        if (used == 0) {
+          head = 0;
+          tail = 0;
+        }
+        if (used == 0 || tail > head) {
+          // free space is [tail, capacity) and [0, head)
+          if (capacity - tail >= length) {
+            return take(length);
+          }
+          if (capacity - tail >= HEADER) {
+            arena.putInt(tail + KEY_LENGTH, PADDING);
+          }
+          used += capacity - tail;
+          tail = 0;
+        }
+        // free space is [tail, head)
+        if (used < capacity && head - tail >= length) {
+          return take(length);
+        }
+        evict();
+      }
+    }
+
+    private int take(int length) {
+      int offset = tail;
+      tail += length;
+      used += length;
+      if (tail == capacity) {
+        tail = 0;
+      }
+      return offset;
+    }
+
+    private void evict() {
+      if (capacity - head < HEADER || arena.getInt(head + KEY_LENGTH) == PADDING) {
+        used -= capacity - head;
+        head = 0;
+        return;
+      }
+      int hash = arena.getInt(head);
+      int keyLength = arena.getInt(head + KEY_LENGTH);
+      int valueLength = arena.getInt(head + VALUE_LENGTH);
+      int slot = findOffset(hash, head);
+      if (slot >= 0) {
+        removeSlot(slot);
+        if (arena.get(head + FLAGS) == REFERENCED
+            && reinsertBytes + keyLength + valueLength <= maxEntry) {
+          byte[] key = new byte[keyLength];
+          byte[] value = new byte[valueLength];
+          arena.position(head + HEADER);
+          arena.get(key);
+          arena.get(value);
+          reinsert.add(new byte[][] {key, value});
+          reinsertBytes += keyLength + valueLength;
+        } else {
+          evictionCount.increment();
+        }
+      }
+      int length = HEADER + keyLength + valueLength;
+      head += length;
+      used -= length;
+      if (head == capacity) {
+        head = 0;
+      }
+    }
+
+    private int find(byte[] key, int hash) {
+      int mask = offsets.length - 1;
+      for (int i = hash & mask; offsets[i] != 0; i = (i + 1) & mask) {
+        if (hashes[i] == hash && keyEquals(offsets[i] - 1, key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private int findOffset(int hash, int offset) {
+      int mask = offsets.length - 1;
+      for (int i = hash & mask; offsets[i] != 0; i = (i + 1) & mask) {
+        if (offsets[i] == offset + 1) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+      if (arena.getInt(offset + KEY_LENGTH) != key.length) {
+        return false;
+      }
+      int start = offset + HEADER;
+      for (int i = 0; i < key.length; i++) {
+        if (arena.get(start + i) != key[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void insert(int hash, int offset) {
+      if ((size + 1) * 2 > offsets.length) {
+        rehash(offsets.length * 2);
+      }
+      int mask = offsets.length - 1;
+      int i = hash & mask;
+      while (offsets[i] != 0) {
+        i = (i + 1) & mask;
+      }
+      offsets[i] = offset + 1;
+      hashes[i] = hash;
+      size++;
+    }
+
+    /**
+     * empty the slot, shifting back the entries after it that probed past it.
+     */
+    private void removeSlot(int slot) {
+      int mask = offsets.length - 1;
+      int i = slot;
+      for (int j = (i + 1) & mask; offsets[j] != 0; j = (j + 1) & mask) {
+        int home = hashes[j] & mask;
+        if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+          offsets[i] = offsets[j];
+          hashes[i] = hashes[j];
+          i = j;
+        }
+      }
+      offsets[i] = 0;
+      size--;
+    }
+
+    private void rehash(int length) {
+      int[] oldOffsets = offsets;
+      int[] oldHashes = hashes;
+      offsets = new int[length];
+      hashes = new int[length];
+      int mask = length - 1;
+      for (int j = 0; j < oldOffsets.length; j++) {
+        if (oldOffsets[j] == 0) {
+          continue;
+        }
+        int i = oldHashes[j] & mask;
+        while (offsets[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        offsets[i] = oldOffsets[j];
+        hashes[i] = oldHashes[j];
+      }
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import lombok.Getter;
@@ -25,6 +26,11 @@ public class TronCache<K, V> {
     this.cache = CacheBuilder.from(strategy).build(loader);
   }
 
+  TronCache(CacheType name, String strategy, Weigher<K, V> weigher) {
+    this.name = name;
+    this.cache = CacheBuilder.from(strategy).weigher(weigher).build();
+  }
+
   public void put(K k, V v) {
     this.cache.put(k, v);
   }
@@ -41,6 +47,10 @@ public class TronCache<K, V> {
     return this.cache.stats();
   }
 
+  public void invalidate(K k) {
+    this.cache.invalidate(k);
+  }
+
   public void invalidateAll() {
     this.cache.invalidateAll();
   }
@@ -204,6 +204,9 @@ public class CommonParameter {
   @Getter
   @Setter
   public long syncFetchBatchNum;
+  @Getter
+  @Setter
+  public int syncPreValidateDepth;
 
   //If you are running a solidity node for java tron, this flag is set to true
   @Getter
@@ -423,6 +426,10 @@ public class CommonParameter {
   @Getter
   @Setter
   public int rateLimiterGlobalIpQps;
+  // reject a request at once when the rate limit is reached instead of waiting for a permit
+  @Getter
+  @Setter
+  public boolean rateLimiterNonBlocking;
   @Getter
   public DbBackupConfig dbBackupConfig;
   @Getter
@@ -463,6 +470,10 @@ public class CommonParameter {
   @Getter
   @Setter
   public boolean solidityNodeHttpEnable = true;
+  // bytes of rendered http responses of solidified blocks to keep, 0 to disable
+  @Getter
+  @Setter
+  public long httpResponseCacheSize = 64L * 1024 * 1024;
   @Getter
   @Setter
   public boolean jsonRpcHttpFullNodeEnable = false;
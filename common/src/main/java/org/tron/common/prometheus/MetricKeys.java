@@ -17,6 +17,8 @@ public class MetricKeys {
     public static final String P2P_ERROR = "tron:p2p_error";
     public static final String P2P_DISCONNECT = "tron:p2p_disconnect";
     public static final String INTERNAL_SERVICE_FAIL = "tron:internal_service_fail";
+    public static final String HTTP_RESPONSE_CACHE = "tron:http_response_cache";
+    public static final String RATE_LIMITER_REJECTED = "tron:rate_limiter_rejected";
 
     private Counter() {
       throw new IllegalStateException("Counter");
@@ -58,10 +60,15 @@ public class MetricKeys {
     public static final String UDP_BYTES = "tron:udp_bytes";
     public static final String TCP_BYTES = "tron:tcp_bytes";
     public static final String HTTP_BYTES = "tron:http_bytes";
+    public static final String HTTP_RESPONSE_CACHE_BYTES = "tron:http_response_cache_bytes";
     public static final String INTERNAL_SERVICE_LATENCY = "tron:internal_service_latency_seconds";
     public static final String MESSAGE_PROCESS_LATENCY = "tron:message_process_latency_seconds";
     public static final String BLOCK_FETCH_LATENCY = "tron:block_fetch_latency_seconds";
     public static final String BLOCK_RECEIVE_DELAY = "tron:block_receive_delay_seconds";
+    public static final String CHECKPOINT_LATENCY = "tron:checkpoint_latency_seconds";
+    public static final String CHECKPOINT_BYTES = "tron:checkpoint_bytes";
+    public static final String CHECKPOINT_ENTRIES = "tron:checkpoint_entries";
+    public static final String ESTIMATE_ENERGY_EXECUTIONS = "tron:estimate_energy_executions";
 
     private Histogram() {
       throw new IllegalStateException("Histogram");
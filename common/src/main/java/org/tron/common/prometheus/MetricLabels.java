@@ -31,6 +31,10 @@ public class MetricLabels {
     public static final String TXS_FAIL_SIG = "sig";
     public static final String TXS_FAIL_TAPOS = "tapos";
     public static final String TXS_FAIL_DUP = "dup";
+    public static final String RESPONSE_CACHE_HIT = "hit";
+    public static final String RESPONSE_CACHE_MISS = "miss";
+    public static final String RATE_LIMITER_HTTP = "http";
+    public static final String RATE_LIMITER_RPC = "rpc";
 
     private Counter() {
       throw new IllegalStateException("Counter");
@@ -68,6 +72,10 @@ public class MetricLabels {
   public static class Histogram {
     public static final String TRAFFIC_IN = "in";
     public static final String TRAFFIC_OUT = "out";
+    public static final String SIGNER_CACHE_HIT = "signer_cache_hit";
+    public static final String SIGNER_CACHE_MISS = "signer_cache_miss";
+    public static final String CHECKPOINT_ENCODE = "encode";
+    public static final String CHECKPOINT_WRITE = "write";
 
     private Histogram() {
       throw new IllegalStateException("Histogram");
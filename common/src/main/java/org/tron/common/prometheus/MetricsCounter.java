@@ -18,6 +18,10 @@ class MetricsCounter {
     init(MetricKeys.Counter.P2P_DISCONNECT, "tron p2p disconnect .", "type");
     init(MetricKeys.Counter.INTERNAL_SERVICE_FAIL, "internal Service fail.",
         "class", "method");
+    init(MetricKeys.Counter.HTTP_RESPONSE_CACHE, "http response cache lookups.",
+        "endpoint", "type");
+    init(MetricKeys.Counter.RATE_LIMITER_REJECTED, "requests rejected by the rate limiter.",
+        "type", "endpoint");
   }
 
   private MetricsCounter() {
@@ -43,11 +43,25 @@ public class MetricsHistogram {
         "type");
     init(MetricKeys.Histogram.HTTP_BYTES, "http_bytes traffic.",
         "url", "status");
+    // 256 B to 16 MiB
+    init(MetricKeys.Histogram.HTTP_RESPONSE_CACHE_BYTES, "http bytes served from the cache.",
+        exponentialBuckets(256, 4, 9), "endpoint");
     init(MetricKeys.Histogram.MESSAGE_PROCESS_LATENCY, "process message latency.",
         "type");
     init(MetricKeys.Histogram.BLOCK_FETCH_LATENCY, "fetch block latency.");
     init(MetricKeys.Histogram.BLOCK_RECEIVE_DELAY,
         "receive block delay time, receiveTime - blockTime.");
+    init(MetricKeys.Histogram.CHECKPOINT_LATENCY, "create checkpoint latency.",
+        "stage");
+    // 1 KiB to 1 GiB
+    init(MetricKeys.Histogram.CHECKPOINT_BYTES, "create checkpoint bytes.",
+        exponentialBuckets(1024, 4, 11));
+    // 1 to 10^7
+    init(MetricKeys.Histogram.CHECKPOINT_ENTRIES, "create checkpoint entries.",
+        exponentialBuckets(1, 10, 8));
+    init(MetricKeys.Histogram.ESTIMATE_ENERGY_EXECUTIONS,
+        "contract executions of one energy estimate.",
+        new double[] {1, 2, 3, 4, 6, 8, 10, 12, 15, 20, 30});
   }
 
   private MetricsHistogram() {
@@ -62,6 +76,23 @@ public class MetricsHistogram {
         .register());
   }
 
+  private static void init(String name, String help, double[] buckets, String... labels) {
+    container.put(name, Histogram.build()
+        .name(name)
+        .help(help)
+        .buckets(buckets)
+        .labelNames(labels)
+        .register());
+  }
+
+  private static double[] exponentialBuckets(double start, double factor, int count) {
+    double[] buckets = new double[count];
+    for (int i = 0; i < count; i++) {
+      buckets[i] = start * Math.pow(factor, i);
+    }
+    return buckets;
+  }
+
   static Histogram.Timer startTimer(String key, String... labels) {
     if (Metrics.enabled()) {
       Histogram histogram = container.get(key);
@@ -0,0 +1,75 @@
+package org.tron.common.prometheus;
+
+import static io.prometheus.client.SampleNameFilter.ALLOW_ALL;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.GaugeMetricFamily;
+import io.prometheus.client.Predicate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.OffHeapCache;
+
+/**
+ * Exports metrics about the off-heap caches.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ *   new OffHeapCacheExports().register();
+ * }
+ * </pre>
+ * Example metrics being exported:
+ * <pre>
+ *   tron:off_heap_cache_hit{type="account"} 3000
+ *   tron:off_heap_cache_bytes{type="account"} 536870912
+ * </pre>
+ */
+public class OffHeapCacheExports extends Collector {
+
+  private static final String TRON_OFF_HEAP_CACHE_HIT = "tron:off_heap_cache_hit";
+  private static final String TRON_OFF_HEAP_CACHE_MISS = "tron:off_heap_cache_miss";
+  private static final String TRON_OFF_HEAP_CACHE_EVICTION_COUNT =
+      "tron:off_heap_cache_eviction_count";
+  private static final String TRON_OFF_HEAP_CACHE_SIZE = "tron:off_heap_cache_size";
+  private static final String TRON_OFF_HEAP_CACHE_BYTES = "tron:off_heap_cache_bytes";
+
+
+  public OffHeapCacheExports() {
+  }
+
+  void addMetrics(List<MetricFamilySamples> sampleFamilies, Predicate<String> nameFilter,
+                  String name, String help, ToDoubleFunction<OffHeapCache> value) {
+    if (nameFilter.test(name)) {
+      GaugeMetricFamily family = new GaugeMetricFamily(name, help,
+          Collections.singletonList("type"));
+      CacheManager.offHeapCaches().forEach((k, v) -> family
+          .addMetric(Collections.singletonList(k), value.applyAsDouble(v)));
+      sampleFamilies.add(family);
+    }
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    return collect(null);
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect(Predicate<String> nameFilter) {
+    List<MetricFamilySamples> mfs = new ArrayList<>();
+    Predicate<String> filter = nameFilter == null ? ALLOW_ALL : nameFilter;
+    addMetrics(mfs, filter, TRON_OFF_HEAP_CACHE_HIT, "Hit count of an off-heap cache.",
+        OffHeapCache::hitCount);
+    addMetrics(mfs, filter, TRON_OFF_HEAP_CACHE_MISS, "Miss count of an off-heap cache.",
+        OffHeapCache::missCount);
+    addMetrics(mfs, filter, TRON_OFF_HEAP_CACHE_EVICTION_COUNT,
+        "Eviction count of an off-heap cache.", OffHeapCache::evictionCount);
+    addMetrics(mfs, filter, TRON_OFF_HEAP_CACHE_SIZE, "Entries of an off-heap cache.",
+        OffHeapCache::size);
+    addMetrics(mfs, filter, TRON_OFF_HEAP_CACHE_BYTES, "Bytes used of an off-heap cache.",
+        OffHeapCache::usedBytes);
+    return mfs;
+  }
+}
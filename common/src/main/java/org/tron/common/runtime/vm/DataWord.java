@@ -171,6 +171,17 @@ public class DataWord implements Comparable<DataWord> {
     return ret;
   }
 
+  /**
+   * Overwrites this word with the value of word, reusing the data array.
+   */
+  public DataWord set(UInt256 word) {
+    if (data.length != WORD_SIZE) {
+      data = new byte[WORD_SIZE];
+    }
+    word.writeTo(data);
+    return this;
+  }
+
   public byte[] getNoLeadZeroesData() {
     return ByteUtil.stripLeadingZeroes(data);
   }
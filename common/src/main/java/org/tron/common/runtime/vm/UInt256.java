@@ -0,0 +1,530 @@
+package org.tron.common.runtime.vm;
+
+import java.util.Arrays;
+
+/**
+ * Mutable 256-bit word held in four longs, most significant first, used by the interpreter
+ * to do arithmetic without allocating. Operations work in place and follow the
+ * {@link DataWord} semantics: unsigned arithmetic modulo 2^256, two's complement for the
+ * signed operations, and a zero result for a division or modulo by zero.
+ *
+ * <p>An instance is not thread safe, it is meant to be owned by one program frame.
+ */
+public final class UInt256 {
+
+  private static final long MASK_32 = 0xFFFFFFFFL;
+  private static final int LIMBS = 8;
+
+  private long w0;
+  private long w1;
+  private long w2;
+  private long w3;
+
+  // 32-bit limbs used by mul and div, least significant first
+  private final long[] x = new long[LIMBS];
+  private final long[] y = new long[LIMBS];
+  private final long[] q = new long[LIMBS];
+  private final long[] un = new long[LIMBS + 1];
+  private final long[] vn = new long[LIMBS];
+  private UInt256 scratch;
+
+  /**
+   * Loads a big-endian value, a shorter array is right aligned like in {@link DataWord}.
+   */
+  public UInt256 set(byte[] data) {
+    int offset = data.length - DataWord.WORD_SIZE;
+    w0 = readLong(data, offset);
+    w1 = readLong(data, offset + 8);
+    w2 = readLong(data, offset + 16);
+    w3 = readLong(data, offset + 24);
+    return this;
+  }
+
+  public UInt256 set(UInt256 word) {
+    w0 = word.w0;
+    w1 = word.w1;
+    w2 = word.w2;
+    w3 = word.w3;
+    return this;
+  }
+
+  public UInt256 set(long value) {
+    w0 = 0;
+    w1 = 0;
+    w2 = 0;
+    w3 = value;
+    return this;
+  }
+
+  /**
+   * Writes the value big-endian in the first 32 bytes of out.
+   */
+  public void writeTo(byte[] out) {
+    writeLong(out, 0, w0);
+    writeLong(out, 8, w1);
+    writeLong(out, 16, w2);
+    writeLong(out, 24, w3);
+  }
+
+  public byte[] toByteArray() {
+    byte[] out = new byte[DataWord.WORD_SIZE];
+    writeTo(out);
+    return out;
+  }
+
+  public boolean isZero() {
+    return (w0 | w1 | w2 | w3) == 0;
+  }
+
+  public boolean isNegative() {
+    return w0 < 0;
+  }
+
+  /**
+   * @return the value as an int, or -1 if it does not fit in a non negative int.
+   */
+  public int intValueOrNegative() {
+    if ((w0 | w1 | w2) != 0 || w3 < 0 || w3 > Integer.MAX_VALUE) {
+      return -1;
+    }
+    return (int) w3;
+  }
+
+  public int compareTo(UInt256 o) {
+    int c = Long.compareUnsigned(w0, o.w0);
+    if (c != 0) {
+      return c;
+    }
+    c = Long.compareUnsigned(w1, o.w1);
+    if (c != 0) {
+      return c;
+    }
+    c = Long.compareUnsigned(w2, o.w2);
+    if (c != 0) {
+      return c;
+    }
+    return Long.compareUnsigned(w3, o.w3);
+  }
+
+  public int signedCompareTo(UInt256 o) {
+    if (w0 != o.w0) {
+      return Long.compare(w0, o.w0);
+    }
+    int c = Long.compareUnsigned(w1, o.w1);
+    if (c != 0) {
+      return c;
+    }
+    c = Long.compareUnsigned(w2, o.w2);
+    if (c != 0) {
+      return c;
+    }
+    return Long.compareUnsigned(w3, o.w3);
+  }
+
+  public UInt256 add(UInt256 o) {
+    long s3 = w3 + o.w3;
+    long c = carry(w3, o.w3, s3);
+    long s2 = w2 + o.w2 + c;
+    c = carry(w2, o.w2, s2);
+    long s1 = w1 + o.w1 + c;
+    c = carry(w1, o.w1, s1);
+    w0 = w0 + o.w0 + c;
+    w1 = s1;
+    w2 = s2;
+    w3 = s3;
+    return this;
+  }
+
+  public UInt256 sub(UInt256 o) {
+    long d3 = w3 - o.w3;
+    long b = borrow(w3, o.w3, d3);
+    long d2 = w2 - o.w2 - b;
+    b = borrow(w2, o.w2, d2);
+    long d1 = w1 - o.w1 - b;
+    b = borrow(w1, o.w1, d1);
+    w0 = w0 - o.w0 - b;
+    w1 = d1;
+    w2 = d2;
+    w3 = d3;
+    return this;
+  }
+
+  public UInt256 not() {
+    w0 = ~w0;
+    w1 = ~w1;
+    w2 = ~w2;
+    w3 = ~w3;
+    return this;
+  }
+
+  public UInt256 negate() {
+    not();
+    w3++;
+    if (w3 == 0) {
+      w2++;
+      if (w2 == 0) {
+        w1++;
+        if (w1 == 0) {
+          w0++;
+        }
+      }
+    }
+    return this;
+  }
+
+  public UInt256 mul(UInt256 o) {
+    toLimbs(x);
+    o.toLimbs(y);
+    long[] r = q;
+    Arrays.fill(r, 0);
+    for (int i = 0; i < LIMBS; i++) {
+      long xi = x[i];
+      if (xi == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        // at most (2^32 - 1)^2 + 2 * (2^32 - 1), which fits in an unsigned long
+        long t = xi * y[j] + r[i + j] + carry;
+        r[i + j] = t & MASK_32;
+        carry = t >>> 32;
+      }
+    }
+    fromLimbs(r);
+    return this;
+  }
+
+  public UInt256 div(UInt256 o) {
+    divide(o, false);
+    return this;
+  }
+
+  public UInt256 mod(UInt256 o) {
+    divide(o, true);
+    return this;
+  }
+
+  public UInt256 sdiv(UInt256 o) {
+    if (o.isZero()) {
+      return set(0);
+    }
+    boolean negative = isNegative();
+    boolean divisorNegative = o.isNegative();
+    UInt256 divisor = scratch().set(o);
+    if (divisorNegative) {
+      divisor.negate();
+    }
+    if (negative) {
+      negate();
+    }
+    divide(divisor, false);
+    if (negative != divisorNegative) {
+      negate();
+    }
+    return this;
+  }
+
+  public UInt256 smod(UInt256 o) {
+    if (o.isZero()) {
+      return set(0);
+    }
+    boolean negative = isNegative();
+    UInt256 divisor = scratch().set(o);
+    if (divisor.isNegative()) {
+      divisor.negate();
+    }
+    if (negative) {
+      negate();
+    }
+    divide(divisor, true);
+    if (negative) {
+      negate();
+    }
+    return this;
+  }
+
+  /**
+   * this = this ^ exponent mod 2^256.
+   */
+  public UInt256 exp(UInt256 exponent) {
+    long e0 = exponent.w0;
+    long e1 = exponent.w1;
+    long e2 = exponent.w2;
+    long e3 = exponent.w3;
+    UInt256 base = scratch().set(this);
+    set(1);
+    int bits = bitLength(e0, e1, e2, e3);
+    for (int i = bits - 1; i >= 0; i--) {
+      mul(this);
+      if (testBit(e0, e1, e2, e3, i)) {
+        mul(base);
+      }
+    }
+    return this;
+  }
+
+  public UInt256 shiftLeft(int n) {
+    if (n < 0 || n >= 256) {
+      return set(0);
+    }
+    long l0 = w3;
+    long l1 = w2;
+    long l2 = w1;
+    long l3 = w0;
+    for (int k = n >>> 6; k > 0; k--) {
+      l3 = l2;
+      l2 = l1;
+      l1 = l0;
+      l0 = 0;
+    }
+    int bits = n & 63;
+    if (bits != 0) {
+      l3 = (l3 << bits) | (l2 >>> (64 - bits));
+      l2 = (l2 << bits) | (l1 >>> (64 - bits));
+      l1 = (l1 << bits) | (l0 >>> (64 - bits));
+      l0 = l0 << bits;
+    }
+    w0 = l3;
+    w1 = l2;
+    w2 = l1;
+    w3 = l0;
+    return this;
+  }
+
+  public UInt256 shiftRight(int n) {
+    return shiftRight(n, 0L);
+  }
+
+  public UInt256 shiftRightSigned(int n) {
+    return shiftRight(n, w0 < 0 ? -1L : 0L);
+  }
+
+  public DataWord toDataWord() {
+    return new DataWord(toByteArray());
+  }
+
+  @Override
+  public String toString() {
+    return toDataWord().toString();
+  }
+
+  private UInt256 shiftRight(int n, long fill) {
+    if (n < 0 || n >= 256) {
+      w0 = fill;
+      w1 = fill;
+      w2 = fill;
+      w3 = fill;
+      return this;
+    }
+    long l0 = w3;
+    long l1 = w2;
+    long l2 = w1;
+    long l3 = w0;
+    for (int k = n >>> 6; k > 0; k--) {
+      l0 = l1;
+      l1 = l2;
+      l2 = l3;
+      l3 = fill;
+    }
+    int bits = n & 63;
+    if (bits != 0) {
+      l0 = (l0 >>> bits) | (l1 << (64 - bits));
+      l1 = (l1 >>> bits) | (l2 << (64 - bits));
+      l2 = (l2 >>> bits) | (l3 << (64 - bits));
+      l3 = fill == 0 ? l3 >>> bits : l3 >> bits;
+    }
+    w0 = l3;
+    w1 = l2;
+    w2 = l1;
+    w3 = l0;
+    return this;
+  }
+
+  /**
+   * Unsigned division, Knuth's algorithm D on 32-bit limbs as given in Hacker's Delight.
+   */
+  private void divide(UInt256 o, boolean remainder) {
+    if (o.isZero()) {
+      set(0);
+      return;
+    }
+    int cmp = compareTo(o);
+    if (cmp < 0) {
+      if (!remainder) {
+        set(0);
+      }
+      return;
+    }
+    if (cmp == 0) {
+      set(remainder ? 0 : 1);
+      return;
+    }
+
+    toLimbs(x);
+    o.toLimbs(y);
+    int m = length(x);
+    int n = length(y);
+    Arrays.fill(q, 0);
+
+    if (n == 1) {
+      long v = y[0];
+      long rem = 0;
+      for (int j = m - 1; j >= 0; j--) {
+        long cur = (rem << 32) | x[j];
+        q[j] = Long.divideUnsigned(cur, v);
+        rem = Long.remainderUnsigned(cur, v);
+      }
+      if (remainder) {
+        set(rem);
+      } else {
+        fromLimbs(q);
+      }
+      return;
+    }
+
+    int s = Integer.numberOfLeadingZeros((int) y[n - 1]);
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = ((y[i] << s) | (y[i - 1] >>> (32 - s))) & MASK_32;
+    }
+    vn[0] = (y[0] << s) & MASK_32;
+    un[m] = x[m - 1] >>> (32 - s);
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = ((x[i] << s) | (x[i - 1] >>> (32 - s))) & MASK_32;
+    }
+    un[0] = (x[0] << s) & MASK_32;
+
+    long b = 1L << 32;
+    for (int j = m - n; j >= 0; j--) {
+      long num = (un[j + n] << 32) | un[j + n - 1];
+      long qhat = Long.divideUnsigned(num, vn[n - 1]);
+      long rhat = Long.remainderUnsigned(num, vn[n - 1]);
+      while (qhat >= b
+          || Long.compareUnsigned(qhat * vn[n - 2], (rhat << 32) | un[j + n - 2]) > 0) {
+        qhat--;
+        rhat += vn[n - 1];
+        if (rhat >= b) {
+          break;
+        }
+      }
+
+      // multiply and subtract
+      long k = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        long p = qhat * vn[i];
+        t = un[i + j] - k - (p & MASK_32);
+        un[i + j] = t & MASK_32;
+        k = (p >>> 32) - (t >> 32);
+      }
+      t = un[j + n] - k;
+      un[j + n] = t & MASK_32;
+
+      q[j] = qhat;
+      if (t < 0) {
+        // subtracted too much, add back
+        q[j]--;
+        k = 0;
+        for (int i = 0; i < n; i++) {
+          t = un[i + j] + vn[i] + k;
+          un[i + j] = t & MASK_32;
+          k = t >>> 32;
+        }
+        un[j + n] = (un[j + n] + k) & MASK_32;
+      }
+    }
+
+    if (remainder) {
+      Arrays.fill(x, 0);
+      for (int i = 0; i < n - 1; i++) {
+        x[i] = ((un[i] >>> s) | (un[i + 1] << (32 - s))) & MASK_32;
+      }
+      x[n - 1] = un[n - 1] >>> s;
+      fromLimbs(x);
+    } else {
+      fromLimbs(q);
+    }
+  }
+
+  private UInt256 scratch() {
+    if (scratch == null) {
+      scratch = new UInt256();
+    }
+    return scratch;
+  }
+
+  private void toLimbs(long[] limbs) {
+    limbs[0] = w3 & MASK_32;
+    limbs[1] = w3 >>> 32;
+    limbs[2] = w2 & MASK_32;
+    limbs[3] = w2 >>> 32;
+    limbs[4] = w1 & MASK_32;
+    limbs[5] = w1 >>> 32;
+    limbs[6] = w0 & MASK_32;
+    limbs[7] = w0 >>> 32;
+  }
+
+  private void fromLimbs(long[] limbs) {
+    w3 = limbs[0] | (limbs[1] << 32);
+    w2 = limbs[2] | (limbs[3] << 32);
+    w1 = limbs[4] | (limbs[5] << 32);
+    w0 = limbs[6] | (limbs[7] << 32);
+  }
+
+  private static int length(long[] limbs) {
+    int len = LIMBS;
+    while (len > 0 && limbs[len - 1] == 0) {
+      len--;
+    }
+    return len;
+  }
+
+  private static long carry(long a, long b, long sum) {
+    return ((a & b) | ((a | b) & ~sum)) >>> 63;
+  }
+
+  private static long borrow(long a, long b, long diff) {
+    return ((~a & b) | (~(a ^ b) & diff)) >>> 63;
+  }
+
+  private static int bitLength(long e0, long e1, long e2, long e3) {
+    if (e0 != 0) {
+      return 256 - Long.numberOfLeadingZeros(e0);
+    }
+    if (e1 != 0) {
+      return 192 - Long.numberOfLeadingZeros(e1);
+    }
+    if (e2 != 0) {
+      return 128 - Long.numberOfLeadingZeros(e2);
+    }
+    return 64 - Long.numberOfLeadingZeros(e3);
+  }
+
+  private static boolean testBit(long e0, long e1, long e2, long e3, int bit) {
+    long word;
+    if (bit >= 192) {
+      word = e0;
+    } else if (bit >= 128) {
+      word = e1;
+    } else if (bit >= 64) {
+      word = e2;
+    } else {
+      word = e3;
+    }
+    return ((word >>> (bit & 63)) & 1) != 0;
+  }
+
+  private static long readLong(byte[] data, int pos) {
+    long v = 0;
+    for (int i = pos; i < pos + 8; i++) {
+      v = (v << 8) | (i >= 0 ? data[i] & 0xFF : 0);
+    }
+    return v;
+  }
+
+  private static void writeLong(byte[] out, int pos, long v) {
+    for (int i = pos + 7; i >= pos; i--) {
+      out[i] = (byte) v;
+      v >>>= 8;
+    }
+  }
+}
@@ -91,6 +91,7 @@ public class Constant {
   public static final String NODE_MIN_CONNECTIONS = "node.minConnections";
   public static final String NODE_MIN_ACTIVE_CONNECTIONS = "node.minActiveConnections";
   public static final String NODE_SYNC_FETCH_BATCH_NUM = "node.syncFetchBatchNum";
+  public static final String NODE_SYNC_PRE_VALIDATE_DEPTH = "node.syncPreValidateDepth";
 
   public static final String NODE_MAX_ACTIVE_NODES = "node.maxActiveNodes";
   public static final String NODE_MAX_ACTIVE_NODES_WITH_SAME_IP = "node.maxActiveNodesWithSameIp";
@@ -130,6 +131,7 @@ public class Constant {
   public static final String NODE_HTTP_FULLNODE_ENABLE = "node.http.fullNodeEnable";
   public static final String NODE_HTTP_SOLIDITY_ENABLE = "node.http.solidityEnable";
   public static final String NODE_HTTP_PBFT_PORT = "node.http.PBFTPort";
+  public static final String NODE_HTTP_RESPONSE_CACHE_SIZE = "node.http.responseCacheSize";
 
   public static final String NODE_JSONRPC_HTTP_FULLNODE_ENABLE = "node.jsonrpc.httpFullNodeEnable";
   public static final String NODE_JSONRPC_HTTP_FULLNODE_PORT = "node.jsonrpc.httpFullNodePort";
@@ -260,6 +262,8 @@ public class Constant {
 
   public static final String RATE_LIMITER_GLOBAL_IP_QPS = "rate.limiter.global.ip.qps";
 
+  public static final String RATE_LIMITER_NON_BLOCKING = "rate.limiter.nonBlocking";
+
   public static final String COMMITTEE_CHANGED_DELEGATION = "committee.changedDelegation";
 
   public static final String CRYPTO_ENGINE = "crypto.engine";
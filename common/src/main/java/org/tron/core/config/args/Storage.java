@@ -51,6 +51,7 @@ public class Storage {
   private static final String INDEX_DIRECTORY_CONFIG_KEY = "storage.index.directory";
   private static final String INDEX_SWITCH_CONFIG_KEY = "storage.index.switch";
   private static final String TRANSACTIONHISTORY_SWITCH_CONFIG_KEY = "storage.transHistory.switch";
+  private static final String TRANSACTION_INFO_INDEX_CONFIG_KEY = "storage.transHistory.infoIndex";
   private static final String ESTIMATED_TRANSACTIONS_CONFIG_KEY =
       "storage.txCache.estimatedTransactions";
   private static final String SNAPSHOT_MAX_FLUSH_COUNT_CONFIG_KEY = "storage.snapshot.maxFlushCount";
@@ -60,6 +61,7 @@ public class Storage {
   private static final String PROPERTIES_CONFIG_DEFAULT_M_KEY = "defaultM";
   private static final String PROPERTIES_CONFIG_DEFAULT_L_KEY = "defaultL";
   private static final String DEFAULT_TRANSACTIONHISTORY_SWITCH = "on";
+  private static final boolean DEFAULT_TRANSACTION_INFO_INDEX = false;
 
   private static final String NAME_CONFIG_KEY = "name";
   private static final String PATH_CONFIG_KEY = "path";
@@ -77,6 +79,7 @@ public class Storage {
   private static final String CHECKPOINT_SYNC_KEY = "storage.checkpoint.sync";
 
   private static final String CACHE_STRATEGIES = "storage.cache.strategies";
+  private static final String CACHE_OFF_HEAP = "storage.cache.offHeap";
 
   /**
    * Default values of directory
@@ -131,6 +134,14 @@ public class Storage {
   @Setter
   private String transactionHistorySwitch;
 
+  /**
+   * Whether the offset of each transaction info in the transaction results of its block is
+   * indexed by transaction id
+   */
+  @Getter
+  @Setter
+  private boolean transactionInfoIndex;
+
   @Getter
   @Setter
   private int checkpointVersion;
@@ -147,6 +158,8 @@ public class Storage {
 
   // second cache
   private final Map<CacheType, String> cacheStrategies = Maps.newConcurrentMap();
+  // off-heap cache sizes in bytes
+  private final Map<CacheType, Long> offHeapCacheSizes = Maps.newConcurrentMap();
 
   @Getter
   private final List<String> cacheDbs = CacheStrategies.CACHE_DBS;
@@ -210,6 +223,12 @@ public class Storage {
         : DEFAULT_TRANSACTIONHISTORY_SWITCH;
   }
 
+  public static boolean getTransactionInfoIndexFromConfig(final Config config) {
+    return config.hasPath(TRANSACTION_INFO_INDEX_CONFIG_KEY)
+        ? config.getBoolean(TRANSACTION_INFO_INDEX_CONFIG_KEY)
+        : DEFAULT_TRANSACTION_INFO_INDEX;
+  }
+
   public static int getCheckpointVersionFromConfig(final Config config) {
     return config.hasPath(CHECKPOINT_VERSION_KEY)
         ? config.getInt(CHECKPOINT_VERSION_KEY)
@@ -248,6 +267,21 @@ public class Storage {
     return this.cacheStrategies.getOrDefault(dbName, CacheStrategies.getCacheStrategy(dbName));
   }
 
+  /**
+   * the off-heap cache sizes of the dbs, in MB.
+   */
+  public void setOffHeapCacheSizes(Config config) {
+    if (config.hasPath(CACHE_OFF_HEAP)) {
+      config.getConfig(CACHE_OFF_HEAP).resolve().entrySet().forEach(c ->
+          this.offHeapCacheSizes.put(CacheType.valueOf(c.getKey()),
+              Long.parseLong(c.getValue().unwrapped().toString()) * 1024 * 1024));
+    }
+  }
+
+  public long getOffHeapCacheSize(CacheType dbName) {
+    return this.offHeapCacheSizes.getOrDefault(dbName, 0L);
+  }
+
   private  Property createProperty(final ConfigObject conf) {
 
     Property property = new Property();
@@ -2,13 +2,10 @@ package org.tron.consensus.dpos;
 
 import static org.tron.common.utils.WalletUtil.getAddressStringList;
 
-import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +17,6 @@ import org.tron.consensus.ConsensusDelegate;
 import org.tron.consensus.pbft.PbftManager;
 import org.tron.core.capsule.AccountCapsule;
 import org.tron.core.capsule.BlockCapsule;
-import org.tron.core.capsule.VotesCapsule;
 import org.tron.core.capsule.WitnessCapsule;
 import org.tron.core.store.DelegationStore;
 import org.tron.core.store.DynamicPropertiesStore;
@@ -162,35 +158,10 @@ public class MaintenanceManager {
   }
 
   private Map<ByteString, Long> countVote(VotesStore votesStore) {
-    final Map<ByteString, Long> countWitness = Maps.newHashMap();
-    Iterator<Entry<byte[], VotesCapsule>> dbIterator = votesStore.iterator();
-    long sizeCount = 0;
-    while (dbIterator.hasNext()) {
-      Entry<byte[], VotesCapsule> next = dbIterator.next();
-      VotesCapsule votes = next.getValue();
-      votes.getOldVotes().forEach(vote -> {
-        ByteString voteAddress = vote.getVoteAddress();
-        long voteCount = vote.getVoteCount();
-        if (countWitness.containsKey(voteAddress)) {
-          countWitness.put(voteAddress, countWitness.get(voteAddress) - voteCount);
-        } else {
-          countWitness.put(voteAddress, -voteCount);
-        }
-      });
-      votes.getNewVotes().forEach(vote -> {
-        ByteString voteAddress = vote.getVoteAddress();
-        long voteCount = vote.getVoteCount();
-        if (countWitness.containsKey(voteAddress)) {
-          countWitness.put(voteAddress, countWitness.get(voteAddress) + voteCount);
-        } else {
-          countWitness.put(voteAddress, voteCount);
-        }
-      });
-      sizeCount++;
-      votesStore.delete(next.getKey());
-    }
-    logger.info("There is {} new votes in this epoch", sizeCount);
-    return countWitness;
+    VoteTally tally = new VoteTally().count(votesStore.dataIterator());
+    votesStore.delete(tally.getKeys());
+    logger.info("There is {} new votes in this epoch", tally.size());
+    return tally.result();
   }
 
   private void tryRemoveThePowerOfTheGr() {
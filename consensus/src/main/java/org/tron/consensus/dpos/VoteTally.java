@@ -0,0 +1,150 @@
+package org.tron.consensus.dpos;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.Getter;
+import org.tron.core.capsule.VotesCapsule;
+import org.tron.protos.Protocol.Vote;
+
+/**
+ * Counts the votes of an epoch. The entries of the votes store are read in order on the calling
+ * thread and cut into ranges of consecutive entries, each parsed and summed per witness into
+ * primitive accumulators by a worker. The ranges are merged in order, so the witnesses come out
+ * in the order they first appear in the store and the result is the same map as counting the
+ * entries one by one, the sums being exact in any order.
+ */
+public class VoteTally {
+
+  private static final int RANGE = 4096;
+  private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, r -> {
+    Thread thread = new Thread(r, "vote-tally");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final int range;
+  private final int parallelism;
+  // the witnesses in the order they first appear and their counts
+  private final List<ByteString> witnesses = new ArrayList<>();
+  private final Map<ByteString, Integer> index = new HashMap<>();
+  private long[] counts = new long[64];
+  @Getter
+  private final List<byte[]> keys = new ArrayList<>();
+
+  public VoteTally() {
+    this(RANGE, THREADS);
+  }
+
+  /**
+   * @param range the entries counted by a worker at once
+   * @param parallelism the ranges counted at once
+   */
+  public VoteTally(int range, int parallelism) {
+    this.range = range;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Counts the entries of the iterator, keeping their keys to be deleted once counted.
+   */
+  public VoteTally count(Iterator<Map.Entry<byte[], byte[]>> iterator) {
+    // at most parallelism ranges in flight, so the values read ahead stay bounded
+    Deque<Future<VoteTally>> pending = new ArrayDeque<>();
+    List<byte[]> values = new ArrayList<>(range);
+    while (iterator.hasNext()) {
+      Map.Entry<byte[], byte[]> entry = iterator.next();
+      keys.add(entry.getKey());
+      values.add(entry.getValue());
+      if (values.size() == range) {
+        List<byte[]> slice = values;
+        pending.add(executor.submit(() -> countRange(slice)));
+        values = new ArrayList<>(range);
+        if (pending.size() >= parallelism) {
+          merge(join(pending.poll()));
+        }
+      }
+    }
+    while (!pending.isEmpty()) {
+      merge(join(pending.poll()));
+    }
+    if (!values.isEmpty()) {
+      merge(countRange(values));
+    }
+    return this;
+  }
+
+  public long size() {
+    return keys.size();
+  }
+
+  /**
+   * @return the count of each witness voted for or unvoted, the same map as adding the counts
+   *     entry by entry
+   */
+  public Map<ByteString, Long> result() {
+    Map<ByteString, Long> result = new HashMap<>();
+    for (int i = 0; i < witnesses.size(); i++) {
+      result.put(witnesses.get(i), counts[i]);
+    }
+    return result;
+  }
+
+  private VoteTally countRange(List<byte[]> values) {
+    VoteTally tally = new VoteTally(range, parallelism);
+    for (byte[] value : values) {
+      VotesCapsule votes = new VotesCapsule(value);
+      for (Vote vote : votes.getOldVotes()) {
+        tally.add(vote.getVoteAddress(), -vote.getVoteCount());
+      }
+      for (Vote vote : votes.getNewVotes()) {
+        tally.add(vote.getVoteAddress(), vote.getVoteCount());
+      }
+    }
+    return tally;
+  }
+
+  private void add(ByteString witness, long count) {
+    Integer i = index.get(witness);
+    if (i == null) {
+      i = witnesses.size();
+      index.put(witness, i);
+      witnesses.add(witness);
+      if (i == counts.length) {
+        counts = Arrays.copyOf(counts, i * 2);
+      }
+    }
+    counts[i] += count;
+  }
+
+  private void merge(VoteTally tally) {
+    for (int i = 0; i < tally.witnesses.size(); i++) {
+      add(tally.witnesses.get(i), tally.counts[i]);
+    }
+  }
+
+  private static VoteTally join(Future<VoteTally> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
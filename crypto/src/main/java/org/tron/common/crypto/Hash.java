@@ -23,13 +23,11 @@ import static org.tron.common.utils.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.tron.common.utils.ByteUtil.isNullOrZeroArray;
 import static org.tron.common.utils.ByteUtil.isSingleZero;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.Provider;
 import java.security.Security;
 import java.util.Arrays;
 import lombok.extern.slf4j.Slf4j;
 import org.bouncycastle.math.ec.ECPoint;
+import org.tron.common.crypto.cryptohash.Keccak256;
 import org.tron.common.crypto.jce.TronCastleProvider;
 import org.tron.common.utils.DecodeUtil;
 import org.bouncycastle.crypto.Digest;
@@ -39,10 +37,9 @@ import org.bouncycastle.crypto.digests.RIPEMD160Digest;
 public class Hash {
 
   public static final byte[] EMPTY_TRIE_HASH;
-  private static final Provider CRYPTO_PROVIDER;
-  private static final String HASH_256_ALGORITHM_NAME;
-  private static final String HASH_512_ALGORITHM_NAME;
-  private static final String ALGORITHM_NOT_FOUND = "Can't find such algorithm";
+  private static final int HASH_256_LENGTH = 32;
+  private static final ThreadLocal<Keccak256> KECCAK_256 =
+      ThreadLocal.withInitial(Keccak256::new);
   /**
    * [0x80] If a string is 0-55 bytes long, the RLP encoding consists of a single byte with value
    * 0x80 plus the length of the string followed by the string. The range of the first byte is thus
@@ -69,38 +66,20 @@ public class Hash {
 
   static {
     Security.addProvider(TronCastleProvider.getInstance());
-    CRYPTO_PROVIDER = Security.getProvider("BC");
-    HASH_256_ALGORITHM_NAME = "TRON-KECCAK-256";
-    HASH_512_ALGORITHM_NAME = "TRON-KECCAK-512";
     EMPTY_TRIE_HASH = sha3(encodeElement(EMPTY_BYTE_ARRAY));
   }
 
   public static byte[] sha3(byte[] input) {
-    MessageDigest digest;
-    try {
-      digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME,
-          CRYPTO_PROVIDER);
-      digest.update(input);
-      return digest.digest();
-    } catch (NoSuchAlgorithmException e) {
-      logger.error(ALGORITHM_NOT_FOUND, e);
-      throw new RuntimeException(e);
-    }
-
+    return sha3(input, 0, input.length);
   }
 
   public static byte[] sha3(byte[] input1, byte[] input2) {
-    MessageDigest digest;
-    try {
-      digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME,
-          CRYPTO_PROVIDER);
-      digest.update(input1, 0, input1.length);
-      digest.update(input2, 0, input2.length);
-      return digest.digest();
-    } catch (NoSuchAlgorithmException e) {
-      logger.error(ALGORITHM_NOT_FOUND, e);
-      throw new RuntimeException(e);
-    }
+    Keccak256 keccak = keccak256();
+    keccak.update(input1, 0, input1.length);
+    keccak.update(input2, 0, input2.length);
+    byte[] output = new byte[HASH_256_LENGTH];
+    keccak.digest(output, 0, HASH_256_LENGTH);
+    return output;
   }
 
   /**
@@ -112,16 +91,50 @@ public class Hash {
    * @return - keccak hash of the chunk
    */
   public static byte[] sha3(byte[] input, int start, int length) {
-    MessageDigest digest;
-    try {
-      digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME,
-          CRYPTO_PROVIDER);
-      digest.update(input, start, length);
-      return digest.digest();
-    } catch (NoSuchAlgorithmException e) {
-      logger.error(ALGORITHM_NOT_FOUND, e);
-      throw new RuntimeException(e);
+    byte[] output = new byte[HASH_256_LENGTH];
+    sha3(input, start, length, output, 0);
+    return output;
+  }
+
+  /**
+   * hashing chunk of the data into the output, without allocating
+   *
+   * @param input - data for hash
+   * @param start - start of hashing chunk
+   * @param length - length of hashing chunk
+   * @param output - buffer for the 32 bytes keccak hash of the chunk
+   * @param offset - offset of the hash in the output
+   */
+  public static void sha3(byte[] input, int start, int length, byte[] output, int offset) {
+    checkInput(input, start, length);
+    if (output == null || offset < 0 || output.length - offset < HASH_256_LENGTH) {
+      throw new IllegalArgumentException("Output buffer too short");
     }
+    Keccak256 keccak = keccak256();
+    keccak.update(input, start, length);
+    keccak.digest(output, offset, HASH_256_LENGTH);
+  }
+
+  /**
+   * The same checks as MessageDigest.update, which the hashes went through before.
+   */
+  private static void checkInput(byte[] input, int start, int length) {
+    if (input == null) {
+      throw new IllegalArgumentException("No input buffer given");
+    }
+    if (input.length - start < length) {
+      throw new IllegalArgumentException("Input buffer too short");
+    }
+  }
+
+  /**
+   * @return the keccak engine of the thread, the same the provider would create for
+   *     TRON-KECCAK-256, reset as an exception may have left it half updated
+   */
+  private static Keccak256 keccak256() {
+    Keccak256 keccak = KECCAK_256.get();
+    keccak.reset();
+    return keccak;
   }
 
   public static byte[] encodeElement(byte[] srcData) {
@@ -0,0 +1,125 @@
+package org.tron.common.crypto;
+
+import java.math.BigInteger;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * Public key recovery on secp256k1 for the signature checks, on the dedicated secp256k1
+ * implementation of Bouncy Castle rather than the generic prime curve of ECKey.CURVE. Its field
+ * arithmetic works on fixed 32-bit limbs instead of BigIntegers, its generator is configured as
+ * a base point so the window tables of G and of its endomorphism image are computed once and
+ * shared, and u1 * G + u2 * R is computed in one interleaved pass with both scalars split in
+ * halves by the GLV endomorphism. The recovered key is the same as ECKey's, the points being the
+ * same.
+ */
+public final class Secp256k1Recovery {
+
+  private static final X9ECParameters PARAMS = CustomNamedCurves.getByName("secp256k1");
+  private static final ECCurve CURVE = PARAMS.getCurve();
+  private static final ECPoint G = PARAMS.getG();
+  private static final BigInteger N = PARAMS.getN();
+  private static final BigInteger P = CURVE.getField().getCharacteristic();
+  private static final int FIELD_BYTES = 32;
+
+  private Secp256k1Recovery() {
+  }
+
+  /**
+   * @param recId which possible key to recover, checked by the caller
+   * @param r the r of the signature, not negative
+   * @param s the s of the signature, not negative
+   * @param messageHash hash of the data that was signed
+   * @return the uncompressed public key, null if x of R is out of the field
+   * @throws IllegalArgumentException if x of R is not on the curve, as ECKey
+   */
+  public static byte[] recoverPubBytes(int recId, BigInteger r, BigInteger s,
+      byte[] messageHash) {
+    BigInteger x = r.add(BigInteger.valueOf((long) recId / 2).multiply(N));
+    if (x.compareTo(P) >= 0) {
+      return null;
+    }
+    ECPoint point = decompress(x, (recId & 1) == 1);
+    // the cofactor of secp256k1 is 1, every point of the curve has order n so nR is always
+    // the infinity and ECKey's check of it is not repeated
+    BigInteger e = new BigInteger(1, messageHash);
+    BigInteger eInv = BigInteger.ZERO.subtract(e).mod(N);
+    BigInteger rInv = r.modInverse(N);
+    BigInteger srInv = rInv.multiply(s).mod(N);
+    BigInteger eInvrInv = rInv.multiply(eInv).mod(N);
+    return ECAlgorithms.sumOfTwoMultiplies(G, eInvrInv, point, srInv).getEncoded(false);
+  }
+
+  /**
+   * Recovers the keys of many signatures at once. The inverses of r are computed with one
+   * modular inversion for the batch (Montgomery's trick), and the keys are converted to affine
+   * coordinates together, with one field inversion for the batch instead of one per key.
+   *
+   * @param rs the r of each signature, a signature with a null r is skipped
+   * @return the uncompressed public key of each signature, null where recoverPubBytes would
+   *     return null or throw
+   */
+  public static byte[][] recoverPubBytes(int[] recIds, BigInteger[] rs, BigInteger[] ss,
+      byte[][] messageHashes) {
+    int count = recIds.length;
+    ECPoint[] points = new ECPoint[count];
+    BigInteger[] prefixes = new BigInteger[count];
+    BigInteger product = BigInteger.ONE;
+    for (int i = 0; i < count; i++) {
+      if (rs[i] == null) {
+        continue;
+      }
+      BigInteger x = rs[i].add(BigInteger.valueOf((long) recIds[i] / 2).multiply(N));
+      if (x.compareTo(P) >= 0 || rs[i].mod(N).signum() == 0) {
+        continue;
+      }
+      try {
+        points[i] = decompress(x, (recIds[i] & 1) == 1);
+      } catch (IllegalArgumentException e) {
+        continue;
+      }
+      prefixes[i] = product;
+      product = product.multiply(rs[i]).mod(N);
+    }
+
+    // walk back from the inverse of the product of all the r to the inverse of each
+    BigInteger inverse = product.modInverse(N);
+    ECPoint[] keys = new ECPoint[count];
+    for (int i = count - 1; i >= 0; i--) {
+      if (points[i] == null) {
+        continue;
+      }
+      BigInteger rInv = inverse.multiply(prefixes[i]).mod(N);
+      inverse = inverse.multiply(rs[i]).mod(N);
+      BigInteger eInv = BigInteger.ZERO.subtract(new BigInteger(1, messageHashes[i])).mod(N);
+      BigInteger srInv = rInv.multiply(ss[i]).mod(N);
+      BigInteger eInvrInv = rInv.multiply(eInv).mod(N);
+      try {
+        keys[i] = ECAlgorithms.sumOfTwoMultiplies(G, eInvrInv, points[i], srInv);
+      } catch (IllegalStateException e) {
+        keys[i] = null;
+      }
+    }
+
+    CURVE.normalizeAll(keys);
+    byte[][] encoded = new byte[count][];
+    for (int i = 0; i < count; i++) {
+      if (keys[i] != null) {
+        encoded[i] = keys[i].getEncoded(false);
+      }
+    }
+    return encoded;
+  }
+
+  private static ECPoint decompress(BigInteger x, boolean yBit) {
+    byte[] encoded = new byte[FIELD_BYTES + 1];
+    encoded[0] = (byte) (yBit ? 0x03 : 0x02);
+    byte[] bytes = x.toByteArray();
+    int length = Math.min(bytes.length, FIELD_BYTES);
+    System.arraycopy(bytes, bytes.length - length, encoded, encoded.length - length, length);
+    return CURVE.decodePoint(encoded);
+  }
+}
@@ -104,6 +104,8 @@ import org.tron.common.crypto.Hash;
 import org.tron.common.crypto.SignInterface;
 import org.tron.common.crypto.SignUtils;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.runtime.ProgramResult;
 import org.tron.common.runtime.vm.LogInfo;
 import org.tron.common.utils.ByteArray;
@@ -192,6 +194,7 @@ import org.tron.core.store.MarketPairPriceToOrderStore;
 import org.tron.core.store.MarketPairToPriceStore;
 import org.tron.core.store.StoreFactory;
 import org.tron.core.vm.program.Program;
+import org.tron.core.vm.repository.EstimationRepository;
 import org.tron.core.zen.ShieldedTRC20ParametersBuilder;
 import org.tron.core.zen.ShieldedTRC20ParametersBuilder.ShieldedTRC20ParametersType;
 import org.tron.core.zen.ZenTransactionBuilder;
@@ -2879,6 +2882,22 @@ public class Wallet {
       throw new ContractValidateException("this node does not support constant, "
           + "so estimate energy cannot work");
     }
+    // the executions of the estimate read the state once, through the same repository
+    EstimationRepository estimation = new EstimationRepository(StoreFactory.getInstance());
+    try {
+      return estimateEnergy(triggerSmartContract, txCap, txExtBuilder, txRetBuilder,
+          estimateBuilder, estimation);
+    } finally {
+      Metrics.histogramObserve(MetricKeys.Histogram.ESTIMATE_ENERGY_EXECUTIONS,
+          estimation.getExecutions());
+    }
+  }
+
+  private Transaction estimateEnergy(TriggerSmartContract triggerSmartContract,
+      TransactionCapsule txCap, TransactionExtention.Builder txExtBuilder,
+      Return.Builder txRetBuilder, GrpcAPI.EstimateEnergyMessage.Builder estimateBuilder,
+      EstimationRepository estimation)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
     int retry = Args.getInstance().estimateEnergyMaxRetry;
 
     DynamicPropertiesStore dps = chainBaseManager.getDynamicPropertiesStore();
@@ -2889,7 +2908,7 @@ public class Wallet {
     while (true) {
       try {
         transaction = cleanContextAndTriggerConstantContract(
-            triggerSmartContract, txCap, txExtBuilder, txRetBuilder, high);
+            triggerSmartContract, txCap, txExtBuilder, txRetBuilder, high, estimation);
         break;
       } catch (Program.OutOfTimeException e) {
         retry--;
@@ -2913,7 +2932,7 @@ public class Wallet {
       while (true) {
         try {
           transaction = cleanContextAndTriggerConstantContract(
-              triggerSmartContract, txCap, txExtBuilder, txRetBuilder, twoTimes);
+              triggerSmartContract, txCap, txExtBuilder, txRetBuilder, twoTimes, estimation);
 
           if (transaction.getRet(0).getRet().equals(code.FAILED)) {
             low = twoTimes;
@@ -2937,7 +2956,7 @@ public class Wallet {
       while (true) {
         try {
           transaction = cleanContextAndTriggerConstantContract(
-              triggerSmartContract, txCap, txExtBuilder, txRetBuilder, mid);
+              triggerSmartContract, txCap, txExtBuilder, txRetBuilder, mid, estimation);
           break;
         } catch (Program.OutOfTimeException e) {
           retry--;
@@ -2954,9 +2973,12 @@ public class Wallet {
       }
     }
 
-    // Retry the binary search result
-    transaction = cleanContextAndTriggerConstantContract(
-        triggerSmartContract, txCap, txExtBuilder, txRetBuilder, high);
+    // Retry the binary search result, unless the last execution already ran with it
+    if (txCap.getFeeLimit() != high
+        || transaction.getRet(0).getRet().equals(code.FAILED)) {
+      transaction = cleanContextAndTriggerConstantContract(
+          triggerSmartContract, txCap, txExtBuilder, txRetBuilder, high, estimation);
+    }
     // Setting estimating result
     estimateBuilder.setResult(txRetBuilder);
     if (transaction.getRet(0).getRet().equals(code.SUCESS)) {
@@ -2970,7 +2992,8 @@ public class Wallet {
 
   private Transaction cleanContextAndTriggerConstantContract(
       TriggerSmartContract triggerSmartContract, TransactionCapsule txCap,
-      Builder txExtBuilder, Return.Builder txRetBuilder, long feeLimit)
+      Builder txExtBuilder, Return.Builder txRetBuilder, long feeLimit,
+      EstimationRepository estimation)
       throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
     Transaction transaction;
     txCap.setFeeLimit(feeLimit);
@@ -2978,7 +3001,7 @@ public class Wallet {
     txExtBuilder.clear();
     txRetBuilder.clear();
     transaction = triggerConstantContract(
-        triggerSmartContract, txCap, txExtBuilder, txRetBuilder, true);
+        triggerSmartContract, txCap, txExtBuilder, txRetBuilder, true, estimation);
     return transaction;
   }
 
@@ -2991,6 +3014,14 @@ public class Wallet {
   public Transaction triggerConstantContract(TriggerSmartContract triggerSmartContract,
       TransactionCapsule trxCap, Builder builder, Return.Builder retBuilder, boolean isEstimating)
       throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    return triggerConstantContract(triggerSmartContract, trxCap, builder, retBuilder,
+        isEstimating, null);
+  }
+
+  private Transaction triggerConstantContract(TriggerSmartContract triggerSmartContract,
+      TransactionCapsule trxCap, Builder builder, Return.Builder retBuilder, boolean isEstimating,
+      EstimationRepository estimation)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
 
     if (triggerSmartContract.getContractAddress().isEmpty()) { // deploy contract
       CreateSmartContract.Builder deployBuilder = CreateSmartContract.newBuilder();
@@ -3015,12 +3046,19 @@ public class Wallet {
         throw new ContractValidateException("Smart contract is not exist.");
       }
     }
-    return callConstantContract(trxCap, builder, retBuilder, isEstimating);
+    return callConstantContract(trxCap, builder, retBuilder, isEstimating, estimation);
   }
 
   public Transaction callConstantContract(TransactionCapsule trxCap,
       Builder builder, Return.Builder retBuilder, boolean isEstimating)
       throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    return callConstantContract(trxCap, builder, retBuilder, isEstimating, null);
+  }
+
+  private Transaction callConstantContract(TransactionCapsule trxCap,
+      Builder builder, Return.Builder retBuilder, boolean isEstimating,
+      EstimationRepository estimation)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
 
     if (!Args.getInstance().isSupportConstant()) {
       throw new ContractValidateException("this node does not support constant");
@@ -3039,6 +3077,7 @@ public class Wallet {
     TransactionContext context = new TransactionContext(headBlockCapsule, trxCap,
         StoreFactory.getInstance(), true, false);
     VMActuator vmActuator = new VMActuator(true);
+    vmActuator.setEstimationRepository(estimation);
 
     vmActuator.validate(context);
     vmActuator.execute(context);
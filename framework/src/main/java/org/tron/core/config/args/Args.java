@@ -148,6 +148,7 @@ public class Args extends CommonParameter {
     PARAMETER.dnsTreeUrls = new ArrayList<>();
     PARAMETER.dnsPublishConfig = null;
     PARAMETER.syncFetchBatchNum = 2000;
+    PARAMETER.syncPreValidateDepth = 32;
     PARAMETER.rpcPort = 0;
     PARAMETER.rpcOnSolidityPort = 0;
     PARAMETER.rpcOnPBFTPort = 0;
@@ -197,6 +198,7 @@ public class Args extends CommonParameter {
     PARAMETER.changedDelegation = 0;
     PARAMETER.fullNodeHttpEnable = true;
     PARAMETER.solidityNodeHttpEnable = true;
+    PARAMETER.httpResponseCacheSize = 64L * 1024 * 1024;
     PARAMETER.jsonRpcHttpFullNodeEnable = false;
     PARAMETER.jsonRpcHttpSolidityNodeEnable = false;
     PARAMETER.jsonRpcHttpPBFTNodeEnable = false;
@@ -230,6 +232,7 @@ public class Args extends CommonParameter {
     PARAMETER.memoFee = 0;
     PARAMETER.rateLimiterGlobalQps = 50000;
     PARAMETER.rateLimiterGlobalIpQps = 10000;
+    PARAMETER.rateLimiterNonBlocking = false;
     PARAMETER.p2pDisable = false;
     PARAMETER.dynamicConfigEnable = false;
     PARAMETER.dynamicConfigCheckInterval = 600;
@@ -457,6 +460,10 @@ public class Args extends CommonParameter {
       PARAMETER.solidityNodeHttpEnable = config.getBoolean(Constant.NODE_HTTP_SOLIDITY_ENABLE);
     }
 
+    if (config.hasPath(Constant.NODE_HTTP_RESPONSE_CACHE_SIZE)) {
+      PARAMETER.httpResponseCacheSize = config.getBytes(Constant.NODE_HTTP_RESPONSE_CACHE_SIZE);
+    }
+
     if (config.hasPath(Constant.NODE_JSONRPC_HTTP_FULLNODE_ENABLE)) {
       PARAMETER.jsonRpcHttpFullNodeEnable =
           config.getBoolean(Constant.NODE_JSONRPC_HTTP_FULLNODE_ENABLE);
@@ -517,6 +524,8 @@ public class Args extends CommonParameter {
             Optional.ofNullable(PARAMETER.storageTransactionHistorySwitch)
                 .filter(StringUtils::isNotEmpty)
                 .orElse(Storage.getTransactionHistorySwitchFromConfig(config)));
+    PARAMETER.storage
+        .setTransactionInfoIndex(Storage.getTransactionInfoIndexFromConfig(config));
 
     PARAMETER.storage
         .setCheckpointVersion(Storage.getCheckpointVersionFromConfig(config));
@@ -530,6 +539,7 @@ public class Args extends CommonParameter {
     PARAMETER.storage.setDefaultDbOptions(config);
     PARAMETER.storage.setPropertyMapFromConfig(config);
     PARAMETER.storage.setCacheStrategies(config);
+    PARAMETER.storage.setOffHeapCacheSizes(config);
 
     PARAMETER.seedNode = new SeedNode();
     PARAMETER.seedNode.setAddressList(loadSeeds(config));
@@ -672,6 +682,12 @@ public class Args extends CommonParameter {
       PARAMETER.syncFetchBatchNum = 100;
     }
 
+    PARAMETER.syncPreValidateDepth = config.hasPath(Constant.NODE_SYNC_PRE_VALIDATE_DEPTH)
+        ? config.getInt(Constant.NODE_SYNC_PRE_VALIDATE_DEPTH) : 32;
+    if (PARAMETER.syncPreValidateDepth < 0) {
+      PARAMETER.syncPreValidateDepth = 0;
+    }
+
     PARAMETER.rpcPort =
         config.hasPath(Constant.NODE_RPC_PORT)
             ? config.getInt(Constant.NODE_RPC_PORT) : 50051;
@@ -974,6 +990,10 @@ public class Args extends CommonParameter {
         config.hasPath(Constant.RATE_LIMITER_GLOBAL_IP_QPS) ? config
             .getInt(Constant.RATE_LIMITER_GLOBAL_IP_QPS) : 10000;
 
+    PARAMETER.rateLimiterNonBlocking =
+        config.hasPath(Constant.RATE_LIMITER_NON_BLOCKING) && config
+            .getBoolean(Constant.RATE_LIMITER_NON_BLOCKING);
+
     PARAMETER.rateLimiterInitialization = getRateLimiterFromConfig(config);
 
     PARAMETER.changedDelegation =
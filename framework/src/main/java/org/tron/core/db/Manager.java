@@ -15,7 +15,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -32,10 +31,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import lombok.Getter;
@@ -70,7 +67,6 @@ import org.tron.common.prometheus.MetricLabels;
 import org.tron.common.prometheus.Metrics;
 import org.tron.common.runtime.RuntimeImpl;
 import org.tron.common.utils.ByteArray;
-import org.tron.common.utils.JsonUtil;
 import org.tron.common.utils.Pair;
 import org.tron.common.utils.SessionOptional;
 import org.tron.common.utils.Sha256Hash;
@@ -174,6 +170,8 @@ public class Manager {
   private static final int TX_ID_CACHE_SIZE = 100_000;
   private static final int SLEEP_FOR_WAIT_LOCK = 10;
   private static final int NO_BLOCK_WAITING_LOCK = 0;
+  // recent-transaction keys checked for json entries with each block
+  private static final int RECENT_TRANSACTION_MIGRATE_KEYS = 64;
   private final int shieldedTransInPendingMaxCounts =
       Args.getInstance().getShieldedTransInPendingMaxCounts();
   @Getter
@@ -226,15 +224,13 @@ public class Manager {
   @Autowired
   @Getter
   private ChainBaseManager chainBaseManager;
-  // transactions cache
-  private BlockingQueue<TransactionCapsule> pendingTransactions;
+  // transactions cache, pending and waiting to be re-pushed
+  private TransactionPool transactionPool;
   @Getter
   private AtomicInteger shieldedTransInPendingCounts = new AtomicInteger(0);
   // transactions popped
   private List<TransactionCapsule> poppedTransactions =
       Collections.synchronizedList(Lists.newArrayList());
-  // the capacity is equal to Integer.MAX_VALUE default
-  private BlockingQueue<TransactionCapsule> rePushTransactions;
   private BlockingQueue<TriggerCapsule> triggerCapsuleQueue;
   // log filter
   private boolean isRunFilterProcessThread = true;
@@ -261,7 +257,7 @@ public class Manager {
         while (isRunRePushThread) {
           TransactionCapsule tx = null;
           try {
-            tx = getRePushTransactions().peek();
+            tx = transactionPool.peekRePush();
             if (tx != null) {
               this.rePush(tx);
             } else {
@@ -277,9 +273,8 @@ public class Manager {
                   MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_ERROR);
             }
           } finally {
-            if (tx != null && getRePushTransactions().remove(tx)) {
-              Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
-                  MetricLabels.Gauge.QUEUE_REPUSH);
+            if (tx != null) {
+              transactionPool.removeRePush(tx);
             }
           }
         }
@@ -319,9 +314,6 @@ public class Manager {
         }
       };
 
-  private Comparator downComparator = (Comparator<TransactionCapsule>) (o1, o2) -> Long
-      .compare(o2.getOrder(), o1.getOrder());
-
   public WitnessStore getWitnessStore() {
     return chainBaseManager.getWitnessStore();
   }
@@ -415,18 +407,14 @@ public class Manager {
     return chainBaseManager.getBlockIndexStore();
   }
 
-  public BlockingQueue<TransactionCapsule> getPendingTransactions() {
-    return this.pendingTransactions;
+  public TransactionPool getTransactionPool() {
+    return this.transactionPool;
   }
 
   public List<TransactionCapsule> getPoppedTransactions() {
     return this.poppedTransactions;
   }
 
-  public BlockingQueue<TransactionCapsule> getRePushTransactions() {
-    return rePushTransactions;
-  }
-
   public void stopRePushThread() {
     isRunRePushThread = false;
   }
@@ -455,13 +443,7 @@ public class Manager {
     this.setMerkleContainer(
         merkleContainer.createInstance(chainBaseManager.getMerkleTreeStore(),
             chainBaseManager.getMerkleTreeIndexStore()));
-    if (Args.getInstance().isOpenTransactionSort()) {
-      this.pendingTransactions = new PriorityBlockingQueue(2000, downComparator);
-      this.rePushTransactions = new PriorityBlockingQueue<>(2000, downComparator);
-    } else {
-      this.pendingTransactions = new LinkedBlockingQueue<>();
-      this.rePushTransactions = new LinkedBlockingQueue<>();
-    }
+    this.transactionPool = new TransactionPool(Args.getInstance().isOpenTransactionSort());
     this.triggerCapsuleQueue = new LinkedBlockingQueue<>();
     this.filterCapsuleQueue = new LinkedBlockingQueue<>();
     chainBaseManager.setMerkleContainer(getMerkleContainer());
@@ -862,9 +844,7 @@ public class Manager {
           try (ISession tmpSession = revokingStore.buildSession()) {
             processTransaction(trx, null);
             trx.setTrxTrace(null);
-            pendingTransactions.add(trx);
-            Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, 1,
-                    MetricLabels.Gauge.QUEUE_PENDING);
+            transactionPool.add(trx);
             tmpSession.merge();
           }
           if (isShieldedTransaction(trx.getInstance())) {
@@ -1144,28 +1124,24 @@ public class Manager {
 
   public List<TransactionCapsule> getVerifyTxs(BlockCapsule block) {
 
-    if (pendingTransactions.size() == 0) {
+    if (transactionPool.getPendingSize() == 0) {
       return block.getTransactions();
     }
 
     List<TransactionCapsule> txs = new ArrayList<>();
-    Set<String> txIds = new HashSet<>();
     Set<String> multiAddresses = new HashSet<>();
 
-    pendingTransactions.forEach(capsule -> {
-      String txId = Hex.toHexString(capsule.getTransactionId().getBytes());
+    transactionPool.getPending().forEach(capsule -> {
       if (isMultiSignTransaction(capsule.getInstance())) {
         String address = Hex.toHexString(capsule.getOwnerAddress());
         multiAddresses.add(address);
-      } else {
-        txIds.add(txId);
       }
     });
 
     block.getTransactions().forEach(capsule -> {
       String address = Hex.toHexString(capsule.getOwnerAddress());
-      String txId = Hex.toHexString(capsule.getTransactionId().getBytes());
-      if (multiAddresses.contains(address) || !txIds.contains(txId)) {
+      if (multiAddresses.contains(address)
+          || !isPendingSingleSign(capsule.getTransactionId())) {
         txs.add(capsule);
       } else {
         capsule.setVerified(true);
@@ -1201,7 +1177,8 @@ public class Manager {
         List<TransactionCapsule> txs = getVerifyTxs(block);
         logger.info("Block num: {}, re-push-size: {}, pending-size: {}, "
                         + "block-tx-size: {}, verify-tx-size: {}",
-                block.getNum(), rePushTransactions.size(), pendingTransactions.size(),
+                block.getNum(), transactionPool.getRePushSize(),
+                transactionPool.getPendingSize(),
                 block.getTransactions().size(), txs.size());
 
         if (CommonParameter.getInstance().getShutdownBlockTime() != null
@@ -1213,9 +1190,9 @@ public class Manager {
         try (PendingManager pm = new PendingManager(this)) {
 
           if (!block.generatedByMyself) {
-            if (!block.calcMerkleRoot().equals(block.getMerkleRoot())) {
+            if (!block.getCalculatedMerkleRoot().equals(block.getMerkleRoot())) {
               logger.warn("Num: {}, the merkle root doesn't match, expect is {} , actual is {}.",
-                  block.getNum(), block.getMerkleRoot(), block.calcMerkleRoot());
+                  block.getNum(), block.getMerkleRoot(), block.getCalculatedMerkleRoot());
               throw new BadBlockException(CALC_MERKLE_ROOT_FAILED,
                       String.format("The merkle hash is not validated for %d", block.getNum()));
             }
@@ -1313,14 +1290,11 @@ public class Manager {
         //clear ownerAddressSet
         if (CollectionUtils.isNotEmpty(ownerAddressSet)) {
           Set<String> result = new HashSet<>();
-          for (TransactionCapsule transactionCapsule : rePushTransactions) {
-            filterOwnerAddress(transactionCapsule, result);
-          }
           for (TransactionCapsule transactionCapsule : pushTransactionQueue) {
             filterOwnerAddress(transactionCapsule, result);
           }
-          ownerAddressSet.clear();
-          ownerAddressSet.addAll(result);
+          ownerAddressSet.removeIf(owner -> !result.contains(owner)
+              && !transactionPool.containsOwner(owner));
         }
 
         long cost = System.currentTimeMillis() - start;
@@ -1536,41 +1510,11 @@ public class Manager {
     AtomicInteger shieldedTransCounts = new AtomicInteger(0);
     List<TransactionCapsule> toBePacked = new ArrayList<>();
     long currentSize = blockCapsule.getInstance().getSerializedSize();
-    boolean isSort = Args.getInstance().isOpenTransactionSort();
-    while (pendingTransactions.size() > 0 || rePushTransactions.size() > 0) {
-      boolean fromPending = false;
-      TransactionCapsule trx;
-      if (pendingTransactions.size() > 0) {
-        trx = pendingTransactions.peek();
-        if (isSort) {
-          TransactionCapsule trxRepush = rePushTransactions.peek();
-          if (trxRepush == null || trx.getOrder() >= trxRepush.getOrder()) {
-            fromPending = true;
-          } else {
-            trx = rePushTransactions.poll();
-            Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
-                MetricLabels.Gauge.QUEUE_REPUSH);
-          }
-        } else {
-          fromPending = true;
-        }
-      } else {
-        trx = rePushTransactions.poll();
-        Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
-            MetricLabels.Gauge.QUEUE_REPUSH);
-      }
-
-      if (fromPending) {
-        pendingTransactions.poll();
-        Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
-                MetricLabels.Gauge.QUEUE_PENDING);
-      }
-
+    while (!transactionPool.isEmpty()) {
+      TransactionCapsule trx = transactionPool.poll();
       if (trx == null) {
         //  transaction may be removed by rePushLoop.
-        logger.warn("Trx is null, fromPending: {}, pending: {}, repush: {}.",
-                fromPending, pendingTransactions.size(), rePushTransactions.size());
-        continue;
+        break;
       }
       if (System.currentTimeMillis() > timeout) {
         logger.warn("Processing transaction time exceeds the producing time {}.",
@@ -1631,11 +1575,17 @@ public class Manager {
     logger.info("Generate block {} success, trxs:{}, pendingCount: {}, rePushCount: {},"
                     + " postponedCount: {}, blockSize: {} B",
             capsule.getNum(), capsule.getTransactions().size(),
-            pendingTransactions.size(), rePushTransactions.size(), postponedTrxCount,
+            transactionPool.getPendingSize(), transactionPool.getRePushSize(), postponedTrxCount,
             capsule.getSerializedSize());
     return capsule;
   }
 
+  private boolean isPendingSingleSign(Sha256Hash txId) {
+    TransactionCapsule pending = transactionPool.get(txId);
+    return pending != null && !isMultiSignTransaction(pending.getInstance())
+        && transactionPool.isPending(txId);
+  }
+
   private void filterOwnerAddress(TransactionCapsule transactionCapsule, Set<String> result) {
     byte[] owner = transactionCapsule.getOwnerAddress();
     String ownerAddress = ByteArray.toHexString(owner);
@@ -1872,14 +1822,14 @@ public class Manager {
   }
 
   public void updateRecentTransaction(BlockCapsule block) {
-    List list = new ArrayList<>();
+    List<byte[]> list = new ArrayList<>(block.getTransactions().size());
     block.getTransactions().forEach(capsule -> {
-      list.add(capsule.getTransactionId().toString());
+      list.add(capsule.getTransactionId().getBytes());
     });
-    RecentTransactionItem item = new RecentTransactionItem(block.getNum(), list);
     chainBaseManager.getRecentTransactionStore().put(
             ByteArray.subArray(ByteArray.fromLong(block.getNum()), 6, 8),
-            new BytesCapsule(JsonUtil.obj2Json(item).getBytes()));
+            new BytesCapsule(RecentTransactionItem.encode(block.getNum(), list)));
+    chainBaseManager.getRecentTransactionStore().migrate(RECENT_TRANSACTION_MIGRATE_KEYS);
   }
 
   public void updateFork(BlockCapsule block) {
@@ -1936,8 +1886,7 @@ public class Manager {
   }
 
   public boolean isTooManyPending() {
-    return getPendingTransactions().size() + getRePushTransactions().size()
-        > maxTransactionPendingSize;
+    return transactionPool.size() > maxTransactionPendingSize;
   }
 
   private void preValidateTransactionSign(List<TransactionCapsule> txs)
@@ -2324,40 +2273,15 @@ public class Manager {
   }
 
   public TransactionCapsule getTxFromPending(String txId) {
-    AtomicReference<TransactionCapsule> transactionCapsule = new AtomicReference<>();
-    Sha256Hash txHash = Sha256Hash.wrap(ByteArray.fromHexString(txId));
-    pendingTransactions.forEach(tx -> {
-      if (tx.getTransactionId().equals(txHash)) {
-        transactionCapsule.set(tx);
-        return;
-      }
-    });
-    if (transactionCapsule.get() != null) {
-      return transactionCapsule.get();
-    }
-    rePushTransactions.forEach(tx -> {
-      if (tx.getTransactionId().equals(txHash)) {
-        transactionCapsule.set(tx);
-        return;
-      }
-    });
-    return transactionCapsule.get();
+    return transactionPool.get(Sha256Hash.wrap(ByteArray.fromHexString(txId)));
   }
 
   public Collection<String> getTxListFromPending() {
-    Set<String> result = new HashSet<>();
-    pendingTransactions.forEach(tx -> {
-      result.add(tx.getTransactionId().toString());
-    });
-    rePushTransactions.forEach(tx -> {
-      result.add(tx.getTransactionId().toString());
-    });
-    return result;
+    return transactionPool.getTxIds();
   }
 
   public long getPendingSize() {
-    long value = getPendingTransactions().size() + getRePushTransactions().size()
-        + getPoppedTransactions().size();
+    long value = transactionPool.size() + getPoppedTransactions().size();
     return value;
   }
 
@@ -2391,8 +2315,7 @@ public class Manager {
       for (Map.Entry<byte[], BytesCapsule> entry :
           chainBaseManager.getRecentTransactionStore()) {
         byte[] data = entry.getValue().getData();
-        RecentTransactionItem trx =
-            JsonUtil.json2Obj(new String(data), RecentTransactionItem.class);
+        RecentTransactionItem trx = RecentTransactionItem.decode(data);
         if (trx == null) {
           continue;
         }
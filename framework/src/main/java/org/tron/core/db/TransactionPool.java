@@ -0,0 +1,285 @@
+package org.tron.core.db;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.TransactionCapsule;
+
+/**
+ * Transactions waiting to be packed, in two lanes: the pending lane holds the ones applied
+ * on top of the head block, the repush lane the ones to be applied again after a block.
+ *
+ * <p>Each lane is kept in segments, newest first, and the first segment is the pending
+ * lane. Moving the pending lane into the repush lane is done by opening a new first
+ * segment, older segments are merged smaller into larger once there are too many of them.
+ * Lookups by transaction id and by owner are served by indexes over both lanes, and
+ * expiry walks timestamp buckets instead of the whole pool.
+ */
+public class TransactionPool {
+
+  private static final int MAX_REPUSH_SEGMENTS = 4;
+  private static final long EXPIRE_BUCKET_MS = 1_000L;
+
+  private final boolean sort;
+  private final Comparator<Entry> comparator;
+  private final Map<Sha256Hash, Entry> index = new ConcurrentHashMap<>();
+  private final Map<String, Integer> owners = new ConcurrentHashMap<>();
+  private final NavigableMap<Long, Set<Entry>> expireBuckets = new TreeMap<>();
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private long sequence;
+  private volatile int pendingSize;
+  private volatile int rePushSize;
+
+  /**
+   * @param sort order each lane by {@link TransactionCapsule#getOrder()}, highest first,
+   *     instead of arrival order.
+   */
+  public TransactionPool(boolean sort) {
+    this.sort = sort;
+    Comparator<Entry> bySequence = Comparator.comparingLong(e -> e.sequence);
+    this.comparator = sort
+        ? ((Comparator<Entry>) (o1, o2) -> Long.compare(o2.order, o1.order))
+            .thenComparing(bySequence)
+        : bySequence;
+    segments.addFirst(new Segment());
+  }
+
+  /**
+   * Adds a transaction to the pending lane. A transaction waiting in the repush lane is
+   * moved to the end of the pending lane.
+   *
+   * @return false if the transaction is already in the pending lane.
+   */
+  public synchronized boolean add(TransactionCapsule tx) {
+    Entry entry = index.get(tx.getTransactionId());
+    if (entry != null) {
+      if (entry.segment == segments.getFirst()) {
+        return false;
+      }
+      unlink(entry);
+    }
+    link(new Entry(tx, ++sequence), segments.getFirst());
+    updateGauges();
+    return true;
+  }
+
+  /**
+   * Takes the next transaction to pack. With sorting on, the higher order of the two lane
+   * heads wins and the pending lane wins ties, otherwise the pending lane is drained first.
+   */
+  public synchronized TransactionCapsule poll() {
+    Segment pending = segments.getFirst();
+    Entry head = pending.entries.isEmpty() ? null : pending.entries.first();
+    Entry rePush = firstRePush();
+    Entry entry;
+    if (head != null && (rePush == null || !sort || head.order >= rePush.order)) {
+      entry = head;
+    } else {
+      entry = rePush;
+    }
+    if (entry == null) {
+      return null;
+    }
+    unlink(entry);
+    updateGauges();
+    return entry.tx;
+  }
+
+  public synchronized TransactionCapsule peekRePush() {
+    Entry entry = firstRePush();
+    return entry == null ? null : entry.tx;
+  }
+
+  /**
+   * @return true if the transaction was waiting in the repush lane and has been removed.
+   */
+  public synchronized boolean removeRePush(TransactionCapsule tx) {
+    Entry entry = index.get(tx.getTransactionId());
+    if (entry == null || entry.segment == segments.getFirst()) {
+      return false;
+    }
+    unlink(entry);
+    updateGauges();
+    return true;
+  }
+
+  /**
+   * Moves the pending lane into the repush lane, then drops the transactions received
+   * before {@code now - timeout}.
+   *
+   * @return the dropped transactions.
+   */
+  public synchronized List<TransactionCapsule> rotate(long now, long timeout) {
+    if (!segments.getFirst().entries.isEmpty()) {
+      segments.addFirst(new Segment());
+    }
+    List<TransactionCapsule> expired = expire(now - timeout);
+    compact();
+    updateGauges();
+    return expired;
+  }
+
+  public TransactionCapsule get(Sha256Hash txId) {
+    Entry entry = index.get(txId);
+    return entry == null ? null : entry.tx;
+  }
+
+  public synchronized boolean isPending(Sha256Hash txId) {
+    Entry entry = index.get(txId);
+    return entry != null && entry.segment == segments.getFirst();
+  }
+
+  /**
+   * @return a copy of the pending lane, in packing order.
+   */
+  public synchronized List<TransactionCapsule> getPending() {
+    return segments.getFirst().entries.stream().map(e -> e.tx).collect(Collectors.toList());
+  }
+
+  public Set<String> getTxIds() {
+    return index.keySet().stream().map(Sha256Hash::toString)
+        .collect(Collectors.toCollection(HashSet::new));
+  }
+
+  /**
+   * @param owner hex encoded owner address.
+   */
+  public boolean containsOwner(String owner) {
+    return owners.containsKey(owner);
+  }
+
+  public int getPendingSize() {
+    return pendingSize;
+  }
+
+  public int getRePushSize() {
+    return rePushSize;
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  public boolean isEmpty() {
+    return index.isEmpty();
+  }
+
+  private Entry firstRePush() {
+    Entry first = null;
+    Segment pending = segments.getFirst();
+    for (Segment segment : segments) {
+      if (segment == pending || segment.entries.isEmpty()) {
+        continue;
+      }
+      Entry head = segment.entries.first();
+      if (first == null || comparator.compare(head, first) < 0) {
+        first = head;
+      }
+    }
+    return first;
+  }
+
+  private List<TransactionCapsule> expire(long deadline) {
+    List<Entry> candidates = new ArrayList<>();
+    for (Set<Entry> bucket : expireBuckets.headMap(bucketOf(deadline), true).values()) {
+      for (Entry entry : bucket) {
+        if (entry.time < deadline) {
+          candidates.add(entry);
+        }
+      }
+    }
+    List<TransactionCapsule> expired = new ArrayList<>(candidates.size());
+    for (Entry entry : candidates) {
+      unlink(entry);
+      expired.add(entry.tx);
+    }
+    return expired;
+  }
+
+  private void compact() {
+    Segment pending = segments.getFirst();
+    segments.removeIf(s -> s != pending && s.entries.isEmpty());
+    while (segments.size() > MAX_REPUSH_SEGMENTS + 1) {
+      Segment older = segments.pollLast();
+      Segment newer = segments.pollLast();
+      Segment into = older.entries.size() >= newer.entries.size() ? older : newer;
+      Segment from = into == older ? newer : older;
+      for (Entry entry : from.entries) {
+        entry.segment = into;
+      }
+      into.entries.addAll(from.entries);
+      segments.addLast(into);
+    }
+  }
+
+  private void link(Entry entry, Segment segment) {
+    entry.segment = segment;
+    segment.entries.add(entry);
+    index.put(entry.tx.getTransactionId(), entry);
+    owners.merge(entry.owner, 1, Integer::sum);
+    expireBuckets.computeIfAbsent(bucketOf(entry.time), k -> new HashSet<>()).add(entry);
+  }
+
+  private void unlink(Entry entry) {
+    entry.segment.entries.remove(entry);
+    index.remove(entry.tx.getTransactionId(), entry);
+    owners.computeIfPresent(entry.owner, (k, count) -> count == 1 ? null : count - 1);
+    long bucket = bucketOf(entry.time);
+    Set<Entry> entries = expireBuckets.get(bucket);
+    if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+      expireBuckets.remove(bucket);
+    }
+  }
+
+  private void updateGauges() {
+    pendingSize = segments.getFirst().entries.size();
+    rePushSize = index.size() - pendingSize;
+    Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, pendingSize,
+        MetricLabels.Gauge.QUEUE_PENDING);
+    Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, rePushSize,
+        MetricLabels.Gauge.QUEUE_REPUSH);
+  }
+
+  private static long bucketOf(long time) {
+    return Math.floorDiv(time, EXPIRE_BUCKET_MS);
+  }
+
+  private final class Segment {
+
+    private final NavigableSet<Entry> entries = new TreeSet<>(comparator);
+  }
+
+  private static final class Entry {
+
+    private final TransactionCapsule tx;
+    private final long sequence;
+    private final long order;
+    private final long time;
+    private final String owner;
+    private Segment segment;
+
+    private Entry(TransactionCapsule tx, long sequence) {
+      this.tx = tx;
+      this.sequence = sequence;
+      this.order = tx.getOrder();
+      this.time = tx.getTime();
+      this.owner = ByteArray.toHexString(tx.getOwnerAddress());
+    }
+  }
+}
@@ -59,8 +59,7 @@ public class BlockChainMetricManager {
     blockChain.setForkCount(getForkCount());
     blockChain.setFailForkCount(getFailForkCount());
     blockChain.setHeadBlockNum(chainBaseManager.getHeadBlockNum());
-    blockChain.setTransactionCacheSize(dbManager.getPendingTransactions().size()
-        + dbManager.getRePushTransactions().size());
+    blockChain.setTransactionCacheSize(dbManager.getTransactionPool().size());
 
     RateInfo missTx = MetricsUtil.getRateInfo(MetricsKey.BLOCKCHAIN_MISSED_TRANSACTION);
     blockChain.setMissedTransaction(missTx);
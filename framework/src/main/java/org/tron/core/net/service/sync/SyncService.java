@@ -4,14 +4,19 @@ import static org.tron.core.config.Parameter.NetConstants.MAX_BLOCK_FETCH_PER_PE
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import lombok.Setter;
@@ -66,6 +71,15 @@ public class SyncService {
 
   private final long syncFetchBatchNum = Args.getInstance().getSyncFetchBatchNum();
 
+  private final int preValidateDepth = Args.getInstance().getSyncPreValidateDepth();
+
+  // merkle root and signature recovery of the next blocks run here while a block executes
+  private ExecutorService preValidateExecutor = Executors.newFixedThreadPool(
+      Math.max(1, Args.getInstance().getValidateSignThreadNum()),
+      new ThreadFactoryBuilder().setNameFormat("sync-pre-validate-%d").build());
+
+  private Map<BlockId, Future<?>> preValidated = new ConcurrentHashMap<>();
+
   public void init() {
     fetchExecutor.scheduleWithFixedDelay(() -> {
       try {
@@ -93,6 +107,7 @@ public class SyncService {
   public void close() {
     fetchExecutor.shutdown();
     blockHandleExecutor.shutdown();
+    preValidateExecutor.shutdownNow();
   }
 
   public void startSync(PeerConnection peer) {
@@ -262,16 +277,19 @@ public class SyncService {
     while (isProcessed[0]) {
 
       isProcessed[0] = false;
+      preValidate();
 
       blockWaitToProcess.forEach((msg, peerConnection) -> {
         synchronized (tronNetDelegate.getBlockLock()) {
           if (peerConnection.isDisconnect()) {
             blockWaitToProcess.remove(msg);
+            preValidated.remove(msg.getBlockId());
             invalid(msg.getBlockId(), peerConnection);
             return;
           }
           if (msg.getBlockId().getNum() <= solidNum) {
             blockWaitToProcess.remove(msg);
+            preValidated.remove(msg.getBlockId());
             peerConnection.getSyncBlockInProcess().remove(msg.getBlockId());
             return;
           }
@@ -284,6 +302,8 @@ public class SyncService {
           if (isFound[0]) {
             blockWaitToProcess.remove(msg);
             isProcessed[0] = true;
+            preValidate();
+            awaitPreValidate(msg.getBlockId());
             processSyncBlock(msg.getBlockCapsule(), peerConnection);
             peerConnection.getSyncBlockInProcess().remove(msg.getBlockId());
           }
@@ -292,6 +312,43 @@ public class SyncService {
     }
   }
 
+  /**
+   * Submit the state independent checks of the lowest waiting blocks, so that up to
+   * preValidateDepth blocks are checked ahead of the one being executed.
+   */
+  private void preValidate() {
+    if (preValidateDepth <= 0 || preValidated.size() >= preValidateDepth) {
+      return;
+    }
+    blockWaitToProcess.keySet().stream()
+        .filter(msg -> !preValidated.containsKey(msg.getBlockId()))
+        .sorted(Comparator.comparingLong(msg -> msg.getBlockId().getNum()))
+        .limit(preValidateDepth - preValidated.size())
+        .forEach(msg -> preValidated.put(msg.getBlockId(),
+            preValidateExecutor.submit(() -> {
+              try {
+                msg.getBlockCapsule().preValidate();
+              } catch (Exception e) {
+                // validSignature and pushBlock redo the checks and report the error
+                logger.debug("Pre validate block {} failed", msg.getBlockId().getString(), e);
+              }
+            })));
+  }
+
+  private void awaitPreValidate(BlockId blockId) {
+    Future<?> future = preValidated.remove(blockId);
+    if (future == null) {
+      return;
+    }
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      logger.debug("Pre validate block {} failed", blockId.getString(), e);
+    }
+  }
+
   private void processSyncBlock(BlockCapsule block, PeerConnection peerConnection) {
     boolean flag = true;
     boolean attackFlag = false;
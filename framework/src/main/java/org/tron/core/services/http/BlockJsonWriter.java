@@ -0,0 +1,285 @@
+package org.tron.core.services.http;
+
+import com.alibaba.fastjson.JSON;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.actuator.TransactionFactory;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.contract.SmartContractOuterClass.CreateSmartContract;
+
+/**
+ * Writes the http json of blocks and transactions in a single pass over the protobuf
+ * descriptors, with blockID, txID, raw_data_hex, contract_address and the unpacked contract
+ * parameters written inline.
+ *
+ * <p>The output is byte for byte that of {@link Util#printBlockToJSON} and
+ * {@link Util#printTransactionToJSON} serialized by fastjson: the fields of an object are
+ * written in the iteration order of the HashMap behind fastjson's JSONObject, and string values
+ * are escaped by fastjson.
+ */
+@Slf4j(topic = "API")
+public class BlockJsonWriter {
+
+  private final Appendable out;
+  private final boolean selfType;
+
+  private BlockJsonWriter(Appendable out, boolean selfType) {
+    this.out = out;
+    this.selfType = selfType;
+  }
+
+  public static void writeBlock(Block block, boolean selfType, Appendable out)
+      throws IOException {
+    new BlockJsonWriter(out, selfType).writeBlock(block);
+  }
+
+  public static void writeTransaction(Transaction transaction, boolean selfType,
+      Appendable out) throws IOException {
+    new BlockJsonWriter(out, selfType).writeTransaction(transaction);
+  }
+
+  public static String printBlock(Block block, boolean selfType) {
+    try {
+      StringBuilder text = new StringBuilder();
+      writeBlock(block, selfType, text);
+      return text.toString();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static String printTransaction(Transaction transaction, boolean selfType) {
+    try {
+      StringBuilder text = new StringBuilder();
+      writeTransaction(transaction, selfType, text);
+      return text.toString();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private interface ValueWriter {
+
+    void write() throws IOException;
+  }
+
+  private void writeBlock(Block block) throws IOException {
+    Map<String, ValueWriter> fields = fields(block);
+    fields.put("blockID", () -> writeString(ByteArray.toHexString(
+        new BlockCapsule(block).getBlockId().getBytes())));
+    if (block.getTransactionsCount() > 0) {
+      fields.put("transactions", () -> {
+        out.append('[');
+        for (int i = 0; i < block.getTransactionsCount(); i++) {
+          if (i > 0) {
+            out.append(',');
+          }
+          writeTransaction(block.getTransactions(i));
+        }
+        out.append(']');
+      });
+    }
+    writeObject(fields);
+  }
+
+  private void writeTransaction(Transaction transaction) throws IOException {
+    Map<String, ValueWriter> fields = fields(transaction);
+    List<ValueWriter> contracts = new ArrayList<>();
+    for (Contract contract : transaction.getRawData().getContractList()) {
+      try {
+        Message parameter = null;
+        Any contractParameter = contract.getParameter();
+        switch (contract.getType()) {
+          case CreateSmartContract:
+            CreateSmartContract deployContract = contractParameter
+                .unpack(CreateSmartContract.class);
+            parameter = deployContract;
+            byte[] ownerAddress = deployContract.getOwnerAddress().toByteArray();
+            byte[] contractAddress = Util.generateContractAddress(transaction, ownerAddress);
+            fields.put(Util.CONTRACT_ADDRESS,
+                () -> writeString(ByteArray.toHexString(contractAddress)));
+            break;
+          default:
+            Class clazz = TransactionFactory.getContract(contract.getType());
+            if (clazz != null) {
+              parameter = contractParameter.unpack(clazz);
+            }
+            break;
+        }
+        Message value = parameter;
+        contracts.add(() -> writeContract(contract, value));
+      } catch (InvalidProtocolBufferException e) {
+        logger.debug("InvalidProtocolBufferException: {}", e.getMessage());
+      }
+    }
+
+    Map<String, ValueWriter> rawData = fields(transaction.getRawData());
+    rawData.put("contract", () -> {
+      out.append('[');
+      for (int i = 0; i < contracts.size(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        contracts.get(i).write();
+      }
+      out.append(']');
+    });
+    fields.put("raw_data", () -> writeObject(rawData));
+    byte[] rawDataBytes = transaction.getRawData().toByteArray();
+    fields.put("raw_data_hex", () -> writeString(ByteArray.toHexString(rawDataBytes)));
+    fields.put("txID", () -> writeString(ByteArray.toHexString(Sha256Hash
+        .hash(CommonParameter.getInstance().isECKeyCryptoEngine(), rawDataBytes))));
+    writeObject(fields);
+  }
+
+  private void writeContract(Contract contract, Message value) throws IOException {
+    Map<String, ValueWriter> parameter = new HashMap<>();
+    parameter.put(Util.VALUE, value == null ? null : () -> writeMessage(value));
+    parameter.put("type_url", () -> writeString(contract.getParameterOrBuilder().getTypeUrl()));
+    Map<String, ValueWriter> fields = new HashMap<>();
+    fields.put(Util.PARAMETER, () -> writeObject(parameter));
+    fields.put("type", () -> writeString(contract.getType().name()));
+    if (contract.getPermissionId() > 0) {
+      fields.put(Util.PERMISSION_ID,
+          () -> out.append(Integer.toString(contract.getPermissionId())));
+    }
+    writeObject(fields);
+  }
+
+  private void writeMessage(Message message) throws IOException {
+    writeObject(fields(message));
+  }
+
+  /**
+   * The fields of a message keyed by their json name, put in the order JsonFormat prints them
+   * so that the map iterates as the JSONObject parsed from that text does.
+   */
+  private Map<String, ValueWriter> fields(Message message) {
+    Map<String, ValueWriter> fields = new HashMap<>();
+    for (Map.Entry<FieldDescriptor, Object> entry : JsonFormat.fieldsToPrint(message)
+        .entrySet()) {
+      FieldDescriptor field = entry.getKey();
+      Object value = entry.getValue();
+      String name = field.getType() == FieldDescriptor.Type.GROUP
+          ? field.getMessageType().getName() : field.getName();
+      fields.put(name, () -> writeField(field, value));
+    }
+    return fields;
+  }
+
+  private void writeObject(Map<String, ValueWriter> fields) throws IOException {
+    out.append('{');
+    boolean first = true;
+    for (Map.Entry<String, ValueWriter> entry : fields.entrySet()) {
+      // fastjson skips null values
+      if (entry.getValue() == null) {
+        continue;
+      }
+      if (!first) {
+        out.append(',');
+      }
+      first = false;
+      writeString(entry.getKey());
+      out.append(':');
+      entry.getValue().write();
+    }
+    out.append('}');
+  }
+
+  private void writeField(FieldDescriptor field, Object value) throws IOException {
+    if (field.isRepeated()) {
+      out.append('[');
+      List<?> values = (List<?>) value;
+      for (int i = 0; i < values.size(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        writeFieldValue(field, values.get(i));
+      }
+      out.append(']');
+    } else {
+      writeFieldValue(field, value);
+    }
+  }
+
+  private void writeFieldValue(FieldDescriptor field, Object value) throws IOException {
+    switch (field.getType()) {
+      case INT32:
+      case INT64:
+      case SINT32:
+      case SINT64:
+      case SFIXED32:
+      case SFIXED64:
+      case BOOL:
+        out.append(value.toString());
+        break;
+
+      case FLOAT:
+      case DOUBLE:
+        // fastjson reads these as BigDecimal, which may print them differently
+        out.append(JSON.toJSONString(JSON.parse(value.toString())));
+        break;
+
+      case UINT32:
+      case FIXED32:
+        out.append(Integer.toUnsignedString((Integer) value));
+        break;
+
+      case UINT64:
+      case FIXED64:
+        out.append(Long.toUnsignedString((Long) value));
+        break;
+
+      case STRING:
+        writeString((String) value);
+        break;
+
+      case BYTES: {
+        String text = JsonFormat.escapeBytes((ByteString) value, field.getFullName(), selfType);
+        if (selfType && HttpSelfFormatFieldName.isNameStringFormat(field.getFullName())) {
+          // name strings are printed unescaped, so take them as fastjson reads them
+          text = JSON.parseObject("{\"key\":\"" + text + "\"}").getString("key");
+        }
+        writeString(text);
+        break;
+      }
+
+      case ENUM:
+        writeString(((EnumValueDescriptor) value).getName());
+        break;
+
+      case MESSAGE:
+      case GROUP:
+        writeMessage((Message) value);
+        break;
+      default:
+    }
+  }
+
+  private void writeString(String text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x20 || c > 0x7e || c == '"' || c == '\\') {
+        out.append(JSON.toJSONString(text));
+        return;
+      }
+    }
+    out.append('"').append(text).append('"');
+  }
+}
@@ -1,6 +1,6 @@
 package org.tron.core.services.http;
 
-import java.io.IOException;
+import java.io.PrintWriter;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +15,12 @@ import org.tron.protos.Protocol.Block;
 @Slf4j(topic = "API")
 public class GetBlockByNumServlet extends RateLimiterServlet {
 
+  private static final String ENDPOINT = "getblockbynum";
+
   @Autowired
   private Wallet wallet;
+  @Autowired
+  private SolidifiedResponseCache responseCache;
 
   protected void doGet(HttpServletRequest request, HttpServletResponse response) {
     try {
@@ -38,10 +42,20 @@ public class GetBlockByNumServlet extends RateLimiterServlet {
   }
 
   private void fillResponse(boolean visible, long num, HttpServletResponse response)
-      throws IOException {
+      throws Exception {
+    if (responseCache.admit(num)) {
+      String reply = responseCache.get(ENDPOINT, num, visible, () -> {
+        Block block = wallet.getBlockByNum(num);
+        return block == null ? null : Util.printBlock(block, visible);
+      });
+      response.getWriter().println(reply == null ? "{}" : reply);
+      return;
+    }
     Block reply = wallet.getBlockByNum(num);
     if (reply != null) {
-      response.getWriter().println(Util.printBlock(reply, visible));
+      PrintWriter writer = response.getWriter();
+      BlockJsonWriter.writeBlock(reply, visible, writer);
+      writer.println();
     } else {
       response.getWriter().println("{}");
     }
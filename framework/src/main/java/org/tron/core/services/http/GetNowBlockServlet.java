@@ -1,5 +1,6 @@
 package org.tron.core.services.http;
 
+import java.io.PrintWriter;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +22,9 @@ public class GetNowBlockServlet extends RateLimiterServlet {
       boolean visible = Util.getVisible(request);
       Block reply = wallet.getNowBlock();
       if (reply != null) {
-        response.getWriter().println(Util.printBlock(reply, visible));
+        PrintWriter writer = response.getWriter();
+        BlockJsonWriter.writeBlock(reply, visible, writer);
+        writer.println();
       } else {
         response.getWriter().println("{}");
       }
@@ -19,8 +19,12 @@ import org.tron.protos.Protocol.TransactionInfo.Log;
 @Slf4j(topic = "API")
 public class GetTransactionInfoByBlockNumServlet extends RateLimiterServlet {
 
+  private static final String ENDPOINT = "gettransactioninfobyblocknum";
+
   @Autowired
   private Wallet wallet;
+  @Autowired
+  private SolidifiedResponseCache responseCache;
 
   private JSONObject convertLogAddressToTronAddress(TransactionInfo transactionInfo,
       boolean visible) {
@@ -40,14 +44,18 @@ public class GetTransactionInfoByBlockNumServlet extends RateLimiterServlet {
     return jsonArray.toJSONString();
   }
 
+  private String printTransactionInfoList(long num, boolean visible) throws Exception {
+    return responseCache.get(ENDPOINT, num, visible,
+        () -> printTransactionInfoList(wallet.getTransactionInfoByBlockNum(num), visible));
+  }
+
   protected void doGet(HttpServletRequest request, HttpServletResponse response) {
     try {
       boolean visible = Util.getVisible(request);
       long num = Long.parseLong(request.getParameter("num"));
 
       if (num > 0L) {
-        TransactionInfoList reply = wallet.getTransactionInfoByBlockNum(num);
-        response.getWriter().println(printTransactionInfoList(reply, visible));
+        response.getWriter().println(printTransactionInfoList(num, visible));
       } else {
         response.getWriter().println("{}");
       }
@@ -69,8 +77,7 @@ public class GetTransactionInfoByBlockNumServlet extends RateLimiterServlet {
 
       long num = build.getNum();
       if (num > 0L) {
-        TransactionInfoList reply = wallet.getTransactionInfoByBlockNum(num);
-        response.getWriter().println(printTransactionInfoList(reply, params.isVisible()));
+        response.getWriter().println(printTransactionInfoList(num, params.isVisible()));
       } else {
         response.getWriter().println("{}");
       }
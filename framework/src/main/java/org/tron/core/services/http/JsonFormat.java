@@ -116,6 +116,29 @@ public class JsonFormat {
 
   protected static void print(Message message, JsonGenerator generator, boolean selfType)
       throws IOException {
+    Map<FieldDescriptor, Object> fieldsToPrint = fieldsToPrint(message);
+
+    //for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = message.getAllFields().entrySet()
+    for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = fieldsToPrint.entrySet()
+        .iterator(); iter.hasNext(); ) {
+      Map.Entry<FieldDescriptor, Object> field = iter.next();
+      printField(field.getKey(), field.getValue(), generator, selfType);
+      if (iter.hasNext()) {
+        generator.print(",");
+      }
+    }
+
+    // do not print unknown fields
+    // if (message.getUnknownFields().asMap().size() > 0) {
+    //   generator.print(", ");
+    // }
+    // printUnknownFields(message.getUnknownFields(), generator, selfType);
+  }
+
+  /**
+   * The fields of {@code message} to print, in field number order.
+   */
+  static Map<FieldDescriptor, Object> fieldsToPrint(Message message) {
     Map<FieldDescriptor, Object> fieldsToPrint = new TreeMap<>(message.getAllFields());
     if (ALWAYS_OUTPUT_DEFAULT_VALUE_FIELDS && MESSAGES.contains(message.getClass())) {
       for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
@@ -137,22 +160,7 @@ public class JsonFormat {
         }
       }
     }
-
-    //for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = message.getAllFields().entrySet()
-    for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = fieldsToPrint.entrySet()
-        .iterator(); iter.hasNext(); ) {
-      Map.Entry<FieldDescriptor, Object> field = iter.next();
-      printField(field.getKey(), field.getValue(), generator, selfType);
-      if (iter.hasNext()) {
-        generator.print(",");
-      }
-    }
-
-    // do not print unknown fields
-    // if (message.getUnknownFields().asMap().size() > 0) {
-    //   generator.print(", ");
-    // }
-    // printUnknownFields(message.getUnknownFields(), generator, selfType);
+    return fieldsToPrint;
   }
 
   /**
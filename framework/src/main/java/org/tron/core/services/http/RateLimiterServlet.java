@@ -10,6 +10,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.tron.common.parameter.RateLimiterInitialization;
 import org.tron.common.prometheus.MetricKeys;
@@ -94,14 +95,17 @@ public abstract class RateLimiterServlet extends HttpServlet {
       throws ServletException, IOException {
     
     RuntimeData runtimeData = new RuntimeData(req);
-    GlobalRateLimiter.acquire(runtimeData);
-
     IRateLimiter rateLimiter = container.get(KEY_PREFIX_HTTP, getClass().getSimpleName());
 
-    boolean acquireResource = true;
+    boolean nonBlocking = Args.getInstance().isRateLimiterNonBlocking();
+    boolean acquireResource;
 
-    if (rateLimiter != null) {
-      acquireResource = rateLimiter.acquire(runtimeData);
+    if (nonBlocking) {
+      acquireResource = GlobalRateLimiter.tryAcquire(runtimeData)
+          && (rateLimiter == null || rateLimiter.tryAcquire(runtimeData));
+    } else {
+      GlobalRateLimiter.acquire(runtimeData);
+      acquireResource = rateLimiter == null || rateLimiter.acquire(runtimeData);
     }
     String url = Strings.isNullOrEmpty(req.getRequestURI())
         ? MetricLabels.UNDEFINED : req.getRequestURI();
@@ -114,6 +118,11 @@ public abstract class RateLimiterServlet extends HttpServlet {
         super.service(req, resp);
         Metrics.histogramObserve(requestTimer);
       } else {
+        Metrics.counterInc(MetricKeys.Counter.RATE_LIMITER_REJECTED, 1,
+            MetricLabels.Counter.RATE_LIMITER_HTTP, getClass().getSimpleName());
+        if (nonBlocking) {
+          resp.setStatus(HttpStatus.TOO_MANY_REQUESTS_429);
+        }
         resp.getWriter()
             .println(Util.printErrorMsg(new IllegalAccessException("lack of computing resources")));
       }
@@ -0,0 +1,81 @@
+package org.tron.core.services.http;
+
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.core.ChainBaseManager;
+
+/**
+ * Rendered http responses of solidified blocks, which never change, keyed by endpoint, block
+ * number and visible. The cache is bounded by the bytes the responses take on the heap, set by
+ * node.http.responseCacheSize, and is shared by the full node, solidity and pbft servlets.
+ */
+@Slf4j(topic = "API")
+@Component
+public class SolidifiedResponseCache {
+
+  // the heap taken by a cached key and String besides the chars
+  private static final int ENTRY_OVERHEAD = 128;
+
+  @Autowired
+  private ChainBaseManager chainBaseManager;
+
+  private final TronCache<String, String> cache;
+
+  public SolidifiedResponseCache() {
+    long size = CommonParameter.getInstance().getHttpResponseCacheSize();
+    if (size > 0) {
+      cache = CacheManager.allocate(CacheType.httpResponse,
+          String.format("maximumWeight=%d,concurrencyLevel=%d,recordStats", size,
+              Runtime.getRuntime().availableProcessors()),
+          (key, value) -> ENTRY_OVERHEAD + 2 * (key.length() + value.length()));
+    } else {
+      cache = null;
+    }
+  }
+
+  /**
+   * @return whether the responses of the block are cached, only blocks below the latest
+   *     solidified block are.
+   */
+  public boolean admit(long num) {
+    return cache != null && num > 0
+        && num < chainBaseManager.getDynamicPropertiesStore().getLatestSolidifiedBlockNum();
+  }
+
+  /**
+   * @param render renders the response, a null response is not cached
+   * @return the response of the endpoint for the block, rendered only if it is not cached
+   */
+  public String get(String endpoint, long num, boolean visible, Callable<String> render)
+      throws Exception {
+    if (!admit(num)) {
+      return render.call();
+    }
+    String key = endpoint + ':' + num + ':' + visible;
+    String response = cache.getIfPresent(key);
+    if (response != null) {
+      Metrics.counterInc(MetricKeys.Counter.HTTP_RESPONSE_CACHE, 1, endpoint,
+          MetricLabels.Counter.RESPONSE_CACHE_HIT);
+      // the responses are json of hex and base58 strings, a char is a byte
+      Metrics.histogramObserve(MetricKeys.Histogram.HTTP_RESPONSE_CACHE_BYTES,
+          response.length(), endpoint);
+      return response;
+    }
+    Metrics.counterInc(MetricKeys.Counter.HTTP_RESPONSE_CACHE, 1, endpoint,
+        MetricLabels.Counter.RESPONSE_CACHE_MISS);
+    response = render.call();
+    if (response != null) {
+      cache.put(key, response);
+    }
+    return response;
+  }
+}
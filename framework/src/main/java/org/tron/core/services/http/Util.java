@@ -95,7 +95,7 @@ public class Util {
   }
 
   public static String printBlock(Block block, boolean selfType) {
-    return printBlockToJSON(block, selfType).toJSONString();
+    return BlockJsonWriter.printBlock(block, selfType);
   }
 
   public static JSONObject printBlockToJSON(Block block, boolean selfType) {
@@ -136,11 +136,11 @@ public class Util {
   }
 
   public static String printTransaction(Transaction transaction, boolean selfType) {
-    return printTransactionToJSON(transaction, selfType).toJSONString();
+    return BlockJsonWriter.printTransaction(transaction, selfType);
   }
 
   public static String printTransaction(Transaction transaction) {
-    return printTransactionToJSON(transaction, true).toJSONString();
+    return BlockJsonWriter.printTransaction(transaction, true);
   }
 
   public static String printCreateTransaction(Transaction transaction, boolean selfType) {
@@ -27,7 +27,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.util.encoders.Hex;
 import org.tron.api.GrpcAPI.BytesMessage;
@@ -43,6 +42,7 @@ import org.tron.common.parameter.CommonParameter;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.ByteUtil;
+import org.tron.core.ChainBaseManager;
 import org.tron.core.Wallet;
 import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.capsule.TransactionCapsule;
@@ -64,8 +64,8 @@ import org.tron.core.services.http.JsonFormat;
 import org.tron.core.services.http.Util;
 import org.tron.core.services.jsonrpc.filters.BlockFilterAndResult;
 import org.tron.core.services.jsonrpc.filters.LogBlockQuery;
-import org.tron.core.services.jsonrpc.filters.LogFilter;
 import org.tron.core.services.jsonrpc.filters.LogFilterAndResult;
+import org.tron.core.services.jsonrpc.filters.LogFilterIndex;
 import org.tron.core.services.jsonrpc.filters.LogFilterWrapper;
 import org.tron.core.services.jsonrpc.filters.LogMatch;
 import org.tron.core.services.jsonrpc.types.BlockResult;
@@ -125,6 +125,18 @@ public class TronJsonRpcImpl implements TronJsonRpc {
   @Getter
   private static final Map<String, BlockFilterAndResult> blockFilter2ResultSolidity =
       new ConcurrentHashMap<>();
+  /**
+   * index of the log filters in eventFilter2ResultFull, filters are installed through it
+   */
+  @Getter
+  private static final LogFilterIndex logFilterIndexFull =
+      new LogFilterIndex(eventFilter2ResultFull);
+  /**
+   * index of the log filters in eventFilter2ResultSolidity
+   */
+  @Getter
+  private static final LogFilterIndex logFilterIndexSolidity =
+      new LogFilterIndex(eventFilter2ResultSolidity);
 
   public static final String HASH_REGEX = "(0x)?[a-zA-Z0-9]{64}$";
 
@@ -176,43 +188,22 @@ public class TronJsonRpcImpl implements TronJsonRpc {
   }
 
   public static void handleLogsFilter(LogsFilterCapsule logsFilterCapsule) {
-    Iterator<Entry<String, LogFilterAndResult>> it;
+    LogFilterIndex logFilterIndex;
 
     if (logsFilterCapsule.isSolidified()) {
-      it = getEventFilter2ResultSolidity().entrySet().iterator();
+      logFilterIndex = getLogFilterIndexSolidity();
     } else {
-      it = getEventFilter2ResultFull().entrySet().iterator();
+      logFilterIndex = getLogFilterIndexFull();
     }
 
-    while (it.hasNext()) {
-      Entry<String, LogFilterAndResult> entry = it.next();
-      if (entry.getValue().isExpire()) {
-        it.remove();
-        continue;
-      }
+    logFilterIndex.expire(System.currentTimeMillis());
 
-      LogFilterAndResult logFilterAndResult = entry.getValue();
-      long fromBlock = logFilterAndResult.getLogFilterWrapper().getFromBlock();
-      long toBlock = logFilterAndResult.getLogFilterWrapper().getToBlock();
-      if (!(fromBlock <= logsFilterCapsule.getBlockNumber()
-          && logsFilterCapsule.getBlockNumber() <= toBlock)) {
-        continue;
-      }
-
-      if (logsFilterCapsule.getBloom() != null
-          && !logFilterAndResult.getLogFilterWrapper().getLogFilter()
-          .matchBloom(logsFilterCapsule.getBloom())) {
-        continue;
-      }
-
-      LogFilter logFilter = logFilterAndResult.getLogFilterWrapper().getLogFilter();
-      List<LogFilterElement> elements =
-          LogMatch.matchBlock(logFilter, logsFilterCapsule.getBlockNumber(),
-              logsFilterCapsule.getBlockHash(), logsFilterCapsule.getTxInfoList(),
-              logsFilterCapsule.isRemoved());
-      if (CollectionUtils.isNotEmpty(elements)) {
-        logFilterAndResult.getResult().addAll(elements);
-      }
+    Map<LogFilterAndResult, List<LogFilterElement>> matched =
+        logFilterIndex.match(logsFilterCapsule.getBlockNumber(),
+            logsFilterCapsule.getBlockHash(), logsFilterCapsule.getTxInfoList(),
+            logsFilterCapsule.isRemoved());
+    for (Entry<LogFilterAndResult, List<LogFilterElement>> entry : matched.entrySet()) {
+      entry.getKey().getResult().addAll(entry.getValue());
     }
   }
 
@@ -1219,17 +1210,17 @@ public class TronJsonRpcImpl implements TronJsonRpc {
       JsonRpcMethodNotFoundException {
     disableInPBFT("eth_newFilter");
 
-    Map<String, LogFilterAndResult> eventFilter2Result;
+    LogFilterIndex logFilterIndex;
     if (getSource() == RequestSource.FULLNODE) {
-      eventFilter2Result = eventFilter2ResultFull;
+      logFilterIndex = logFilterIndexFull;
     } else {
-      eventFilter2Result = eventFilter2ResultSolidity;
+      logFilterIndex = logFilterIndexSolidity;
     }
 
     long currentMaxFullNum = wallet.getNowBlock().getBlockHeader().getRawData().getNumber();
     LogFilterAndResult logFilterAndResult = new LogFilterAndResult(fr, currentMaxFullNum, wallet);
     String filterID = generateFilterId();
-    eventFilter2Result.put(filterID, logFilterAndResult);
+    logFilterIndex.add(filterID, logFilterAndResult);
     return ByteArray.toJsonHex(filterID);
   }
 
@@ -1256,21 +1247,18 @@ public class TronJsonRpcImpl implements TronJsonRpc {
     disableInPBFT("eth_uninstallFilter");
 
     Map<String, BlockFilterAndResult> blockFilter2Result;
-    Map<String, LogFilterAndResult> eventFilter2Result;
+    LogFilterIndex logFilterIndex;
     if (getSource() == RequestSource.FULLNODE) {
       blockFilter2Result = blockFilter2ResultFull;
-      eventFilter2Result = eventFilter2ResultFull;
+      logFilterIndex = logFilterIndexFull;
     } else {
       blockFilter2Result = blockFilter2ResultSolidity;
-      eventFilter2Result = eventFilter2ResultSolidity;
+      logFilterIndex = logFilterIndexSolidity;
     }
 
     filterId = ByteArray.fromHex(filterId);
-    if (eventFilter2Result.containsKey(filterId)) {
-      eventFilter2Result.remove(filterId);
-    } else if (blockFilter2Result.containsKey(filterId)) {
-      blockFilter2Result.remove(filterId);
-    } else {
+    if (logFilterIndex.remove(filterId) == null
+        && blockFilter2Result.remove(filterId) == null) {
       throw new ItemNotFoundException(FILTER_NOT_FOUND);
     }
 
@@ -1338,8 +1326,11 @@ public class TronJsonRpcImpl implements TronJsonRpc {
       long currentMaxBlockNum) throws JsonRpcTooManyResultException, ExecutionException,
       InterruptedException, BadItemException, ItemNotFoundException {
     //query possible block
-    LogBlockQuery logBlockQuery = new LogBlockQuery(logFilterWrapper, manager.getChainBaseManager()
-        .getSectionBloomStore(), currentMaxBlockNum, sectionExecutor);
+    ChainBaseManager chainBaseManager = manager.getChainBaseManager();
+    LogBlockQuery logBlockQuery = new LogBlockQuery(logFilterWrapper,
+        chainBaseManager.getSectionBloomStore(), currentMaxBlockNum,
+        chainBaseManager.getDynamicPropertiesStore().getLatestSolidifiedBlockNum(),
+        sectionExecutor);
     List<Long> possibleBlockList = logBlockQuery.getPossibleBlock();
 
     //match event from block one by one exactly
@@ -7,7 +7,8 @@ import org.tron.core.services.jsonrpc.TronJsonRpcImpl;
 
 public abstract class FilterResult<T> {
 
-  private long expireTimeStamp;
+  @Getter
+  private volatile long expireTimeStamp;
 
   @Getter
   protected BlockingQueue<T> result;
@@ -1,8 +1,11 @@
 package org.tron.core.services.jsonrpc.filters;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -10,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.tron.common.bloom.Bloom;
 import org.tron.common.crypto.Hash;
+import org.tron.core.exception.EventBloomException;
 import org.tron.core.exception.JsonRpcTooManyResultException;
 import org.tron.core.store.SectionBloomStore;
 
@@ -21,6 +25,8 @@ import org.tron.core.store.SectionBloomStore;
 public class LogBlockQuery {
 
   public static final int MAX_RESULT = 10000;
+  // sections evaluated by one task, 16 sections are 32768 blocks
+  private static final int SECTIONS_PER_TASK = 16;
   private final LogFilterWrapper logFilterWrapper;
   private final SectionBloomStore sectionBloomStore;
   private final ExecutorService sectionExecutor;
@@ -30,13 +36,23 @@ public class LogBlockQuery {
   private final long minBlock;
   private long maxBlock;
   private final long currentMaxBlockNum;
+  private final long solidBlockNum;
 
   public LogBlockQuery(LogFilterWrapper logFilterWrapper, SectionBloomStore sectionBloomStore,
       long currentMaxBlockNum, ExecutorService executor) {
+    this(logFilterWrapper, sectionBloomStore, currentMaxBlockNum, -1, executor);
+  }
+
+  /**
+   * @param solidBlockNum sections ending at or below it are read through the bloom row cache
+   */
+  public LogBlockQuery(LogFilterWrapper logFilterWrapper, SectionBloomStore sectionBloomStore,
+      long currentMaxBlockNum, long solidBlockNum, ExecutorService executor) {
     this.logFilterWrapper = logFilterWrapper;
     this.sectionBloomStore = sectionBloomStore;
     this.sectionExecutor = executor;
     this.currentMaxBlockNum = currentMaxBlockNum;
+    this.solidBlockNum = solidBlockNum;
 
     if (logFilterWrapper.getFromBlock() == Long.MAX_VALUE) {
       minSection = (int) (currentMaxBlockNum / Bloom.BLOOM_BIT_SIZE);
@@ -58,6 +74,10 @@ public class LogBlockQuery {
     }
   }
 
+  /**
+   * section ranges are matched in parallel, each task reads the rows of a section in one
+   * batch and returns the possible blocks of its range in order
+   */
   public List<Long> getPossibleBlock() throws ExecutionException, InterruptedException,
       JsonRpcTooManyResultException {
     List<Long> blockNumList = new ArrayList<>();
@@ -66,101 +86,128 @@ public class LogBlockQuery {
     }
 
     int[][][] allConditionsIndex = getConditions();
-
-    int capacity = (maxSection - minSection + 1) * SectionBloomStore.BLOCK_PER_SECTION;
-    BitSet blockNumBitSet = new BitSet(capacity);
-    blockNumBitSet.set(0, capacity);
-
-    //works serial
-    for (int[][] conditionsIndex : allConditionsIndex) {
-      BitSet bitSet = subMatch(conditionsIndex);
-      blockNumBitSet.and(bitSet);
+    int[] bitIndexes = distinctBitIndexes(allConditionsIndex);
+    int[][][] rowConditions = toRowIndexes(allConditionsIndex, bitIndexes);
+
+    List<Future<List<Long>>> futureList = new ArrayList<>();
+    for (int from = minSection; from <= maxSection; from += SECTIONS_PER_TASK) {
+      final int begin = from;
+      final int end = (int) Math.min((long) from + SECTIONS_PER_TASK - 1, maxSection);
+      futureList.add(
+          sectionExecutor.submit(() -> matchSections(begin, end, bitIndexes, rowConditions)));
     }
 
-    for (int i = blockNumBitSet.nextSetBit(0); i >= 0; i = blockNumBitSet.nextSetBit(i + 1)) {
-      // operate on index i here
-      if (i == Integer.MAX_VALUE) {
-        break; // or (i+1) would overflow
+    try {
+      for (Future<List<Long>> future : futureList) {
+        blockNumList.addAll(future.get());
+        if (blockNumList.size() >= MAX_RESULT) {
+          throw new JsonRpcTooManyResultException(
+              "query returned more than " + MAX_RESULT + " results");
+        }
       }
-      long blockNum = (long) minSection * SectionBloomStore.BLOCK_PER_SECTION + i;
-      if (minBlock <= blockNum && blockNum <= maxBlock) {
-        blockNumList.add(blockNum);
+    } finally {
+      for (Future<List<Long>> future : futureList) {
+        future.cancel(true);
       }
     }
 
-    if (blockNumList.size() >= MAX_RESULT) {
-      throw new JsonRpcTooManyResultException(
-          "query returned more than " + MAX_RESULT + " results");
-    }
-
     return blockNumList;
   }
 
   /**
-   * address -> subMatch0,
-   * topic1 -> subMatch1, topic2 -> subMatch2, topic3 -> subMatch3, topic4 -> subMatch4
-   * works serial, return a BitSet with capacity of section num * blockPerSection
+   * match sections [begin, end], the bitsets are allocated once and reused for every section
    */
-  private BitSet subMatch(int[][] bitIndexes) throws ExecutionException, InterruptedException {
-
-    int capacity = (maxSection - minSection + 1) * SectionBloomStore.BLOCK_PER_SECTION;
-    BitSet subBitSet = new BitSet(capacity);
+  private List<Long> matchSections(int begin, int end, int[] bitIndexes, int[][][] conditions)
+      throws EventBloomException {
+    List<Long> blockNumList = new ArrayList<>();
+    BitSet sectionBitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+    BitSet orBitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+    BitSet andBitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
 
-    for (int section = minSection; section <= maxSection; section++) {
-      BitSet partialBitSet = partialMatch(bitIndexes, section);
+    for (int section = begin; section <= end; section++) {
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+      boolean solidified =
+          (section + 1L) * SectionBloomStore.BLOCK_PER_SECTION - 1 <= solidBlockNum;
+      BitSet[] rows = bitIndexes.length == 0 ? new BitSet[0]
+          : sectionBloomStore.get(section, bitIndexes, solidified);
+
+      sectionBitSet.set(0, SectionBloomStore.BLOCK_PER_SECTION);
+      for (int[][] condition : conditions) {
+        partialMatch(condition, rows, orBitSet, andBitSet);
+        sectionBitSet.and(orBitSet);
+        if (sectionBitSet.isEmpty()) {
+          break;
+        }
+      }
 
-      for (int i = partialBitSet.nextSetBit(0); i >= 0; i = partialBitSet.nextSetBit(i + 1)) {
-        // operate on index i here
-        if (i == Integer.MAX_VALUE) {
-          break; // or (i+1) would overflow
+      long firstBlock = (long) section * SectionBloomStore.BLOCK_PER_SECTION;
+      for (int i = sectionBitSet.nextSetBit(0); i >= 0; i = sectionBitSet.nextSetBit(i + 1)) {
+        long blockNum = firstBlock + i;
+        if (blockNum > maxBlock) {
+          break;
+        }
+        if (minBlock <= blockNum) {
+          blockNumList.add(blockNum);
         }
-        int offset = (section - minSection) * SectionBloomStore.BLOCK_PER_SECTION + i;
-        subBitSet.set(offset);
+      }
+      if (blockNumList.size() >= MAX_RESULT) {
+        break;
       }
     }
-
-    return subBitSet;
+    return blockNumList;
   }
 
   /**
-   * every section has a compound query of sectionBloomStore, works parallel
-   * "and" condition in second dimension of query, "or" condition in first dimension
-   * return a BitSet whose capacity is blockPerSection
+   * "and" condition in second dimension of query, "or" condition in first dimension,
+   * the result of one section is left in orBitSet
    */
-  private BitSet partialMatch(final int[][] bitIndexes, int section)
-      throws ExecutionException, InterruptedException {
-    List<List<Future<BitSet>>> bitSetList = new ArrayList<>();
-
-    for (int[] index : bitIndexes) {
-      List<Future<BitSet>> futureList = new ArrayList<>();
-      for (final int bitIndex : index) { //must be 3
-        Future<BitSet> bitSetFuture =
-            sectionExecutor.submit(() -> sectionBloomStore.get(section, bitIndex));
-        futureList.add(bitSetFuture);
+  private static void partialMatch(int[][] rowIndexes, BitSet[] rows, BitSet orBitSet,
+      BitSet andBitSet) {
+    orBitSet.clear();
+    for (int[] index : rowIndexes) {
+      andBitSet.set(0, SectionBloomStore.BLOCK_PER_SECTION);
+      for (int rowIndex : index) { //must be 3
+        BitSet one = rows[rowIndex];
+        if (one == null) { //match nothing
+          andBitSet.clear();
+          break;
+        }
+        andBitSet.and(one);
       }
-      bitSetList.add(futureList);
+      orBitSet.or(andBitSet);
     }
+  }
 
-    BitSet bitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+  private static int[] distinctBitIndexes(int[][][] allConditionsIndex) {
+    Set<Integer> bitIndexSet = new TreeSet<>();
+    for (int[][] conditionsIndex : allConditionsIndex) {
+      for (int[] index : conditionsIndex) {
+        for (int bitIndex : index) {
+          bitIndexSet.add(bitIndex);
+        }
+      }
+    }
+    return bitIndexSet.stream().mapToInt(Integer::intValue).toArray();
+  }
 
-    for (List<Future<BitSet>> futureList : bitSetList) {
-      // initial a BitSet with all 1
-      BitSet subBitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
-      subBitSet.set(0, SectionBloomStore.BLOCK_PER_SECTION);
-      // and condition in second dimension
-      for (Future<BitSet> future : futureList) {
-        BitSet one = future.get();
-        if (one == null) { //match nothing
-          subBitSet.clear();
-          break;
+  /**
+   * replace bloom bit indexes with their position in the batch of rows read per section
+   */
+  private static int[][][] toRowIndexes(int[][][] allConditionsIndex, int[] bitIndexes) {
+    int[][][] rowConditions = new int[allConditionsIndex.length][][];
+    for (int k = 0; k < allConditionsIndex.length; k++) {
+      rowConditions[k] = new int[allConditionsIndex[k].length][];
+      for (int j = 0; j < allConditionsIndex[k].length; j++) {
+        int[] index = allConditionsIndex[k][j];
+        rowConditions[k][j] = new int[index.length];
+        for (int i = 0; i < index.length; i++) {
+          rowConditions[k][j][i] = Arrays.binarySearch(bitIndexes, index[i]);
         }
-        // "and" condition in second dimension
-        subBitSet.and(one);
       }
-      // "or" condition in first dimension
-      bitSet.or(subBitSet);
     }
-    return bitSet;
+    return rowConditions;
   }
 
   /**
@@ -0,0 +1,216 @@
+package org.tron.core.services.jsonrpc.filters;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.core.services.jsonrpc.TronJsonRpc.LogFilterElement;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+/**
+ * installed log filters of eth_newFilter, indexed so that a log is only matched against the
+ * filters that can accept it: filters with contract addresses are indexed by address, the
+ * others by their first topic, and filters with neither go to the wildcard list.
+ * expired filters are dropped by a timer wheel of one second slots.
+ */
+@Slf4j(topic = "API")
+public class LogFilterIndex {
+
+  // must cover TronJsonRpcImpl.EXPIRE_SECONDS, a longer expiry just takes more turns
+  private static final int WHEEL_SLOTS = 512;
+
+  private final Map<String, LogFilterAndResult> filters;
+  private final Map<ByteString, Set<String>> byAddress = new ConcurrentHashMap<>();
+  private final Map<ByteString, Set<String>> byTopic0 = new ConcurrentHashMap<>();
+  private final Set<String> wildcards = ConcurrentHashMap.newKeySet();
+
+  private final List<Set<String>> wheel = new ArrayList<>(WHEEL_SLOTS);
+  private long wheelSecond;
+
+  /**
+   * @param filters the filter id to filter map this index keeps in step with
+   */
+  public LogFilterIndex(Map<String, LogFilterAndResult> filters) {
+    this.filters = filters;
+    for (int i = 0; i < WHEEL_SLOTS; i++) {
+      wheel.add(new HashSet<>());
+    }
+    wheelSecond = System.currentTimeMillis() / 1000;
+  }
+
+  public void add(String filterId, LogFilterAndResult filter) {
+    remove(filterId);
+    filters.put(filterId, filter);
+    LogFilter logFilter = filter.getLogFilterWrapper().getLogFilter();
+    byte[][] topic0 = firstTopic(logFilter);
+    if (ArrayUtils.isNotEmpty(logFilter.getContractAddresses())) {
+      for (byte[] address : logFilter.getContractAddresses()) {
+        index(byAddress, ByteString.copyFrom(address), filterId);
+      }
+    } else if (ArrayUtils.isNotEmpty(topic0)) {
+      for (byte[] topic : topic0) {
+        index(byTopic0, topicKey(topic), filterId);
+      }
+    } else {
+      wildcards.add(filterId);
+    }
+    synchronized (wheel) {
+      schedule(filterId, filter.getExpireTimeStamp());
+    }
+  }
+
+  /**
+   * @return the removed filter, null if it is not installed
+   */
+  public LogFilterAndResult remove(String filterId) {
+    LogFilterAndResult filter = filters.remove(filterId);
+    if (filter == null) {
+      return null;
+    }
+    LogFilter logFilter = filter.getLogFilterWrapper().getLogFilter();
+    byte[][] topic0 = firstTopic(logFilter);
+    if (ArrayUtils.isNotEmpty(logFilter.getContractAddresses())) {
+      for (byte[] address : logFilter.getContractAddresses()) {
+        unindex(byAddress, ByteString.copyFrom(address), filterId);
+      }
+    } else if (ArrayUtils.isNotEmpty(topic0)) {
+      for (byte[] topic : topic0) {
+        unindex(byTopic0, topicKey(topic), filterId);
+      }
+    } else {
+      wildcards.remove(filterId);
+    }
+    // the id left in the wheel is skipped when its slot comes round
+    return filter;
+  }
+
+  public int size() {
+    return filters.size();
+  }
+
+  /**
+   * advance the wheel to now, dropping the filters expired by then. a filter whose expire
+   * time was pushed back since it was scheduled is put in the slot of its new expire time.
+   */
+  public void expire(long now) {
+    List<String> expired = new ArrayList<>();
+    synchronized (wheel) {
+      long nowSecond = now / 1000;
+      long from = Math.max(wheelSecond + 1, nowSecond - WHEEL_SLOTS + 1);
+      for (long second = from; second <= nowSecond; second++) {
+        int slot = (int) (second % WHEEL_SLOTS);
+        Set<String> ids = wheel.get(slot);
+        if (ids.isEmpty()) {
+          continue;
+        }
+        wheel.set(slot, new HashSet<>());
+        wheelSecond = second;
+        for (String id : ids) {
+          LogFilterAndResult filter = filters.get(id);
+          if (filter == null) {
+            continue;
+          }
+          if (filter.getExpireTimeStamp() < now) {
+            expired.add(id);
+          } else {
+            schedule(id, filter.getExpireTimeStamp());
+          }
+        }
+      }
+      wheelSecond = Math.max(wheelSecond, nowSecond);
+    }
+    expired.forEach(this::remove);
+  }
+
+  private void schedule(String filterId, long expireTimeStamp) {
+    long second = Math.max(expireTimeStamp / 1000, wheelSecond + 1);
+    wheel.get((int) (second % WHEEL_SLOTS)).add(filterId);
+  }
+
+  /**
+   * match the logs of a block against the installed filters
+   *
+   * @return the matched logs of every filter, in the order of the block
+   */
+  public Map<LogFilterAndResult, List<LogFilterElement>> match(long blockNum, String blockHash,
+      List<TransactionInfo> transactionInfoList, boolean removed) {
+    Map<LogFilterAndResult, List<LogFilterElement>> matched = new IdentityHashMap<>();
+    if (filters.isEmpty()) {
+      return matched;
+    }
+
+    int logIndexInBlock = 0;
+    for (int i = 0; i < transactionInfoList.size(); i++) {
+      TransactionInfo transactionInfo = transactionInfoList.get(i);
+      for (Log log : transactionInfo.getLogList()) {
+        matchLog(byAddress.get(log.getAddress()), blockNum, blockHash, transactionInfo, i, log,
+            logIndexInBlock, removed, matched);
+        if (log.getTopicsCount() > 0 && !byTopic0.isEmpty()) {
+          matchLog(byTopic0.get(topicKey(log.getTopics(0).toByteArray())), blockNum, blockHash,
+              transactionInfo, i, log, logIndexInBlock, removed, matched);
+        }
+        matchLog(wildcards, blockNum, blockHash, transactionInfo, i, log, logIndexInBlock,
+            removed, matched);
+        logIndexInBlock += 1;
+      }
+    }
+    return matched;
+  }
+
+  private void matchLog(Collection<String> candidates, long blockNum, String blockHash,
+      TransactionInfo transactionInfo, int txIndex, Log log, int logIndexInBlock,
+      boolean removed, Map<LogFilterAndResult, List<LogFilterElement>> matched) {
+    if (candidates == null || candidates.isEmpty()) {
+      return;
+    }
+    for (String id : candidates) {
+      LogFilterAndResult filter = filters.get(id);
+      if (filter == null) {
+        continue;
+      }
+      LogFilterWrapper wrapper = filter.getLogFilterWrapper();
+      if (blockNum < wrapper.getFromBlock() || blockNum > wrapper.getToBlock()
+          || !wrapper.getLogFilter().matchesExactly(log)) {
+        continue;
+      }
+      matched.computeIfAbsent(filter, k -> new ArrayList<>())
+          .add(LogMatch.toLogFilterElement(blockHash, blockNum, transactionInfo, txIndex, log,
+              logIndexInBlock, removed));
+    }
+  }
+
+  private static byte[][] firstTopic(LogFilter logFilter) {
+    return logFilter.getTopics().isEmpty() ? null : logFilter.getTopics().get(0);
+  }
+
+  // topics are compared as words, see LogFilter.matchesExactly
+  private static ByteString topicKey(byte[] topic) {
+    return ByteString.copyFrom(new DataWord(topic).getData());
+  }
+
+  private static void index(Map<ByteString, Set<String>> index, ByteString key,
+      String filterId) {
+    index.compute(key, (k, ids) -> {
+      Set<String> set = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+      set.add(filterId);
+      return set;
+    });
+  }
+
+  private static void unindex(Map<ByteString, Set<String>> index, ByteString key,
+      String filterId) {
+    index.computeIfPresent(key, (k, ids) -> {
+      ids.remove(filterId);
+      return ids.isEmpty() ? null : ids;
+    });
+  }
+}
@@ -1,10 +1,7 @@
 package org.tron.core.services.ratelimiter;
 
 import com.google.common.base.Strings;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.RateLimiter;
-import java.util.concurrent.TimeUnit;
 import org.tron.core.config.args.Args;
 
 public class GlobalRateLimiter {
@@ -13,8 +10,7 @@ public class GlobalRateLimiter {
 
   private static double IP_QPS = Args.getInstance().getRateLimiterGlobalIpQps();
 
-  private static Cache<String, RateLimiter> cache = CacheBuilder.newBuilder()
-      .maximumSize(10000).expireAfterWrite(1, TimeUnit.HOURS).build();
+  private static KeyedTokenBuckets ipLimiter = new KeyedTokenBuckets(IP_QPS, 10000);
 
   private static RateLimiter rateLimiter = RateLimiter.create(QPS);
 
@@ -24,12 +20,18 @@ public class GlobalRateLimiter {
     if (Strings.isNullOrEmpty(ip)) {
       return;
     }
-    RateLimiter r = cache.getIfPresent(ip);
-    if (r == null) {
-      r = RateLimiter.create(IP_QPS);
-      cache.put(ip, r);
+    ipLimiter.acquire(ip);
+  }
+
+  /**
+   * like acquire, but returns false at once if there is no permit now.
+   */
+  public static boolean tryAcquire(RuntimeData runtimeData) {
+    String ip = runtimeData.getRemoteAddr();
+    if (!Strings.isNullOrEmpty(ip) && !ipLimiter.tryAcquire(ip)) {
+      return false;
     }
-    r.acquire();
+    return rateLimiter.tryAcquire();
   }
 
 }
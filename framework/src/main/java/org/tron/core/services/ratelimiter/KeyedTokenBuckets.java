@@ -0,0 +1,179 @@
+package org.tron.core.services.ratelimiter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets of the same rate keyed by a string, such as the address of a client. A bucket is
+ * kept as one long, the time its next permit is free, in open addressing tables behind striped
+ * locks. As a guava RateLimiter a new bucket starts empty and stores up to one second of
+ * permits. When a stripe is full the least recently used bucket is dropped.
+ */
+public class KeyedTokenBuckets {
+
+  private static final int STRIPES = 64;
+
+  // nanos per permit
+  private final long interval;
+  // how far the next free time may run ahead of now, the stored permits of a full bucket
+  private final long tolerance;
+  private final int maxPerStripe;
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  /**
+   * @param permitsPerSecond the rate of every bucket
+   * @param maxKeys the buckets to keep at most
+   */
+  public KeyedTokenBuckets(double permitsPerSecond, int maxKeys) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("rate must be positive: " + permitsPerSecond);
+    }
+    this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    this.tolerance = Math.max(0, TimeUnit.SECONDS.toNanos(1) - interval);
+    this.maxPerStripe = Math.max(1, (maxKeys + STRIPES - 1) / STRIPES);
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * Take a permit of the key if one is free now.
+   */
+  public boolean tryAcquire(String key) {
+    return take(key, System.nanoTime(), false) == 0;
+  }
+
+  /**
+   * Take a permit of the key, waiting until it is free.
+   */
+  public void acquire(String key) {
+    long wait = take(key, System.nanoTime(), true);
+    if (wait > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @param reserve whether to take a permit that is not free yet
+   * @return nanos until the permit is free, 0 if it is taken now, and a permit that is not free
+   *     is only taken if reserve
+   */
+  long take(String key, long now, boolean reserve) {
+    int hash = spread(key.hashCode());
+    Stripe stripe = stripes[hash & (STRIPES - 1)];
+    synchronized (stripe) {
+      int slot = stripe.find(key, hash);
+      long next;
+      if (slot < 0) {
+        // empty, the first permit is free
+        next = now + tolerance;
+      } else {
+        next = Math.max(stripe.nextFree[slot], now);
+      }
+      long wait = Math.max(0, next - tolerance - now);
+      if (wait > 0 && !reserve) {
+        return wait;
+      }
+      if (slot < 0) {
+        slot = stripe.insert(key, hash, now);
+      }
+      stripe.nextFree[slot] = next + interval;
+      return wait;
+    }
+  }
+
+  private static int spread(int h) {
+    h ^= h >>> 16;
+    return h * 0x9E3779B9;
+  }
+
+  private final class Stripe {
+
+    private String[] keys = new String[16];
+    private long[] nextFree = new long[16];
+    private int size;
+
+    int find(String key, int hash) {
+      int mask = keys.length - 1;
+      for (int i = (hash >>> 6) & mask; keys[i] != null; i = (i + 1) & mask) {
+        if (keys[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    int insert(String key, int hash, long now) {
+      if (size >= maxPerStripe) {
+        evict(now);
+      }
+      if ((size + 1) * 2 > keys.length) {
+        rehash(keys.length * 2);
+      }
+      int mask = keys.length - 1;
+      int i = (hash >>> 6) & mask;
+      while (keys[i] != null) {
+        i = (i + 1) & mask;
+      }
+      keys[i] = key;
+      size++;
+      return i;
+    }
+
+    /**
+     * drop the buckets whose permits are all free again, or else the least recently used
+     * bucket.
+     */
+    private void evict(long now) {
+      int oldest = -1;
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == null) {
+          continue;
+        }
+        if (nextFree[i] <= now) {
+          keys[i] = null;
+          size--;
+        } else if (oldest < 0 || nextFree[i] < nextFree[oldest]) {
+          oldest = i;
+        }
+      }
+      if (size >= maxPerStripe && oldest >= 0) {
+        keys[oldest] = null;
+        size--;
+      }
+      rehash(keys.length);
+    }
+
+    private void rehash(int capacity) {
+      String[] oldKeys = keys;
+      long[] oldNextFree = nextFree;
+      keys = new String[capacity];
+      nextFree = new long[capacity];
+      int mask = capacity - 1;
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldKeys[j] == null) {
+          continue;
+        }
+        int i = (spread(oldKeys[j].hashCode()) >>> 6) & mask;
+        while (keys[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        nextFree[i] = oldNextFree[j];
+      }
+    }
+  }
+}
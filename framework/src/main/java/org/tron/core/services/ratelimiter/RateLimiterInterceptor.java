@@ -17,6 +17,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.tron.common.parameter.RateLimiterInitialization.RpcRateLimiterItem;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.core.config.args.Args;
 import org.tron.core.metrics.MetricsKey;
 import org.tron.core.metrics.MetricsUtil;
@@ -108,12 +111,14 @@ public class RateLimiterInterceptor implements ServerInterceptor {
         .get(KEY_PREFIX_RPC, call.getMethodDescriptor().getFullMethodName());
 
     RuntimeData runtimeData = new RuntimeData(call);
-    GlobalRateLimiter.acquire(runtimeData);
-
-    boolean acquireResource = true;
-
-    if (rateLimiter != null) {
-      acquireResource = rateLimiter.acquire(runtimeData);
+    boolean acquireResource;
+
+    if (Args.getInstance().isRateLimiterNonBlocking()) {
+      acquireResource = GlobalRateLimiter.tryAcquire(runtimeData)
+          && (rateLimiter == null || rateLimiter.tryAcquire(runtimeData));
+    } else {
+      GlobalRateLimiter.acquire(runtimeData);
+      acquireResource = rateLimiter == null || rateLimiter.acquire(runtimeData);
     }
 
     Listener<ReqT> listener = new ServerCall.Listener<ReqT>() {
@@ -142,6 +147,9 @@ public class RateLimiterInterceptor implements ServerInterceptor {
           }
         };
       } else {
+        Metrics.counterInc(MetricKeys.Counter.RATE_LIMITER_REJECTED, 1,
+            MetricLabels.Counter.RATE_LIMITER_RPC,
+            call.getMethodDescriptor().getFullMethodName());
         call.close(Status.fromCode(Code.RESOURCE_EXHAUSTED), new Metadata());
       }
     } catch (Exception e) {
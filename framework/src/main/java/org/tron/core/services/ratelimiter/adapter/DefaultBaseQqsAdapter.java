@@ -15,4 +15,9 @@ public class DefaultBaseQqsAdapter implements IRateLimiter {
   public boolean acquire(RuntimeData data) {
     return strategy.acquire();
   }
+
+  @Override
+  public boolean tryAcquire(RuntimeData data) {
+    return strategy.tryAcquire();
+  }
 }
\ No newline at end of file
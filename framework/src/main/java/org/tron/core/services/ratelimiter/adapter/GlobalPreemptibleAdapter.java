@@ -22,4 +22,9 @@ public class GlobalPreemptibleAdapter implements IPreemptibleRateLimiter {
     return strategy.acquire();
   }
 
+  @Override
+  public boolean tryAcquire(RuntimeData data) {
+    return strategy.tryAcquire();
+  }
+
 }
\ No newline at end of file
@@ -16,4 +16,9 @@ public class IPQPSRateLimiterAdapter implements IRateLimiter {
     return strategy.acquire(data.getRemoteAddr());
   }
 
+  @Override
+  public boolean tryAcquire(RuntimeData data) {
+    return strategy.tryAcquire(data.getRemoteAddr());
+  }
+
 }
\ No newline at end of file
@@ -6,4 +6,9 @@ public interface IRateLimiter {
 
   boolean acquire(RuntimeData data);
 
+  /**
+   * like acquire, but returns at once instead of waiting for a permit.
+   */
+  boolean tryAcquire(RuntimeData data);
+
 }
@@ -16,4 +16,8 @@ public class QpsRateLimiterAdapter implements IRateLimiter {
     return strategy.acquire();
   }
 
+  @Override
+  public boolean tryAcquire(RuntimeData data) {
+    return strategy.tryAcquire();
+  }
 }
\ No newline at end of file
@@ -45,6 +45,10 @@ public class GlobalPreemptibleStrategy extends Strategy {
     return true;
   }
 
+  public boolean tryAcquire() {
+    return sp.tryAcquire();
+  }
+
   public void release() {
     sp.release();
   }
@@ -1,36 +1,29 @@
 package org.tron.core.services.ratelimiter.strategy;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.RateLimiter;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import org.tron.core.services.ratelimiter.KeyedTokenBuckets;
 
 public class IPQpsStrategy extends Strategy {
 
   public static final String STRATEGY_PARAM_IPQPS = "qps";
   public static final Double DEFAULT_IPQPS = 2D;
 
-  private Cache<String, RateLimiter> ipLimiter = CacheBuilder.newBuilder().maximumSize(10000)
-      .expireAfterWrite(600, TimeUnit.SECONDS).recordStats().build();
+  private final KeyedTokenBuckets ipLimiter;
 
   public IPQpsStrategy(String paramString) {
     super(paramString);
+    ipLimiter = new KeyedTokenBuckets((Double) mapParams.get(STRATEGY_PARAM_IPQPS).value,
+        10000);
   }
 
   public boolean acquire(String ip) {
-    RateLimiter limiter = ipLimiter.getIfPresent(ip);
-    if (limiter == null) {
-      limiter = newRateLimiter();
-      ipLimiter.put(ip, limiter);
-    }
-    limiter.acquire();
+    ipLimiter.acquire(ip);
     return true;
   }
 
-  private RateLimiter newRateLimiter() {
-    return RateLimiter.create((Double) mapParams.get(STRATEGY_PARAM_IPQPS).value);
+  public boolean tryAcquire(String ip) {
+    return ipLimiter.tryAcquire(ip);
   }
 
   // define the default strategy params.
@@ -40,4 +33,4 @@ public class IPQpsStrategy extends Strategy {
     map.put(STRATEGY_PARAM_IPQPS, new ParamItem(Double.class, DEFAULT_IPQPS));
     return map;
   }
-}
\ No newline at end of file
+}
@@ -29,4 +29,8 @@ public class QpsStrategy extends Strategy {
     rateLimiter.acquire();
     return true;
   }
+
+  public boolean tryAcquire() {
+    return rateLimiter.tryAcquire();
+  }
 }
\ No newline at end of file
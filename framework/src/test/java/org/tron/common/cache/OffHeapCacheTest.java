@@ -0,0 +1,99 @@
+package org.tron.common.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.utils.ByteArray;
+
+public class OffHeapCacheTest {
+
+  private static byte[] key(int i) {
+    return ByteArray.fromInt(i);
+  }
+
+  private static byte[] value(int i, int length) {
+    byte[] value = new byte[length];
+    new Random(i).nextBytes(value);
+    return value;
+  }
+
+  @Test
+  public void testPutGet() {
+    OffHeapCache cache = new OffHeapCache(CacheType.account, 1024 * 1024);
+    Assert.assertNull(cache.get(key(1)));
+    cache.put(key(1), value(1, 100));
+    Assert.assertArrayEquals(value(1, 100), cache.get(key(1)));
+
+    // replaced
+    cache.put(key(1), value(2, 30));
+    Assert.assertArrayEquals(value(2, 30), cache.get(key(1)));
+    Assert.assertEquals(1, cache.size());
+
+    // an empty value is kept
+    cache.put(key(2), new byte[0]);
+    Assert.assertArrayEquals(new byte[0], cache.get(key(2)));
+
+    cache.invalidate(key(1));
+    Assert.assertNull(cache.get(key(1)));
+    cache.put(key(2), null);
+    Assert.assertNull(cache.get(key(2)));
+    Assert.assertEquals(0, cache.size());
+
+    cache.put(key(3), value(3, 10));
+    cache.invalidateAll();
+    Assert.assertNull(cache.get(key(3)));
+    Assert.assertEquals(3, cache.hitCount());
+    Assert.assertEquals(4, cache.missCount());
+  }
+
+  @Test
+  public void testBounded() {
+    long capacity = 256 * 1024;
+    OffHeapCache cache = new OffHeapCache(CacheType.account, capacity);
+    Map<Integer, Integer> lengths = new HashMap<>();
+    Random random = new Random(0);
+    for (int i = 0; i < 20_000; i++) {
+      int length = 1 + random.nextInt(600);
+      lengths.put(i, length);
+      cache.put(key(i), value(i, length));
+      Assert.assertTrue(cache.usedBytes() <= capacity);
+    }
+    Assert.assertTrue(cache.evictionCount() > 0);
+    Assert.assertTrue(cache.size() < 20_000);
+    int cached = 0;
+    for (int i = 0; i < 20_000; i++) {
+      byte[] value = cache.get(key(i));
+      if (value != null) {
+        Assert.assertArrayEquals(value(i, lengths.get(i)), value);
+        cached++;
+      }
+    }
+    Assert.assertEquals(cache.size(), cached);
+    // the latest entries are kept
+    Assert.assertNotNull(cache.get(key(19_999)));
+
+    // too large to cache
+    cache.put(key(-1), new byte[(int) capacity / 16]);
+    Assert.assertNull(cache.get(key(-1)));
+  }
+
+  @Test
+  public void testHotEntriesKept() {
+    OffHeapCache cache = new OffHeapCache(CacheType.account, 256 * 1024);
+    for (int i = 0; i < 100; i++) {
+      cache.put(key(i), value(i, 200));
+    }
+    // read the hot entries while the cold ones stream through many times the capacity
+    for (int i = 100; i < 20_000; i++) {
+      cache.put(key(i), value(i, 200));
+      if (i % 50 == 0) {
+        for (int j = 0; j < 100; j++) {
+          Assert.assertArrayEquals(value(j, 200), cache.get(key(j)));
+        }
+      }
+    }
+    Assert.assertNull(cache.get(key(100)));
+  }
+}
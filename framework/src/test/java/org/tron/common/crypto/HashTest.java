@@ -0,0 +1,117 @@
+package org.tron.common.crypto;
+
+import java.security.MessageDigest;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.crypto.jce.TronCastleProvider;
+
+@Slf4j
+public class HashTest {
+
+  private static byte[] providerSha3(byte[] input, int start, int length) throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("TRON-KECCAK-256",
+        TronCastleProvider.getInstance());
+    digest.update(input, start, length);
+    return digest.digest();
+  }
+
+  @Test
+  public void testSameAsProvider() throws Exception {
+    Assert.assertEquals("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470",
+        Hex.toHexString(Hash.sha3(new byte[0])));
+    Random random = new Random(21);
+    // lengths around the 136 bytes block of keccak-256
+    for (int length = 0; length < 600; length++) {
+      byte[] input = new byte[length + 7];
+      random.nextBytes(input);
+      byte[] expected = providerSha3(input, 3, length);
+      Assert.assertArrayEquals(expected, Hash.sha3(input, 3, length));
+
+      byte[] output = new byte[40];
+      Hash.sha3(input, 3, length, output, 5);
+      byte[] written = new byte[32];
+      System.arraycopy(output, 5, written, 0, 32);
+      Assert.assertArrayEquals(expected, written);
+
+      byte[] whole = providerSha3(input, 0, input.length);
+      Assert.assertArrayEquals(whole, Hash.sha3(input));
+      byte[] first = new byte[3];
+      byte[] second = new byte[input.length - 3];
+      System.arraycopy(input, 0, first, 0, 3);
+      System.arraycopy(input, 3, second, 0, second.length);
+      Assert.assertArrayEquals(whole, Hash.sha3(first, second));
+    }
+  }
+
+  @Test
+  public void testBadArguments() {
+    byte[] input = new byte[10];
+    try {
+      Hash.sha3(input, 5, 6);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals("Input buffer too short", e.getMessage());
+    }
+    try {
+      Hash.sha3(input, 0, 10, new byte[40], 9);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals("Output buffer too short", e.getMessage());
+    }
+    try {
+      Hash.sha3(null, 0, 0);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals("No input buffer given", e.getMessage());
+    }
+    // as MessageDigest.update(byte[]) and the lengths read by the two arrays overload
+    try {
+      Hash.sha3(null);
+      Assert.fail();
+    } catch (NullPointerException e) {
+      // expected
+    }
+    try {
+      Hash.sha3(input, null);
+      Assert.fail();
+    } catch (NullPointerException e) {
+      // expected
+    }
+    // the engine of the thread is still usable
+    Assert.assertArrayEquals(Hash.sha3(new byte[0]), Hash.sha3(input, 0, 0));
+  }
+
+  /**
+   * Hashes of 32 bytes, 64 bytes and 1 KB inputs through a provider digest, as Hash.sha3 did,
+   * and through Hash.sha3.
+   */
+  @Ignore
+  @Test
+  public void benchmark() throws Exception {
+    int hashes = 1_000_000;
+    for (int round = 0; round < 3; round++) {
+      for (int length : new int[] {32, 64, 1024}) {
+        byte[] input = new byte[length];
+        new Random(length).nextBytes(input);
+        long start = System.nanoTime();
+        for (int i = 0; i < hashes; i++) {
+          input[0] = providerSha3(input, 0, length)[0];
+        }
+        long providerCost = (System.nanoTime() - start) / 1_000_000;
+        byte[] output = new byte[32];
+        start = System.nanoTime();
+        for (int i = 0; i < hashes; i++) {
+          Hash.sha3(input, 0, length, output, 0);
+          input[0] = output[0];
+        }
+        long directCost = (System.nanoTime() - start) / 1_000_000;
+        logger.info("{} hashes of {} bytes, provider: {} ms, thread local engine: {} ms",
+            hashes, length, providerCost, directCost);
+      }
+    }
+  }
+}
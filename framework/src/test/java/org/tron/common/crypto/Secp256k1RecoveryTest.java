@@ -0,0 +1,224 @@
+package org.tron.common.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.crypto.ECKey.ECDSASignature;
+
+@Slf4j
+public class Secp256k1RecoveryTest {
+
+  private static final BigInteger N = ECKey.CURVE.getN();
+
+  /**
+   * The recovery on the generic curve of ECKey, as before Secp256k1Recovery.
+   */
+  private static byte[] legacyRecover(int recId, BigInteger r, BigInteger s, byte[] messageHash) {
+    BigInteger x = r.add(BigInteger.valueOf((long) recId / 2).multiply(N));
+    if (x.compareTo(ECKey.CURVE.getCurve().getField().getCharacteristic()) >= 0) {
+      return null;
+    }
+    X9IntegerConverter x9 = new X9IntegerConverter();
+    byte[] compEnc = x9.integerToBytes(x, 1 + x9.getByteLength(ECKey.CURVE.getCurve()));
+    compEnc[0] = (byte) ((recId & 1) == 1 ? 0x03 : 0x02);
+    ECPoint point = ECKey.CURVE.getCurve().decodePoint(compEnc);
+    if (!point.multiply(N).isInfinity()) {
+      return null;
+    }
+    BigInteger e = new BigInteger(1, messageHash);
+    BigInteger eInv = BigInteger.ZERO.subtract(e).mod(N);
+    BigInteger rInv = r.modInverse(N);
+    BigInteger srInv = rInv.multiply(s).mod(N);
+    BigInteger eInvrInv = rInv.multiply(eInv).mod(N);
+    return ECAlgorithms.sumOfTwoMultiplies(ECKey.CURVE.getG(), eInvrInv, point, srInv)
+        .getEncoded(false);
+  }
+
+  /**
+   * @return the recovered key in hex, or the exception thrown
+   */
+  private static String outcome(Supplier<byte[]> recover) {
+    try {
+      byte[] key = recover.get();
+      return key == null ? "null" : Hex.toHexString(key);
+    } catch (RuntimeException e) {
+      return e.getClass().getName() + ": " + e.getMessage();
+    }
+  }
+
+  private static void assertSameAsLegacy(Random random, int vectors) {
+    for (int i = 0; i < vectors; i++) {
+      int recId = random.nextInt(4);
+      BigInteger r = new BigInteger(256, random);
+      BigInteger s = new BigInteger(256, random);
+      byte[] hash = new byte[32];
+      random.nextBytes(hash);
+      // small, zero and out of range components
+      if (i % 10 == 0) {
+        r = r.mod(BigInteger.valueOf(1000));
+      }
+      if (i % 13 == 0) {
+        s = BigInteger.ZERO;
+      }
+      if (i % 17 == 0) {
+        r = N.add(BigInteger.valueOf(random.nextInt(1000)));
+      }
+      if (i % 19 == 0) {
+        Arrays.fill(hash, (byte) 0);
+      }
+      BigInteger fr = r;
+      BigInteger fs = s;
+      Assert.assertEquals(outcome(() -> legacyRecover(recId, fr, fs, hash)),
+          outcome(() -> Secp256k1Recovery.recoverPubBytes(recId, fr, fs, hash)));
+    }
+  }
+
+  @Test
+  public void testSameAsLegacy() {
+    assertSameAsLegacy(new Random(22), 5_000);
+  }
+
+  @Test
+  public void testSignatures() throws Exception {
+    Random random = new Random(23);
+    for (int i = 0; i < 500; i++) {
+      ECKey key = new ECKey();
+      byte[] hash = new byte[32];
+      random.nextBytes(hash);
+      ECDSASignature signature = key.sign(hash);
+      Assert.assertArrayEquals(key.getPubKey(), ECKey.signatureToKeyBytes(hash, signature));
+      Assert.assertArrayEquals(key.getAddress(), SignUtils.signatureToAddress(hash,
+          signature.toBase64(), true));
+      Assert.assertArrayEquals(legacyRecover(signature.v - 27, signature.r, signature.s, hash),
+          Secp256k1Recovery.recoverPubBytes(signature.v - 27, signature.r, signature.s, hash));
+    }
+  }
+
+  @Test
+  public void testBatchSameAsSingle() {
+    Random random = new Random(26);
+    for (int round = 0; round < 200; round++) {
+      int count = 1 + random.nextInt(64);
+      int[] recIds = new int[count];
+      BigInteger[] rs = new BigInteger[count];
+      BigInteger[] ss = new BigInteger[count];
+      byte[][] hashes = new byte[count][32];
+      for (int i = 0; i < count; i++) {
+        random.nextBytes(hashes[i]);
+        if (random.nextInt(3) == 0) {
+          ECDSASignature signature = new ECKey().sign(hashes[i]);
+          recIds[i] = signature.v - 27;
+          rs[i] = signature.r;
+          ss[i] = signature.s;
+        } else {
+          recIds[i] = random.nextInt(4);
+          rs[i] = new BigInteger(256, random);
+          ss[i] = new BigInteger(256, random);
+        }
+        // skipped, zero and out of range components
+        switch (random.nextInt(8)) {
+          case 0:
+            rs[i] = null;
+            break;
+          case 1:
+            rs[i] = BigInteger.ZERO;
+            break;
+          case 2:
+            ss[i] = BigInteger.ZERO;
+            break;
+          case 3:
+            rs[i] = N.add(BigInteger.valueOf(random.nextInt(1000)));
+            break;
+          default:
+            break;
+        }
+      }
+      byte[][] keys = Secp256k1Recovery.recoverPubBytes(recIds, rs, ss, hashes);
+      for (int i = 0; i < count; i++) {
+        int index = i;
+        String expected = rs[i] == null ? "null" : outcome(() -> Secp256k1Recovery
+            .recoverPubBytes(recIds[index], rs[index], ss[index], hashes[index]));
+        if (expected.contains("Exception")) {
+          expected = "null";
+        }
+        Assert.assertEquals(expected, outcome(() -> keys[index]));
+      }
+    }
+  }
+
+  @Test
+  public void testSignaturesToAddresses() throws Exception {
+    byte[][] hashes = new byte[6][];
+    ECDSASignature[] signatures = new ECDSASignature[6];
+    for (int i = 0; i < 6; i++) {
+      hashes[i] = Hash.sha3(new byte[] {(byte) i});
+      signatures[i] = new ECKey().sign(hashes[i]);
+    }
+    // bad header, short hash, negative r, compressed header
+    signatures[1] = new ECDSASignature(signatures[1].r.toByteArray(),
+        signatures[1].s.toByteArray(), (byte) 40);
+    hashes[2] = new byte[20];
+    byte v = signatures[3].v;
+    signatures[3] = new ECDSASignature(signatures[3].r.negate(), signatures[3].s);
+    signatures[3].v = v;
+    signatures[4].v += 4;
+    byte[][] addresses = ECKey.signaturesToAddresses(hashes, signatures);
+    for (int i = 0; i < 6; i++) {
+      String expected;
+      try {
+        expected = Hex.toHexString(ECKey.signatureToAddress(hashes[i], signatures[i]));
+      } catch (Exception e) {
+        expected = "null";
+      }
+      Assert.assertEquals(expected, addresses[i] == null ? "null" : Hex.toHexString(addresses[i]));
+    }
+  }
+
+  /**
+   * Checks millions of random vectors against the generic recovery, then recovers the keys of
+   * real signatures on one thread with both.
+   */
+  @Ignore
+  @Test
+  public void benchmark() {
+    assertSameAsLegacy(new Random(24), 2_000_000);
+
+    Random random = new Random(25);
+    int signatures = 5_000;
+    ECDSASignature[] signed = new ECDSASignature[signatures];
+    byte[][] hashes = new byte[signatures][32];
+    for (int i = 0; i < signatures; i++) {
+      random.nextBytes(hashes[i]);
+      signed[i] = new ECKey().sign(hashes[i]);
+    }
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      int found = 0;
+      for (int i = 0; i < signatures; i++) {
+        ECDSASignature s = signed[i];
+        found += Objects.isNull(legacyRecover(s.v - 27, s.r, s.s, hashes[i])) ? 0 : 1;
+      }
+      long legacyCost = System.nanoTime() - start;
+      start = System.nanoTime();
+      for (int i = 0; i < signatures; i++) {
+        ECDSASignature s = signed[i];
+        found += Objects.isNull(Secp256k1Recovery.recoverPubBytes(s.v - 27, s.r, s.s,
+            hashes[i])) ? 0 : 1;
+      }
+      long cost = System.nanoTime() - start;
+      Assert.assertEquals(2 * signatures, found);
+      logger.info("recoveries per second on one core, generic curve: {}, secp256k1: {}",
+          signatures * 1_000_000_000L / legacyCost, signatures * 1_000_000_000L / cost);
+    }
+  }
+}
@@ -6,9 +6,11 @@ import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.util.encoders.Hex;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.testng.Assert;
 import org.tron.common.crypto.ECKey;
+import org.tron.common.crypto.ECKey.ECDSASignature;
 import org.tron.common.crypto.Hash;
 import org.tron.common.utils.StringUtil;
 import org.tron.common.utils.client.utils.AbiUtil;
@@ -123,6 +125,100 @@ public class BatchValidateSignContractTest {
     System.gc(); // force triggering full gc to avoid timeout for next test
   }
 
+  @Test
+  public void batchSameAsSingleTest() {
+    List<Object> signatures = new ArrayList<>();
+    List<Object> addresses = new ArrayList<>();
+    byte[] hash = Hash.sha3(longData);
+    for (int i = 0; i < 16; i++) {
+      ECKey key = new ECKey();
+      byte[] sign = key.sign(hash).toByteArray();
+      switch (i % 4) {
+        case 1:
+          // v out of range
+          sign[64] = 40;
+          break;
+        case 2:
+          // r of zero
+          Arrays.fill(sign, 0, 32, (byte) 0);
+          break;
+        case 3:
+          // s of another signature
+          System.arraycopy(new ECKey().sign(hash).toByteArray(), 32, sign, 32, 32);
+          break;
+        default:
+          break;
+      }
+      signatures.add(Hex.toHexString(sign));
+      addresses.add(StringUtil.encode58Check(key.getAddress()));
+    }
+    byte[] expected = new byte[32];
+    for (int i = 0; i < 16; i += 4) {
+      expected[i] = 1;
+    }
+    List<Object> parameters = Arrays.asList("0x" + Hex.toHexString(hash), signatures, addresses);
+    byte[] input = Hex.decode(AbiUtil.parseParameters(METHOD_SIGN, parameters));
+    for (boolean constant : new boolean[] {true, false}) {
+      contract.setConstantCall(constant);
+      // the energy depends on the input only, not on the recovery
+      Assert.assertEquals(contract.getEnergyForData(input), 16 * 1500);
+      Assert.assertEquals(validateMultiSign(hash, signatures, addresses).getValue(), expected);
+    }
+  }
+
+  /**
+   * Recovers batches of 16 to 64 signatures one by one and as a batch, then through the
+   * precompile at its maximum of 16 signatures.
+   */
+  @Ignore
+  @Test
+  public void benchmark() throws Exception {
+    byte[] hash = Hash.sha3(longData);
+    for (int size : new int[] {16, 32, 64}) {
+      ECDSASignature[] signs = new ECDSASignature[size];
+      byte[][] hashes = new byte[size][];
+      for (int i = 0; i < size; i++) {
+        signs[i] = new ECKey().sign(hash);
+        hashes[i] = hash;
+      }
+      for (int round = 0; round < 5; round++) {
+        int batches = 200;
+        long start = System.nanoTime();
+        for (int b = 0; b < batches; b++) {
+          for (int i = 0; i < size; i++) {
+            Assert.assertNotNull(ECKey.signatureToAddress(hash, signs[i]));
+          }
+        }
+        long single = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int b = 0; b < batches; b++) {
+          Assert.assertNotNull(ECKey.signaturesToAddresses(hashes, signs)[size - 1]);
+        }
+        long batch = System.nanoTime() - start;
+        logger.info("batches of {}, signatures per second one by one: {}, as a batch: {}", size,
+            batches * size * 1_000_000_000L / single, batches * size * 1_000_000_000L / batch);
+      }
+    }
+
+    List<Object> signatures = new ArrayList<>();
+    List<Object> addresses = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      ECKey key = new ECKey();
+      signatures.add(Hex.toHexString(key.sign(hash).toByteArray()));
+      addresses.add(StringUtil.encode58Check(key.getAddress()));
+    }
+    for (boolean constant : new boolean[] {true, false}) {
+      contract.setConstantCall(constant);
+      int calls = 200;
+      long start = System.nanoTime();
+      for (int i = 0; i < calls; i++) {
+        validateMultiSign(hash, signatures, addresses);
+      }
+      logger.info("constant call {}, signatures per second: {}", constant,
+          calls * 16 * 1_000_000_000L / (System.nanoTime() - start));
+    }
+  }
+
   Pair<Boolean, byte[]> validateMultiSign(byte[] hash, List<Object> signatures,
       List<Object> addresses) {
     List<Object> parameters = Arrays.asList("0x" + Hex.toHexString(hash), signatures, addresses);
@@ -0,0 +1,61 @@
+package org.tron.common.runtime.vm;
+
+import com.google.common.cache.CacheStats;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheType;
+import org.tron.common.crypto.Hash;
+import org.tron.core.vm.program.ProgramPrecompile;
+
+public class ProgramPrecompileTest {
+
+  @Test
+  public void testCompile() {
+    // JUMPDEST, PUSH2 0x5b5b, JUMPDEST, PUSH32 truncated by the end of the code: 0x5b
+    byte[] ops = Hex.decode("5b615b5b5b7f5b");
+    ProgramPrecompile precompile = ProgramPrecompile.compile(ops);
+
+    Assert.assertTrue(precompile.hasJumpDest(0));
+    Assert.assertFalse(precompile.hasJumpDest(2));
+    Assert.assertFalse(precompile.hasJumpDest(3));
+    Assert.assertTrue(precompile.hasJumpDest(4));
+    Assert.assertFalse(precompile.hasJumpDest(6));
+    Assert.assertFalse(precompile.hasJumpDest(-1));
+    Assert.assertFalse(precompile.hasJumpDest(ops.length));
+    Assert.assertFalse(precompile.hasJumpDest(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testCompileAcrossWords() {
+    byte[] ops = new byte[200];
+    for (int i = 0; i < ops.length; i++) {
+      ops[i] = (byte) (i % 3 == 0 ? 0x5b : 0x00);
+    }
+    ProgramPrecompile precompile = ProgramPrecompile.compile(ops);
+    for (int i = 0; i < ops.length; i++) {
+      Assert.assertEquals(i % 3 == 0, precompile.hasJumpDest(i));
+    }
+  }
+
+  @Test
+  public void testSharedCache() {
+    byte[] ops = Hex.decode("60005b600056");
+    byte[] codeHash = Hash.sha3(ops);
+    ProgramPrecompile first = ProgramPrecompile.load(codeHash, ops);
+    Assert.assertSame(first, ProgramPrecompile.load(codeHash, ops.clone()));
+    Assert.assertTrue(first.hasJumpDest(2));
+
+    // the cached analysis is not used for other code under the same hash
+    byte[] other = Hex.decode("5b00");
+    ProgramPrecompile second = ProgramPrecompile.load(codeHash, other);
+    Assert.assertNotSame(first, second);
+    Assert.assertTrue(second.hasJumpDest(0));
+    Assert.assertFalse(second.hasJumpDest(2));
+
+    CacheStats stats = CacheManager.stats().get(CacheType.jumpDestAnalysis.toString());
+    Assert.assertNotNull(stats);
+    Assert.assertTrue(stats.hitCount() >= 1);
+  }
+}
@@ -0,0 +1,59 @@
+package org.tron.common.runtime.vm;
+
+import java.util.EmptyStackException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.vm.program.Stack;
+
+public class StackTest {
+
+  @Test
+  public void testPushPop() {
+    Stack stack = new Stack();
+    stack.push(new DataWord(1));
+    stack.push(new DataWord(2));
+    stack.push(new DataWord(3));
+
+    Assert.assertEquals(3, stack.size());
+    Assert.assertEquals(new DataWord(3), stack.peek());
+    Assert.assertEquals(new DataWord(1), stack.get(0));
+
+    stack.swap(2, 0);
+    Assert.assertEquals(new DataWord(1), stack.pop());
+    Assert.assertEquals(new DataWord(2), stack.pop());
+    Assert.assertEquals(new DataWord(3), stack.pop());
+    Assert.assertTrue(stack.isEmpty());
+  }
+
+  @Test(expected = EmptyStackException.class)
+  public void testPopEmpty() {
+    new Stack().pop();
+  }
+
+  @Test
+  public void testCapacity() {
+    Stack stack = new Stack();
+    for (int i = 0; i < Stack.MAX_SIZE; i++) {
+      stack.push(new DataWord(i));
+    }
+    Assert.assertEquals(Stack.MAX_SIZE, stack.size());
+    try {
+      stack.push(DataWord.ZERO());
+      Assert.fail();
+    } catch (ArrayIndexOutOfBoundsException e) {
+      Assert.assertEquals(Stack.MAX_SIZE, stack.size());
+    }
+  }
+
+  @Test
+  public void testEquals() {
+    Stack a = new Stack();
+    Stack b = new Stack();
+    a.push(new DataWord(1));
+    b.push(new DataWord(1));
+    Assert.assertEquals(a, b);
+    Assert.assertEquals(a.hashCode(), b.hashCode());
+    b.push(new DataWord(2));
+    Assert.assertNotEquals(a, b);
+  }
+}
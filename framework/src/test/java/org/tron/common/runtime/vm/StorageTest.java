@@ -17,6 +17,7 @@ import org.tron.core.exception.ReceiptCheckErrException;
 import org.tron.core.exception.VMIllegalException;
 import org.tron.core.store.StoreFactory;
 import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.repository.EstimationRepository;
 import org.tron.core.vm.repository.Repository;
 import org.tron.core.vm.repository.RepositoryImpl;
 import org.tron.protos.Protocol.Transaction;
@@ -74,6 +75,41 @@ public class StorageTest extends VMTestBase {
         .getStorageValue(address, nullKey));
   }
 
+  @Test
+  public void readThroughEstimation() {
+    byte[] address = Hex.decode(OWNER_ADDRESS);
+    DataWord storageKey1 = new DataWord("key1".getBytes());
+    DataWord storageVal1 = new DataWord("val1".getBytes());
+    DataWord storageVal2 = new DataWord("val2".getBytes());
+    DataWord nullKey = new DataWord("nullkey".getBytes());
+
+    rootRepository.putStorageValue(address, storageKey1, storageVal1);
+    rootRepository.commit();
+
+    EstimationRepository estimation = new EstimationRepository(StoreFactory.getInstance());
+    Repository first = estimation.newExecution();
+    Assert.assertEquals(first.getStorageValue(address, storageKey1), storageVal1);
+    Assert.assertNull(first.getStorageValue(address, nullKey));
+    first.putStorageValue(address, storageKey1, storageVal2);
+    Assert.assertEquals(first.getStorageValue(address, storageKey1), storageVal2);
+    try {
+      first.commit();
+      Assert.fail();
+    } catch (UnsupportedOperationException e) {
+      Assert.assertEquals(e.getMessage(), "the repository of an estimate is read only");
+    }
+
+    // the rows read by the first execution are not read again from the store
+    Repository repository = RepositoryImpl.createRoot(StoreFactory.getInstance());
+    repository.putStorageValue(address, storageKey1, storageVal2);
+    repository.putStorageValue(address, nullKey, storageVal2);
+    repository.commit();
+    Repository second = estimation.newExecution();
+    Assert.assertEquals(second.getStorageValue(address, storageKey1), storageVal1);
+    Assert.assertNull(second.getStorageValue(address, nullKey));
+    Assert.assertEquals(estimation.getExecutions(), 2);
+  }
+
   /*
     pragma solidity ^0.4.0;
     contract StorageDemo{
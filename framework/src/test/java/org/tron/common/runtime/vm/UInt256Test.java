@@ -0,0 +1,201 @@
+package org.tron.common.runtime.vm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Differential test of {@link UInt256} against the {@link DataWord} arithmetic.
+ */
+@Slf4j
+public class UInt256Test {
+
+  private static final int ROUNDS = 20_000;
+
+  private final Random random = new Random(256);
+
+  private static byte[] hex(String value) {
+    return Hex.decode(value);
+  }
+
+  private List<byte[]> edgeValues() {
+    List<byte[]> values = new ArrayList<>();
+    values.add(new byte[32]);
+    values.add(new DataWord(1).getData());
+    values.add(new DataWord(2).getData());
+    values.add(new DataWord(255).getData());
+    values.add(new DataWord(0xFFFFFFFFL).getData());
+    values.add(new DataWord(0x100000000L).getData());
+    values.add(new DataWord(Long.MAX_VALUE).getData());
+    values.add(new DataWord(-1L).getData());
+    values.add(hex("ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
+    values.add(hex("8000000000000000000000000000000000000000000000000000000000000000"));
+    values.add(hex("7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
+    values.add(hex("0000000000000000000000000000000100000000000000000000000000000000"));
+    values.add(hex("00000000000000000000000000000000ffffffffffffffffffffffffffffffff"));
+    values.add(hex("0000000000000000000000000000000000000000000000000de0b6b3a7640000"));
+    values.add(hex("fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffe"));
+    return values;
+  }
+
+  // random values of random width, so both the short and the long division paths are hit
+  private byte[] randomValue() {
+    byte[] data = new byte[32];
+    int width = 1 + random.nextInt(32);
+    for (int i = 32 - width; i < 32; i++) {
+      data[i] = (byte) random.nextInt(256);
+    }
+    if (random.nextInt(8) == 0) {
+      data[0] |= (byte) 0x80;
+    }
+    return data;
+  }
+
+  private void check(String op, BiConsumer<DataWord, DataWord> expected,
+      BiFunction<UInt256, UInt256, UInt256> actual) {
+    List<byte[]> values = edgeValues();
+    for (byte[] a : values) {
+      for (byte[] b : values) {
+        check(op, a, b, expected, actual);
+      }
+    }
+    for (int i = 0; i < ROUNDS; i++) {
+      check(op, randomValue(), randomValue(), expected, actual);
+    }
+  }
+
+  private void check(String op, byte[] a, byte[] b, BiConsumer<DataWord, DataWord> expected,
+      BiFunction<UInt256, UInt256, UInt256> actual) {
+    DataWord word1 = new DataWord(a.clone());
+    expected.accept(word1, new DataWord(b.clone()));
+    UInt256 result = actual.apply(new UInt256().set(a), new UInt256().set(b));
+    Assert.assertEquals(op + " " + Hex.toHexString(a) + " " + Hex.toHexString(b),
+        word1.toString(), result.toString());
+  }
+
+  @Test
+  public void testArithmetic() {
+    check("add", DataWord::add, UInt256::add);
+    check("sub", DataWord::sub, UInt256::sub);
+    check("mul", DataWord::mul, UInt256::mul);
+    check("div", DataWord::div, UInt256::div);
+    check("sdiv", DataWord::sDiv, UInt256::sdiv);
+    check("mod", DataWord::mod, UInt256::mod);
+    check("smod", DataWord::sMod, UInt256::smod);
+  }
+
+  @Test
+  public void testExp() {
+    check("exp", DataWord::exp, UInt256::exp);
+    // self exponent, the operands are the same instance
+    UInt256 word = new UInt256().set(3);
+    DataWord expected = new DataWord(3);
+    expected.exp(new DataWord(3));
+    Assert.assertEquals(expected.toString(), word.exp(word).toString());
+  }
+
+  @Test
+  public void testShift() {
+    int[] shifts = {0, 1, 7, 8, 63, 64, 65, 127, 128, 129, 191, 192, 255, 256, 257, 1024};
+    for (byte[] value : edgeValues()) {
+      for (int shift : shifts) {
+        checkShift(value, shift);
+      }
+    }
+    for (int i = 0; i < ROUNDS; i++) {
+      checkShift(randomValue(), random.nextInt(300));
+    }
+  }
+
+  private void checkShift(byte[] value, int shift) {
+    DataWord arg = new DataWord(shift);
+    String message = "shift " + Hex.toHexString(value) + " " + shift;
+    Assert.assertEquals(message, new DataWord(value.clone()).shiftLeft(arg).toString(),
+        new UInt256().set(value).shiftLeft(shift).toString());
+    Assert.assertEquals(message, new DataWord(value.clone()).shiftRight(arg).toString(),
+        new UInt256().set(value).shiftRight(shift).toString());
+    Assert.assertEquals(message, new DataWord(value.clone()).shiftRightSigned(arg).toString(),
+        new UInt256().set(value).shiftRightSigned(shift).toString());
+  }
+
+  @Test
+  public void testCompareAndNot() {
+    for (int i = 0; i < ROUNDS; i++) {
+      byte[] a = randomValue();
+      byte[] b = random.nextInt(16) == 0 ? a.clone() : randomValue();
+      DataWord word1 = new DataWord(a.clone());
+      DataWord word2 = new DataWord(b.clone());
+      UInt256 u1 = new UInt256().set(a);
+      UInt256 u2 = new UInt256().set(b);
+      Assert.assertEquals(Integer.signum(word1.value().compareTo(word2.value())),
+          Integer.signum(u1.compareTo(u2)));
+      Assert.assertEquals(Integer.signum(word1.sValue().compareTo(word2.sValue())),
+          Integer.signum(u1.signedCompareTo(u2)));
+      word1.bnot();
+      Assert.assertEquals(word1.toString(), u1.not().toString());
+    }
+  }
+
+  @Test
+  public void testLoadAndStore() {
+    Assert.assertTrue(new UInt256().set(new byte[0]).isZero());
+    Assert.assertEquals(new DataWord(0x1234).toString(),
+        new UInt256().set(new byte[] {0x12, 0x34}).toString());
+
+    DataWord word = new DataWord(7);
+    byte[] data = word.getData();
+    word.set(new UInt256().set(9));
+    Assert.assertSame(data, word.getData());
+    Assert.assertEquals(new DataWord(9), word);
+  }
+
+  /**
+   * Cost of the arithmetic used by the interpreter hot opcodes, DataWord against UInt256.
+   */
+  @Ignore
+  @Test
+  public void benchmarkArithmetic() {
+    int rounds = 2_000_000;
+    byte[][] values = new byte[1024][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = randomValue();
+    }
+    bench("add", rounds, values, DataWord::add, UInt256::add);
+    bench("mul", rounds, values, DataWord::mul, UInt256::mul);
+    bench("div", rounds, values, DataWord::div, UInt256::div);
+    bench("exp", rounds / 10, values, DataWord::exp, UInt256::exp);
+  }
+
+  private void bench(String op, int rounds, byte[][] values,
+      BiConsumer<DataWord, DataWord> dataWordOp, BiFunction<UInt256, UInt256, UInt256> op256) {
+    int mask = values.length - 1;
+    long start = System.nanoTime();
+    long sink = 0;
+    for (int i = 0; i < rounds; i++) {
+      DataWord word1 = new DataWord(values[i & mask].clone());
+      dataWordOp.accept(word1, new DataWord(values[(i + 1) & mask]));
+      sink += word1.getData()[31];
+    }
+    long dataWordCost = (System.nanoTime() - start) / rounds;
+
+    UInt256 u1 = new UInt256();
+    UInt256 u2 = new UInt256();
+    byte[] out = new byte[32];
+    start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      op256.apply(u1.set(values[i & mask]), u2.set(values[(i + 1) & mask])).writeTo(out);
+      sink += out[31];
+    }
+    long uint256Cost = (System.nanoTime() - start) / rounds;
+
+    logger.info("{}: DataWord {} ns/op, UInt256 {} ns/op ({})", op, dataWordCost, uint256Cost,
+        sink);
+  }
+}
@@ -0,0 +1,87 @@
+package org.tron.common.runtime.vm;
+
+import java.lang.management.ManagementFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.runtime.TVMTestResult;
+import org.tron.common.runtime.TvmTestUtils;
+import org.tron.common.utils.client.Configuration;
+import org.tron.core.Constant;
+import org.tron.core.Wallet;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.StoreFactory;
+import org.tron.core.vm.repository.RepositoryImpl;
+import org.tron.protos.Protocol.AccountType;
+
+/**
+ * Latency and allocation of TRC-20 transfers run through the whole trigger path, which
+ * spends most of its time in VM.play stack and memory operations.
+ */
+@Slf4j
+@Ignore
+public class VmPlayBenchmarkTest extends BaseTest {
+
+  private static final String OWNER_ADDRESS;
+  private static final String RECEIVER_ADDRESS;
+  private static final long FEE_LIMIT = 1_000_000_000L;
+
+  static {
+    dbPath = "output_VmPlayBenchmarkTest";
+    Args.setParam(new String[]{"--output-directory", dbPath, "--debug"}, Constant.TEST_CONF);
+    OWNER_ADDRESS = Wallet.getAddressPreFixString() + "abd4b9367799eaa3197fecb144eb71de1e049abc";
+    RECEIVER_ADDRESS = Wallet.getAddressPreFixString() + "548794500882809695a8a687866e76d4271a1abc";
+  }
+
+  @Before
+  public void init() {
+    RepositoryImpl repository = RepositoryImpl.createRoot(StoreFactory.getInstance());
+    repository.createAccount(Hex.decode(OWNER_ADDRESS), AccountType.Normal);
+    repository.addBalance(Hex.decode(OWNER_ADDRESS), 30_000_000_000_000L);
+    repository.commit();
+  }
+
+  @Test
+  public void benchmarkTrc20Transfer() throws Exception {
+    String abi = Configuration.getByPath("testng.conf")
+        .getString("abi.abi_Scenario015_TRC20_TRON");
+    String code = Configuration.getByPath("testng.conf")
+        .getString("code.code_Scenario015_TRC20_TRON");
+    byte[] owner = Hex.decode(OWNER_ADDRESS);
+    TVMTestResult result = TvmTestUtils.deployContractAndReturnTvmTestResult("TRC20", owner,
+        abi, code, 0, FEE_LIMIT, 100, null, dbManager, null);
+    Assert.assertNull(result.getRuntime().getRuntimeError());
+    byte[] contractAddress = result.getContractAddress();
+
+    String params = Hex.toHexString(new DataWord(
+        new DataWord(Hex.decode(RECEIVER_ADDRESS)).getLast20Bytes()).getData())
+        + Hex.toHexString(new DataWord(1).getData());
+    byte[] data = TvmTestUtils.parseAbi("transfer(address,uint256)", params);
+
+    com.sun.management.ThreadMXBean threadBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    int warmup = 2_000;
+    int rounds = 10_000;
+    for (int i = 0; i < warmup; i++) {
+      TvmTestUtils.triggerContractAndReturnTvmTestResult(owner, contractAddress, data, 0,
+          FEE_LIMIT, dbManager, null);
+    }
+
+    long allocated = threadBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      result = TvmTestUtils.triggerContractAndReturnTvmTestResult(owner, contractAddress, data,
+          0, FEE_LIMIT, dbManager, null);
+    }
+    long cost = (System.nanoTime() - start) / rounds;
+    allocated = (threadBean.getThreadAllocatedBytes(threadId) - allocated) / rounds;
+    Assert.assertNull(result.getRuntime().getRuntimeError());
+
+    logger.info("trc20 transfer: {} ns/op, {} B/op allocated", cost, allocated);
+  }
+}
@@ -0,0 +1,218 @@
+package org.tron.common.storage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.args.Args;
+
+@Slf4j
+public class StripedReadWriteLockTest {
+
+  @Test
+  public void testWriterWaitsForReaders() throws Exception {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      lock.readLock().lock();
+      AtomicBoolean written = new AtomicBoolean();
+      Future<?> writer = executor.submit(() -> {
+        lock.writeLock().lock();
+        written.set(true);
+        lock.writeLock().unlock();
+      });
+      Thread.sleep(200);
+      Assert.assertFalse(written.get());
+      lock.readLock().unlock();
+      writer.get(5, TimeUnit.SECONDS);
+      Assert.assertTrue(written.get());
+
+      lock.writeLock().lock();
+      // reentrant, and the holder may read
+      lock.writeLock().lock();
+      lock.readLock().lock();
+      lock.readLock().unlock();
+      lock.writeLock().unlock();
+      AtomicBoolean read = new AtomicBoolean();
+      Future<?> reader = executor.submit(() -> {
+        lock.readLock().lock();
+        read.set(true);
+        lock.readLock().unlock();
+      });
+      Thread.sleep(200);
+      Assert.assertFalse(read.get());
+      lock.writeLock().unlock();
+      reader.get(5, TimeUnit.SECONDS);
+      Assert.assertTrue(read.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testTryLock() throws Exception {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    ExecutorService executor = Executors.newFixedThreadPool(1);
+    try {
+      lock.readLock().lock();
+      Assert.assertFalse(executor.submit(() -> lock.writeLock().tryLock()).get());
+      Assert.assertFalse(executor.submit(
+          () -> lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS)).get());
+      // a writer that gave up lets the readers in
+      Assert.assertTrue(executor.submit(() -> {
+        boolean locked = lock.readLock().tryLock();
+        lock.readLock().unlock();
+        return locked;
+      }).get());
+      lock.readLock().unlock();
+
+      Assert.assertTrue(lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS));
+      Assert.assertTrue(lock.readLock().tryLock());
+      lock.readLock().unlock();
+      Assert.assertFalse(executor.submit(() -> lock.readLock().tryLock()).get());
+      Assert.assertFalse(executor.submit(
+          () -> lock.readLock().tryLock(100, TimeUnit.MILLISECONDS)).get());
+      lock.writeLock().unlock();
+      Assert.assertTrue(executor.submit(() -> {
+        boolean locked = lock.readLock().tryLock(100, TimeUnit.MILLISECONDS);
+        lock.readLock().unlock();
+        return locked;
+      }).get());
+
+      lock.readLock().lock();
+      Thread.currentThread().interrupt();
+      try {
+        lock.writeLock().lockInterruptibly();
+        Assert.fail();
+      } catch (InterruptedException e) {
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+      } finally {
+        lock.readLock().unlock();
+      }
+      lock.writeLock().lockInterruptibly();
+      lock.writeLock().unlock();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testExclusion() throws Exception {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    AtomicLong readers = new AtomicLong();
+    AtomicBoolean failed = new AtomicBoolean();
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+    CountDownLatch done = new CountDownLatch(threads);
+    try {
+      for (int t = 0; t < threads; t++) {
+        executor.submit(() -> {
+          for (int i = 0; i < 200_000; i++) {
+            lock.readLock().lock();
+            readers.incrementAndGet();
+            readers.decrementAndGet();
+            lock.readLock().unlock();
+          }
+          done.countDown();
+        });
+      }
+      executor.submit(() -> {
+        while (done.getCount() > 0) {
+          lock.writeLock().lock();
+          if (readers.get() != 0) {
+            failed.set(true);
+          }
+          lock.writeLock().unlock();
+          Thread.yield();
+        }
+      });
+      Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+      Assert.assertFalse(failed.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static long readAll(int threads, Runnable read) throws Exception {
+    int reads = 2_000_000 / threads;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      long start = System.nanoTime();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < reads; i++) {
+            read.run();
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      return (System.nanoTime() - start) / 1_000_000;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static long readLocked(int threads, ReadWriteLock lock) throws Exception {
+    long[] value = new long[] {7};
+    return readAll(threads, () -> {
+      lock.readLock().lock();
+      try {
+        Assert.assertEquals(7, value[0]);
+      } finally {
+        lock.readLock().unlock();
+      }
+    });
+  }
+
+  /**
+   * 2M reads spread over 1 to 64 threads, of the locks alone and of a database behind the
+   * striped lock.
+   */
+  @Ignore
+  @Test
+  public void benchmark() throws Exception {
+    String dbPath = "output-striped-lock-test";
+    Args.setParam(new String[] {"-d", dbPath}, Constant.TEST_CONF);
+    LevelDbDataSourceImpl db = new LevelDbDataSourceImpl(dbPath, "benchmark");
+    db.initDB();
+    for (int i = 0; i < 10_000; i++) {
+      db.putData(ByteArray.fromInt(i), ByteArray.fromLong(i));
+    }
+    try {
+      for (int round = 0; round < 3; round++) {
+        for (int threads : new int[] {1, 8, 32, 64}) {
+          long reentrant = readLocked(threads, new ReentrantReadWriteLock());
+          long striped = readLocked(threads, new StripedReadWriteLock());
+          long leveldb = readAll(threads,
+              () -> db.getData(ByteArray.fromInt(ThreadLocalRandom.current().nextInt(10_000))));
+          logger.info("{} threads, ReentrantReadWriteLock: {} ms, StripedReadWriteLock: {} ms,"
+              + " leveldb: {} ms", threads, reentrant, striped, leveldb);
+        }
+      }
+    } finally {
+      db.closeDB();
+      Args.clearParam();
+      FileUtil.deleteDir(new File(dbPath));
+    }
+  }
+}
@@ -2,13 +2,21 @@ package org.tron.core.capsule;
 
 import com.google.protobuf.ByteString;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.tron.common.crypto.SignUtils;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.FileUtil;
 import org.tron.common.utils.LocalWitnesses;
@@ -18,6 +26,7 @@ import org.tron.core.Constant;
 import org.tron.core.Wallet;
 import org.tron.core.config.args.Args;
 import org.tron.core.exception.BadItemException;
+import org.tron.core.store.DynamicPropertiesStore;
 import org.tron.protos.Protocol.Transaction.Contract.ContractType;
 import org.tron.protos.contract.BalanceContract.TransferContract;
 
@@ -146,4 +155,84 @@ public class BlockCapsuleTest {
     Assert.assertEquals(1234L, blockCapsule0.getTimeStamp());
   }
 
+  @Test
+  public void testPreValidate() throws Exception {
+    BlockCapsule block = createSignedBlock(10);
+    Sha256Hash merkleRoot = block.calcMerkleRoot();
+    block.preValidate();
+    Assert.assertEquals(merkleRoot, block.getCalculatedMerkleRoot());
+    Assert.assertEquals(block.getMerkleRoot(), block.getCalculatedMerkleRoot());
+
+    DynamicPropertiesStore dynamicPropertiesStore = Mockito.mock(DynamicPropertiesStore.class);
+    Mockito.when(dynamicPropertiesStore.getAllowMultiSign()).thenReturn(0L);
+    Assert.assertTrue(block.validateSignature(dynamicPropertiesStore, null));
+  }
+
+  /**
+   * Sync throughput of the state independent block checks, serial against the
+   * pre-validate pool used by SyncService.
+   */
+  @Ignore
+  @Test
+  public void benchmarkPreValidate() throws Exception {
+    int blockCount = 64;
+    int txCount = 1000;
+    List<BlockCapsule> serial = new ArrayList<>();
+    List<BlockCapsule> parallel = new ArrayList<>();
+    for (int i = 0; i < blockCount; i++) {
+      BlockCapsule block = createSignedBlock(txCount);
+      serial.add(new BlockCapsule(block.getData()));
+      parallel.add(new BlockCapsule(block.getData()));
+    }
+
+    long start = System.currentTimeMillis();
+    for (BlockCapsule block : serial) {
+      block.preValidate();
+    }
+    long serialCost = System.currentTimeMillis() - start;
+
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors());
+    start = System.currentTimeMillis();
+    List<Future<?>> futures = new ArrayList<>();
+    for (BlockCapsule block : parallel) {
+      futures.add(executor.submit(() -> {
+        block.preValidate();
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long parallelCost = System.currentTimeMillis() - start;
+    executor.shutdown();
+
+    logger.info("blocks: {}, txs per block: {}, serial: {} blocks/s, parallel: {} blocks/s",
+        blockCount, txCount, blockCount * 1000 / Math.max(1, serialCost),
+        blockCount * 1000 / Math.max(1, parallelCost));
+  }
+
+  private BlockCapsule createSignedBlock(int txCount) {
+    byte[] key = ByteArray.fromHexString(privateKey);
+    ByteString witness = ByteString.copyFrom(
+        SignUtils.fromPrivate(key, Args.getInstance().isECKeyCryptoEngine()).getAddress());
+    BlockCapsule block = new BlockCapsule(2, Sha256Hash.ZERO_HASH,
+        System.currentTimeMillis(), witness);
+    for (int i = 0; i < txCount; i++) {
+      TransferContract transferContract = TransferContract.newBuilder()
+          .setAmount(i + 1)
+          .setOwnerAddress(witness)
+          .setToAddress(ByteString.copyFrom(ByteArray.fromHexString(
+              (Wallet.getAddressPreFixString() + "A389132D6639FBDA4FBC8B659264E6B7C90DB086"))))
+          .build();
+      TransactionCapsule tx = new TransactionCapsule(transferContract,
+          ContractType.TransferContract);
+      tx.sign(key);
+      block.addTransaction(tx);
+    }
+    block.setMerkleRoot();
+    block.sign(key);
+    return block;
+  }
+
 }
@@ -0,0 +1,45 @@
+package org.tron.core.capsule.utils;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.utils.Sha256Hash;
+
+public class RecoveredSignerCacheTest {
+
+  private static ByteString sign(ECKey key, byte[] hash) {
+    return ByteString.copyFrom(key.Base64toBytes(key.signHash(hash)));
+  }
+
+  @Test
+  public void testRecover() throws Exception {
+    ECKey key = new ECKey();
+    byte[] hash = Sha256Hash.of(true, "testRecover".getBytes()).getBytes();
+    ByteString sig = sign(key, hash);
+
+    Assert.assertArrayEquals(key.getAddress(),
+        RecoveredSignerCache.signatureToAddress(hash, 0, sig));
+    // served from the cache
+    Assert.assertArrayEquals(key.getAddress(),
+        RecoveredSignerCache.signatureToAddress(hash, 0, sig));
+
+    // the returned address is a copy
+    RecoveredSignerCache.signatureToAddress(hash, 0, sig)[0] = 0;
+    Assert.assertArrayEquals(key.getAddress(),
+        RecoveredSignerCache.signatureToAddress(hash, 0, sig));
+  }
+
+  @Test
+  public void testOtherSignatureAtSameIndex() throws Exception {
+    ECKey key = new ECKey();
+    ECKey other = new ECKey();
+    byte[] hash = Sha256Hash.of(true, "testOtherSignature".getBytes()).getBytes();
+
+    Assert.assertArrayEquals(key.getAddress(),
+        RecoveredSignerCache.signatureToAddress(hash, 0, sign(key, hash)));
+    // the txid does not cover the signatures, a different one must not hit the cache
+    Assert.assertArrayEquals(other.getAddress(),
+        RecoveredSignerCache.signatureToAddress(hash, 0, sign(other, hash)));
+  }
+}
@@ -0,0 +1,120 @@
+package org.tron.core.consensus;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import javax.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.consensus.dpos.VoteTally;
+import org.tron.core.Constant;
+import org.tron.core.capsule.VotesCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.VotesStore;
+import org.tron.keystore.Wallet;
+import org.tron.protos.Protocol.Vote;
+
+@Slf4j
+public class VoteTallyTest extends BaseTest {
+
+  private final Random random = new Random(19);
+  private final List<ByteString> witnesses = new ArrayList<>();
+
+  @Resource
+  private VotesStore votesStore;
+
+  static {
+    dbPath = "output_vote_tally_test";
+    Args.setParam(new String[] {"-d", dbPath}, Constant.TEST_CONF);
+  }
+
+  private List<Vote> votes() {
+    List<Vote> votes = new ArrayList<>();
+    int count = random.nextInt(6);
+    for (int i = 0; i < count; i++) {
+      votes.add(Vote.newBuilder()
+          .setVoteAddress(witnesses.get(random.nextInt(witnesses.size())))
+          .setVoteCount(1 + random.nextInt(Integer.MAX_VALUE))
+          .build());
+    }
+    return votes;
+  }
+
+  private void putVotes(int accounts) {
+    for (int i = 0; i < 127; i++) {
+      witnesses.add(ByteString.copyFrom(Wallet.generateRandomBytes(21)));
+    }
+    for (int i = 0; i < accounts; i++) {
+      ByteString address = ByteString.copyFrom(Wallet.generateRandomBytes(21));
+      votesStore.put(address.toByteArray(), new VotesCapsule(address, votes(), votes()));
+    }
+  }
+
+  /**
+   * Counts the votes entry by entry, as MaintenanceManager did before the tally.
+   */
+  private Map<ByteString, Long> loopCount() {
+    Map<ByteString, Long> countWitness = new HashMap<>();
+    Iterator<Entry<byte[], VotesCapsule>> dbIterator = votesStore.iterator();
+    while (dbIterator.hasNext()) {
+      VotesCapsule votes = dbIterator.next().getValue();
+      votes.getOldVotes().forEach(vote ->
+          countWitness.merge(vote.getVoteAddress(), -vote.getVoteCount(), Long::sum));
+      votes.getNewVotes().forEach(vote ->
+          countWitness.merge(vote.getVoteAddress(), vote.getVoteCount(), Long::sum));
+    }
+    return countWitness;
+  }
+
+  @Test
+  public void testSameAsLoop() {
+    putVotes(5_000);
+    Map<ByteString, Long> expected = loopCount();
+
+    for (int[] setting : new int[][] {{1, 1}, {7, 3}, {100, 8}, {10_000, 2}}) {
+      VoteTally tally = new VoteTally(setting[0], setting[1]).count(votesStore.dataIterator());
+      Assert.assertEquals(5_000, tally.size());
+      Map<ByteString, Long> result = tally.result();
+      Assert.assertEquals(expected, result);
+      // the same iteration order as well
+      Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(result.keySet()));
+    }
+
+    VoteTally tally = new VoteTally().count(votesStore.dataIterator());
+    votesStore.delete(tally.getKeys());
+    Assert.assertFalse(votesStore.iterator().hasNext());
+    Assert.assertTrue(new VoteTally().count(votesStore.dataIterator()).result().isEmpty());
+  }
+
+  /**
+   * Counts the votes of a maintenance block with 1M accounts changing their votes, entry by
+   * entry as before and with the tally, then deletes them.
+   */
+  @Ignore
+  @Test
+  public void benchmark() {
+    putVotes(1_000_000);
+    for (int round = 0; round < 3; round++) {
+      long start = System.nanoTime();
+      Map<ByteString, Long> expected = loopCount();
+      long loopCost = (System.nanoTime() - start) / 1_000_000;
+      start = System.nanoTime();
+      VoteTally tally = new VoteTally().count(votesStore.dataIterator());
+      long tallyCost = (System.nanoTime() - start) / 1_000_000;
+      Assert.assertEquals(expected, tally.result());
+      logger.info("count 1M votes, loop: {} ms, tally: {} ms", loopCost, tallyCost);
+    }
+    VoteTally tally = new VoteTally().count(votesStore.dataIterator());
+    long start = System.nanoTime();
+    votesStore.delete(tally.getKeys());
+    logger.info("delete 1M votes: {} ms", (System.nanoTime() - start) / 1_000_000);
+  }
+}
@@ -28,7 +28,6 @@ import org.tron.common.crypto.ECKey;
 import org.tron.common.runtime.RuntimeImpl;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.FileUtil;
-import org.tron.common.utils.JsonUtil;
 import org.tron.common.utils.LocalWitnesses;
 import org.tron.common.utils.PublicMethod;
 import org.tron.common.utils.ReflectUtils;
@@ -187,7 +186,7 @@ public class ManagerTest extends BlockGenerate {
     Assert.assertEquals(1, chainManager.getRecentTransactionStore().size());
     byte[] key = ByteArray.subArray(ByteArray.fromLong(1), 6, 8);
     byte[] value = chainManager.getRecentTransactionStore().get(key).getData();
-    RecentTransactionItem item = JsonUtil.json2Obj(new String(value), RecentTransactionItem.class);
+    RecentTransactionItem item = RecentTransactionItem.decode(value);
     Assert.assertEquals(1, item.getNum());
     Assert.assertEquals(1, item.getTransactionIds().size());
     Assert.assertEquals(trx.getTransactionId().toString(), item.getTransactionIds().get(0));
@@ -780,7 +779,7 @@ public class ManagerTest extends BlockGenerate {
     List<TransactionCapsule> txs = dbManager.getVerifyTxs(capsule);
     Assert.assertEquals(txs.size(), 1);
 
-    dbManager.getPendingTransactions().add(t1);
+    dbManager.getTransactionPool().add(t1);
     txs = dbManager.getVerifyTxs(capsule);
     Assert.assertEquals(txs.size(), 0);
 
@@ -789,7 +788,7 @@ public class ManagerTest extends BlockGenerate {
     txs = dbManager.getVerifyTxs(capsule);
     Assert.assertEquals(txs.size(), 1);
 
-    dbManager.getPendingTransactions().add(t3);
+    dbManager.getTransactionPool().add(t3);
     txs = dbManager.getVerifyTxs(capsule);
     Assert.assertEquals(txs.size(), 2);
   }
@@ -0,0 +1,165 @@
+package org.tron.core.db;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.JsonUtil;
+import org.tron.core.Constant;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.keystore.Wallet;
+
+@Slf4j
+public class RecentTransactionStoreTest extends BaseTest {
+
+  static {
+    dbPath = "output_recent_transaction_store_test";
+    Args.setParam(new String[] {"-d", dbPath}, Constant.TEST_CONF);
+  }
+
+  private static List<byte[]> ids(int count) {
+    List<byte[]> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(Wallet.generateRandomBytes(32));
+    }
+    return ids;
+  }
+
+  private static byte[] json(long num, List<byte[]> ids) {
+    List<String> list = new ArrayList<>(ids.size());
+    ids.forEach(id -> list.add(Hex.toHexString(id)));
+    return JsonUtil.obj2Json(new RecentTransactionItem(num, list)).getBytes();
+  }
+
+  private static byte[] key(long num) {
+    return ByteArray.subArray(ByteArray.fromLong(num), 6, 8);
+  }
+
+  private static void assertItem(long num, List<byte[]> ids, byte[] data) {
+    RecentTransactionItem item = RecentTransactionItem.decode(data);
+    Assert.assertEquals(num, item.getNum());
+    Assert.assertEquals(ids.size(), item.getTransactionIds().size());
+    List<byte[]> raw = new ArrayList<>();
+    RecentTransactionItem.forEachTransactionId(data, raw::add);
+    for (int i = 0; i < ids.size(); i++) {
+      Assert.assertEquals(Hex.toHexString(ids.get(i)), item.getTransactionIds().get(i));
+      Assert.assertArrayEquals(ids.get(i), raw.get(i));
+    }
+  }
+
+  @Test
+  public void testEncode() {
+    List<byte[]> ids = ids(3);
+    byte[] data = RecentTransactionItem.encode(1234567, ids);
+    Assert.assertEquals(8 + 3 * 32, data.length);
+    Assert.assertFalse(RecentTransactionItem.isJson(data));
+    assertItem(1234567, ids, data);
+
+    byte[] empty = RecentTransactionItem.encode(7, new ArrayList<>());
+    assertItem(7, new ArrayList<>(), empty);
+    Assert.assertNull(RecentTransactionItem.decode(null));
+  }
+
+  @Test
+  public void testReadJson() {
+    List<byte[]> ids = ids(5);
+    byte[] data = json(99, ids);
+    Assert.assertTrue(RecentTransactionItem.isJson(data));
+    assertItem(99, ids, data);
+  }
+
+  @Test
+  public void testMigrate() throws Exception {
+    RecentTransactionStore store = chainBaseManager.getRecentTransactionStore();
+    List<byte[]> jsonIds = ids(4);
+    List<byte[]> binaryIds = ids(2);
+    store.put(key(70000), new BytesCapsule(json(70000, jsonIds)));
+    store.put(key(70001), new BytesCapsule(RecentTransactionItem.encode(70001, binaryIds)));
+    store.put(key(65535), new BytesCapsule(json(65535, new ArrayList<>())));
+
+    // the rewrites and the progress of a reverted block are reverted together
+    try (ISession tmpSession = dbManager.getRevokingStore().buildSession()) {
+      Assert.assertFalse(store.migrate(8192));
+      Assert.assertEquals(8192, chainBaseManager.getDynamicPropertiesStore()
+          .getRecentTransactionMigrateCursor());
+      Assert.assertFalse(RecentTransactionItem.isJson(store.get(key(70000)).getData()));
+    }
+    Assert.assertEquals(0, chainBaseManager.getDynamicPropertiesStore()
+        .getRecentTransactionMigrateCursor());
+    Assert.assertTrue(RecentTransactionItem.isJson(store.get(key(70000)).getData()));
+
+    int calls = 0;
+    while (!store.migrate(4096)) {
+      calls++;
+    }
+    Assert.assertEquals(15, calls);
+    Assert.assertTrue(store.migrate(4096));
+
+    byte[] data = store.get(key(70000)).getData();
+    Assert.assertFalse(RecentTransactionItem.isJson(data));
+    Assert.assertArrayEquals(RecentTransactionItem.encode(70000, jsonIds), data);
+    Assert.assertArrayEquals(RecentTransactionItem.encode(70001, binaryIds),
+        store.get(key(70001)).getData());
+    Assert.assertArrayEquals(RecentTransactionItem.encode(65535, new ArrayList<>()),
+        store.get(key(65535)).getData());
+  }
+
+  /**
+   * Reads a full store, 65_536 blocks of 300 transactions, in both formats as TxCacheDB.init
+   * does, and writes the entry of a block as Manager.updateRecentTransaction does.
+   */
+  @Ignore
+  @Test
+  public void benchmark() {
+    int blocks = 65_536;
+    List<byte[]> ids = ids(300);
+    byte[] json = json(1, ids);
+    byte[] binary = RecentTransactionItem.encode(1, ids);
+    logger.info("entry bytes, json: {}, binary: {}", json.length, binary.length);
+
+    for (int round = 0; round < 3; round++) {
+      long start = System.nanoTime();
+      long count = 0;
+      for (int i = 0; i < blocks; i++) {
+        count += JsonUtil.json2Obj(new String(json), RecentTransactionItem.class)
+            .getTransactionIds().stream().map(Hex::decode).count();
+      }
+      long jsonCost = (System.nanoTime() - start) / 1_000_000;
+      start = System.nanoTime();
+      long[] binaryCount = new long[1];
+      for (int i = 0; i < blocks; i++) {
+        RecentTransactionItem.forEachTransactionId(binary, id -> binaryCount[0]++);
+      }
+      long binaryCost = (System.nanoTime() - start) / 1_000_000;
+      Assert.assertEquals(count, binaryCount[0]);
+      logger.info("load {} blocks, json: {} ms, binary: {} ms", blocks, jsonCost, binaryCost);
+    }
+
+    ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    int writes = 1000;
+    long allocated = bean.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < writes; i++) {
+      List<String> list = new ArrayList<>(ids.size());
+      ids.forEach(id -> list.add(Hex.toHexString(id)));
+      Assert.assertNotNull(JsonUtil.obj2Json(new RecentTransactionItem(i, list)).getBytes());
+    }
+    long jsonAllocated = (bean.getThreadAllocatedBytes(thread) - allocated) / writes;
+    allocated = bean.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < writes; i++) {
+      Assert.assertNotNull(RecentTransactionItem.encode(i, new ArrayList<>(ids)));
+    }
+    long binaryAllocated = (bean.getThreadAllocatedBytes(thread) - allocated) / writes;
+    logger.info("allocated per block, json: {} bytes, binary: {} bytes",
+        jsonAllocated, binaryAllocated);
+  }
+}
@@ -0,0 +1,164 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+@Slf4j
+public class TransactionPoolTest {
+
+  private static final long TIMEOUT = 60_000L;
+
+  private static TransactionCapsule createTransaction(String owner, long amount, long time,
+      long order) {
+    TransferContract contract = TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner.getBytes()))
+        .setAmount(amount).build();
+    TransactionCapsule tx = new TransactionCapsule(contract, ContractType.TransferContract);
+    tx.setTime(time);
+    tx.setOrder(order);
+    return tx;
+  }
+
+  @Test
+  public void testLookupAndOwners() {
+    TransactionPool pool = new TransactionPool(false);
+    long now = System.currentTimeMillis();
+    TransactionCapsule t1 = createTransaction("a1", 1, now, 0);
+    TransactionCapsule t2 = createTransaction("a2", 2, now, 0);
+
+    Assert.assertTrue(pool.add(t1));
+    Assert.assertFalse(pool.add(t1));
+    Assert.assertTrue(pool.add(t2));
+    Assert.assertEquals(2, pool.size());
+    Assert.assertSame(t1, pool.get(t1.getTransactionId()));
+    Assert.assertTrue(pool.isPending(t2.getTransactionId()));
+    Assert.assertTrue(pool.getTxIds().contains(t1.getTransactionId().toString()));
+    Assert.assertTrue(pool.containsOwner(ByteArray.toHexString("a1".getBytes())));
+
+    Assert.assertSame(t1, pool.poll());
+    Assert.assertNull(pool.get(t1.getTransactionId()));
+    Assert.assertFalse(pool.containsOwner(ByteArray.toHexString("a1".getBytes())));
+    Assert.assertTrue(pool.containsOwner(ByteArray.toHexString("a2".getBytes())));
+  }
+
+  @Test
+  public void testRotate() {
+    TransactionPool pool = new TransactionPool(false);
+    long now = System.currentTimeMillis();
+    TransactionCapsule t1 = createTransaction("a1", 1, now, 0);
+    TransactionCapsule t2 = createTransaction("a1", 2, now - TIMEOUT - 1, 0);
+    TransactionCapsule t3 = createTransaction("a1", 3, now, 0);
+    pool.add(t1);
+    pool.add(t2);
+
+    List<TransactionCapsule> expired = pool.rotate(now, TIMEOUT);
+    Assert.assertEquals(1, expired.size());
+    Assert.assertSame(t2, expired.get(0));
+    Assert.assertEquals(0, pool.getPendingSize());
+    Assert.assertEquals(1, pool.getRePushSize());
+    Assert.assertFalse(pool.isPending(t1.getTransactionId()));
+    Assert.assertSame(t1, pool.peekRePush());
+
+    // pending is packed before repush
+    pool.add(t3);
+    Assert.assertSame(t3, pool.poll());
+    Assert.assertSame(t1, pool.poll());
+    Assert.assertNull(pool.poll());
+    Assert.assertTrue(pool.isEmpty());
+  }
+
+  @Test
+  public void testRePush() {
+    TransactionPool pool = new TransactionPool(false);
+    long now = System.currentTimeMillis();
+    TransactionCapsule t1 = createTransaction("a1", 1, now, 0);
+    TransactionCapsule t2 = createTransaction("a2", 2, now, 0);
+    pool.add(t1);
+    pool.add(t2);
+    pool.rotate(now, TIMEOUT);
+
+    // a re-pushed transaction goes back to the pending lane
+    Assert.assertSame(t1, pool.peekRePush());
+    Assert.assertTrue(pool.add(t1));
+    Assert.assertFalse(pool.removeRePush(t1));
+    Assert.assertTrue(pool.isPending(t1.getTransactionId()));
+
+    Assert.assertSame(t2, pool.peekRePush());
+    Assert.assertTrue(pool.removeRePush(t2));
+    Assert.assertNull(pool.peekRePush());
+    Assert.assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testSortAcrossSegments() {
+    TransactionPool pool = new TransactionPool(true);
+    long now = System.currentTimeMillis();
+    List<TransactionCapsule> txs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      TransactionCapsule tx = createTransaction("a" + i, i, now, (i * 7) % 20);
+      txs.add(tx);
+      pool.add(tx);
+      // more rotations than repush segments, forcing merges
+      pool.rotate(now, TIMEOUT);
+    }
+    TransactionCapsule top = createTransaction("b", 100, now, 19);
+    pool.add(top);
+
+    // ties are won by the pending lane
+    Assert.assertSame(top, pool.poll());
+    long last = Long.MAX_VALUE;
+    int count = 0;
+    TransactionCapsule tx;
+    while ((tx = pool.poll()) != null) {
+      Assert.assertTrue(tx.getOrder() <= last);
+      last = tx.getOrder();
+      count++;
+    }
+    Assert.assertEquals(txs.size(), count);
+  }
+
+  /**
+   * Cost of moving the pending lane to the repush lane on a new block, and of looking up
+   * a transaction by id, with a large pool.
+   */
+  @Ignore
+  @Test
+  public void benchmarkRotate() {
+    TransactionPool pool = new TransactionPool(true);
+    long now = System.currentTimeMillis();
+    int blocks = 20;
+    int txsPerBlock = 5_000;
+    List<TransactionCapsule> txs = new ArrayList<>();
+    for (int i = 0; i < blocks * txsPerBlock; i++) {
+      txs.add(createTransaction("a" + i % 1000, i, now, i % 100));
+    }
+
+    long rotateCost = 0;
+    for (int b = 0; b < blocks; b++) {
+      for (int i = 0; i < txsPerBlock; i++) {
+        pool.add(txs.get(b * txsPerBlock + i));
+      }
+      long start = System.nanoTime();
+      pool.rotate(now, TIMEOUT);
+      rotateCost += System.nanoTime() - start;
+    }
+
+    long start = System.nanoTime();
+    for (TransactionCapsule tx : txs) {
+      Assert.assertNotNull(pool.get(tx.getTransactionId()));
+    }
+    long lookupCost = (System.nanoTime() - start) / txs.size();
+
+    logger.info("pool size: {}, rotate: {} us/block, lookup: {} ns/op",
+        pool.size(), rotateCost / blocks / 1000, lookupCost);
+  }
+}
@@ -1,9 +1,15 @@
 package org.tron.core.db;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import javax.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.tron.common.BaseTest;
 import org.tron.common.utils.ByteArray;
@@ -15,7 +21,10 @@ import org.tron.core.config.args.Args;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.store.TransactionRetStore;
 import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionRet;
 
+@Slf4j
 public class TransactionRetStoreTest extends BaseTest {
 
   private static final byte[] transactionId = TransactionStoreTest.randomBytes(32);
@@ -61,6 +70,11 @@ public class TransactionRetStoreTest extends BaseTest {
     transactionStore.put(transactionId, transactionCapsule);
   }
 
+  @After
+  public void after() {
+    Args.getInstance().getStorage().setTransactionInfoIndex(false);
+  }
+
   @Test
   public void get() throws BadItemException {
     TransactionInfoCapsule resultCapsule = transactionRetStore.getTransactionInfo(transactionId);
@@ -83,4 +97,140 @@ public class TransactionRetStoreTest extends BaseTest {
     Assert.assertNotNull("get transaction info error",
         transactionRetStore.getUnchecked(transactionInfoCapsule.getId()));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void getAmongInfos() throws BadItemException {
+    List<byte[]> ids = putBlock(2, 10, true);
+    for (int i = 0; i < ids.size(); i++) {
+      TransactionInfoCapsule info = transactionRetStore.getTransactionInfo(ids.get(i));
+      Assert.assertArrayEquals(ids.get(i), info.getId());
+      Assert.assertEquals(i, info.getFee());
+    }
+    Assert.assertNull(transactionRetStore.getTransactionInfo(
+        TransactionStoreTest.randomBytes(32)));
+  }
+
+  @Test
+  public void getIndexed() throws BadItemException {
+    Args.getInstance().getStorage().setTransactionInfoIndex(true);
+    // the transactions are not in transactionStore, the infos are found by the index only
+    List<byte[]> ids = putBlock(3, 10, false);
+    for (int i = 0; i < ids.size(); i++) {
+      TransactionInfoCapsule info = transactionRetStore.getTransactionInfo(ids.get(i));
+      Assert.assertArrayEquals(ids.get(i), info.getId());
+      Assert.assertEquals(i, info.getFee());
+    }
+  }
+
+  @Test
+  public void getStaleIndex() throws BadItemException {
+    Args.getInstance().getStorage().setTransactionInfoIndex(true);
+    List<byte[]> ids = putBlock(4, 10, false);
+    // the block is replaced without indexing it, the index points at other infos
+    Args.getInstance().getStorage().setTransactionInfoIndex(false);
+    TransactionRetCapsule replaced = new TransactionRetCapsule();
+    for (int i = ids.size() - 1; i >= 0; i--) {
+      replaced.addTransactionInfo(newInfo(ids.get(i), 100 + i));
+    }
+    transactionRetStore.put(ByteArray.fromLong(4), replaced);
+    Args.getInstance().getStorage().setTransactionInfoIndex(true);
+    for (byte[] id : ids) {
+      transactionStore.put(id, newTransaction(4));
+    }
+
+    for (int i = 0; i < ids.size(); i++) {
+      TransactionInfoCapsule info = transactionRetStore.getTransactionInfo(ids.get(i));
+      Assert.assertArrayEquals(ids.get(i), info.getId());
+      Assert.assertEquals(100 + i, info.getFee());
+    }
+  }
+
+  /**
+   * Latency of getTransactionInfo on blocks of 2000 transactions, decoding the whole block as
+   * before, scanning the ids of the block, and through the index.
+   */
+  @Ignore
+  @Test
+  public void benchmarkGet() throws BadItemException {
+    int blocks = 20;
+    int transactions = 2000;
+    List<byte[]> ids = new ArrayList<>();
+    for (int i = 0; i < blocks; i++) {
+      ids.addAll(putBlock(1000 + i, transactions, true));
+    }
+
+    long[] decode = new long[ids.size()];
+    for (int i = 0; i < ids.size(); i++) {
+      long start = System.nanoTime();
+      long number = transactionStore.getBlockNumber(ids.get(i));
+      TransactionRet ret = transactionRetStore
+          .getTransactionInfoByBlockNum(ByteArray.fromLong(number)).getInstance();
+      for (TransactionInfo info : ret.getTransactioninfoList()) {
+        if (Arrays.equals(info.getId().toByteArray(), ids.get(i))) {
+          break;
+        }
+      }
+      decode[i] = System.nanoTime() - start;
+    }
+
+    long[] scan = new long[ids.size()];
+    for (int i = 0; i < ids.size(); i++) {
+      long start = System.nanoTime();
+      transactionRetStore.getTransactionInfo(ids.get(i));
+      scan[i] = System.nanoTime() - start;
+    }
+
+    Args.getInstance().getStorage().setTransactionInfoIndex(true);
+    for (int i = 0; i < blocks; i++) {
+      byte[] key = ByteArray.fromLong(1000 + i);
+      transactionRetStore.put(key, transactionRetStore.getTransactionInfoByBlockNum(key));
+    }
+    long[] index = new long[ids.size()];
+    for (int i = 0; i < ids.size(); i++) {
+      long start = System.nanoTime();
+      transactionRetStore.getTransactionInfo(ids.get(i));
+      index[i] = System.nanoTime() - start;
+    }
+
+    logger.info("decode block p50 {} us p99 {} us", percentile(decode, 50),
+        percentile(decode, 99));
+    logger.info("scan ids p50 {} us p99 {} us", percentile(scan, 50), percentile(scan, 99));
+    logger.info("index p50 {} us p99 {} us", percentile(index, 50), percentile(index, 99));
+  }
+
+  private List<byte[]> putBlock(long number, int count, boolean withTransactions) {
+    List<byte[]> ids = new ArrayList<>();
+    TransactionRetCapsule ret = new TransactionRetCapsule();
+    for (int i = 0; i < count; i++) {
+      byte[] id = TransactionStoreTest.randomBytes(32);
+      ids.add(id);
+      ret.addTransactionInfo(newInfo(id, i));
+      if (withTransactions) {
+        transactionStore.put(id, newTransaction(number));
+      }
+    }
+    transactionRetStore.put(ByteArray.fromLong(number), ret);
+    return ids;
+  }
+
+  private static TransactionInfo newInfo(byte[] id, long fee) {
+    TransactionInfoCapsule info = new TransactionInfoCapsule();
+    info.setId(id);
+    info.setFee(fee);
+    info.setBlockNumber(100L);
+    info.setBlockTimeStamp(200L);
+    return info.getInstance();
+  }
+
+  private static TransactionCapsule newTransaction(long number) {
+    TransactionCapsule capsule = new TransactionCapsule(Transaction.newBuilder().build());
+    capsule.setBlockNum(number);
+    return capsule;
+  }
+
+  private static long percentile(long[] nanos, int percent) {
+    long[] sorted = nanos.clone();
+    Arrays.sort(sorted);
+    return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)] / 1000;
+  }
+}
@@ -1,5 +1,6 @@
 package org.tron.core.db;
 
+import java.util.Collections;
 import javax.annotation.Resource;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -10,6 +11,7 @@ import org.tron.common.utils.ByteArray;
 import org.tron.core.Constant;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.config.args.Args;
+import org.tron.core.db2.common.TxCacheDB;
 import org.tron.keystore.Wallet;
 
 public class TxCacheDBTest extends BaseTest {
@@ -53,4 +55,45 @@ public class TxCacheDBTest extends BaseTest {
       }
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void imageTest() {
+    RecentTransactionStore store = chainBaseManager.getRecentTransactionStore();
+    byte[][] hash = new byte[5][];
+    for (int i = 0; i < hash.length; i++) {
+      hash[i] = Wallet.generateRandomBytes(32);
+    }
+    TxCacheDB db = new TxCacheDB("tx-cache-image-test", store);
+    db.init();
+    for (int num = 1; num <= 3; num++) {
+      putRecent(store, num, hash[num]);
+      db.put(hash[num], ByteArray.fromLong(num));
+    }
+    // only in the filters, so only found if they are loaded from the image
+    db.put(hash[0], ByteArray.fromLong(3));
+    db.close();
+
+    // a block after the image is replayed from recentTransactionStore
+    putRecent(store, 4, hash[4]);
+    db = new TxCacheDB("tx-cache-image-test", store);
+    db.init();
+    for (byte[] h : hash) {
+      Assert.assertNotNull(db.get(h));
+    }
+    Assert.assertNull(db.get(Wallet.generateRandomBytes(32)));
+    db.close();
+
+    // the block of the image is gone from recentTransactionStore, the filters are rebuilt
+    putRecent(store, 4 + 65536, hash[4]);
+    db = new TxCacheDB("tx-cache-image-test", store);
+    db.init();
+    Assert.assertNull(db.get(hash[0]));
+    Assert.assertNotNull(db.get(hash[1]));
+    db.close();
+  }
+
+  private void putRecent(RecentTransactionStore store, long num, byte[] hash) {
+    store.put(ByteArray.subArray(ByteArray.fromLong(num), 6, 8), new BytesCapsule(
+        RecentTransactionItem.encode(num, Collections.singletonList(hash))));
+  }
+}
@@ -1,7 +1,10 @@
 package org.tron.core.db2;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.AfterClass;
@@ -168,4 +171,62 @@ public class ChainbaseTest {
     Assert.assertTrue(chainbase.prefixQuery(prefix3).isEmpty());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testRangeQueryForLeveldb() {
+    LevelDbDataSourceImpl dataSource = new LevelDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "testRangeQueryForLeveldb");
+    dataSource.initDB();
+    this.chainbase = new Chainbase(new SnapshotRoot(new LevelDB(dataSource)));
+    testRange(chainbase);
+    chainbase.reset();
+    chainbase.close();
+  }
+
+  @Test
+  public void testRangeQueryForRocksdb() {
+    RocksDbDataSourceImpl dataSource = new RocksDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "testRangeQueryForRocksdb");
+    dataSource.initDB();
+    this.chainbase = new Chainbase(new SnapshotRoot(
+        new org.tron.core.db2.common.RocksDB(dataSource)));
+    testRange(chainbase);
+    chainbase.reset();
+    chainbase.close();
+  }
+
+  private void testRange(Chainbase chainbase) {
+    Snapshot root = chainbase.getHead();
+    for (long i = 1; i <= 100; i++) {
+      root.put(ByteArray.fromLong(i), ByteArray.fromLong(i));
+    }
+    chainbase.setHead(chainbase.getHead().advance());
+    Snapshot head = chainbase.getHead();
+    // deletes in the layers hide root entries, newer layers win
+    head.remove(ByteArray.fromLong(11));
+    head.put(ByteArray.fromLong(12), ByteArray.fromLong(1200));
+    head.put(ByteArray.fromLong(101), ByteArray.fromLong(101));
+    head = head.advance();
+    chainbase.setHead(head);
+    head.put(ByteArray.fromLong(11), ByteArray.fromLong(1100));
+    head.remove(ByteArray.fromLong(13));
+    head.remove(ByteArray.fromLong(101));
+
+    Map<byte[], byte[]> next = chainbase.getNext(ByteArray.fromLong(10), 4);
+    List<Long> keys = new ArrayList<>();
+    List<Long> values = new ArrayList<>();
+    next.forEach((k, v) -> {
+      keys.add(ByteArray.toLong(k));
+      values.add(ByteArray.toLong(v));
+    });
+    Assert.assertEquals(Arrays.asList(10L, 11L, 12L, 14L), keys);
+    Assert.assertEquals(Arrays.asList(10L, 1100L, 1200L, 14L), values);
+
+    List<Long> tail = new ArrayList<>();
+    chainbase.getValuesNext(ByteArray.fromLong(99), 10)
+        .forEach(v -> tail.add(ByteArray.toLong(v)));
+    Assert.assertEquals(Arrays.asList(99L, 100L), tail);
+
+    Assert.assertTrue(chainbase.getNext(ByteArray.fromLong(101), 10).isEmpty());
+    Assert.assertTrue(chainbase.getValuesNext(ByteArray.fromLong(1), 0).isEmpty());
+  }
+}
@@ -0,0 +1,162 @@
+package org.tron.core.db2;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.common.LevelDB;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.db2.core.SnapshotRoot;
+
+@Slf4j
+public class SnapshotImplTest {
+
+  private static final String dbPath = "output-snapshot-impl-test";
+  private LevelDbDataSourceImpl dataSource;
+  private SnapshotRoot root;
+
+  private final byte[] key0 = "key0".getBytes();
+  private final byte[] key1 = "key1".getBytes();
+  private final byte[] key2 = "key2".getBytes();
+  private final byte[] value0 = "value0".getBytes();
+  private final byte[] value1 = "value1".getBytes();
+  private final byte[] value2 = "value2".getBytes();
+  private final byte[] value3 = "value3".getBytes();
+
+  @Before
+  public void init() {
+    Args.setParam(new String[] {"--output-directory", dbPath}, Constant.TEST_CONF);
+    dataSource = new LevelDbDataSourceImpl(Args.getInstance().getOutputDirectory(),
+        "snapshot-impl-test");
+    dataSource.initDB();
+    root = new SnapshotRoot(new LevelDB(dataSource));
+  }
+
+  @After
+  public void destroy() {
+    root.close();
+    Args.clearParam();
+    FileUtil.deleteDir(new File(dbPath));
+  }
+
+  @Test
+  public void testGetFromOlderLayers() {
+    root.put(key0, value0);
+    Snapshot first = root.advance();
+    first.put(key1, value1);
+    first.put(key2, value2);
+    Snapshot second = first.advance();
+    second.remove(key1);
+    second.put(key2, value3);
+    Snapshot third = second.advance();
+
+    Assert.assertArrayEquals(value0, third.get(key0));
+    Assert.assertNull(third.get(key1));
+    Assert.assertArrayEquals(value3, third.get(key2));
+
+    // an older layer must not see the writes of the newer ones
+    Assert.assertArrayEquals(value1, first.get(key1));
+    Assert.assertArrayEquals(value2, first.get(key2));
+    Assert.assertNull(first.get("missing".getBytes()));
+  }
+
+  @Test
+  public void testMergeAndRetreat() {
+    Snapshot first = root.advance();
+    first.put(key1, value1);
+    Snapshot second = first.advance();
+    second.put(key1, value2);
+    second.put(key2, value2);
+
+    first.merge(second);
+    Snapshot head = second.retreat();
+    Assert.assertSame(first, head);
+    Assert.assertArrayEquals(value2, head.get(key1));
+    Assert.assertArrayEquals(value2, head.get(key2));
+
+    // a dropped layer must not leak into the next one
+    Snapshot dropped = head.advance();
+    dropped.put(key0, value0);
+    head = dropped.retreat();
+    Snapshot next = head.advance();
+    Assert.assertNull(next.get(key0));
+    Assert.assertArrayEquals(value2, next.get(key1));
+  }
+
+  @Test
+  public void testFlushToRoot() {
+    Snapshot first = root.advance();
+    first.put(key1, value1);
+    Snapshot second = first.advance();
+    second.put(key2, value2);
+    Snapshot third = second.advance();
+    third.put(key1, value3);
+
+    List<Snapshot> snapshots = new ArrayList<>();
+    snapshots.add(first);
+    snapshots.add(second);
+    root.merge(snapshots);
+    third.setPrevious(root);
+    root.setNext(third);
+
+    Assert.assertArrayEquals(value1, root.get(key1));
+    Assert.assertArrayEquals(value3, third.get(key1));
+    Assert.assertArrayEquals(value2, third.get(key2));
+  }
+
+  /**
+   * Lookup latency against snapshot depth, for keys only in the root and for
+   * keys in the oldest layer.
+   */
+  @Ignore
+  @Test
+  public void benchmarkGetByDepth() {
+    int keysPerLayer = 100;
+    int rounds = 100_000;
+    for (int depth : new int[] {1, 16, 64, 256}) {
+      SnapshotRoot benchRoot = new SnapshotRoot(new LevelDB(dataSource));
+      for (int i = 0; i < keysPerLayer; i++) {
+        benchRoot.put(ByteArray.fromString("root" + depth + "-" + i), value0);
+      }
+      Snapshot head = benchRoot;
+      for (int d = 0; d < depth; d++) {
+        head = head.advance();
+        for (int i = 0; i < keysPerLayer; i++) {
+          head.put(ByteArray.fromString("layer" + d + "-" + i), value1);
+        }
+      }
+
+      byte[][] rootKeys = new byte[keysPerLayer][];
+      byte[][] bottomKeys = new byte[keysPerLayer][];
+      for (int i = 0; i < keysPerLayer; i++) {
+        rootKeys[i] = ByteArray.fromString("root" + depth + "-" + i);
+        bottomKeys[i] = ByteArray.fromString("layer0-" + i);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < rounds; i++) {
+        Assert.assertNotNull(head.get(rootKeys[i % keysPerLayer]));
+      }
+      long rootCost = (System.nanoTime() - start) / rounds;
+
+      start = System.nanoTime();
+      for (int i = 0; i < rounds; i++) {
+        Assert.assertNotNull(head.get(bottomKeys[i % keysPerLayer]));
+      }
+      long bottomCost = (System.nanoTime() - start) / rounds;
+
+      logger.info("depth: {}, root key: {} ns/op, oldest layer key: {} ns/op",
+          depth, rootCost, bottomCost);
+    }
+  }
+}
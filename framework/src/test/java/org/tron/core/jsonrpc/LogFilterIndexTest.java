@@ -0,0 +1,200 @@
+package org.tron.core.jsonrpc;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.runtime.vm.LogInfo;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.services.jsonrpc.TronJsonRpc.FilterRequest;
+import org.tron.core.services.jsonrpc.TronJsonRpc.LogFilterElement;
+import org.tron.core.services.jsonrpc.filters.LogFilterAndResult;
+import org.tron.core.services.jsonrpc.filters.LogFilterIndex;
+import org.tron.core.services.jsonrpc.filters.LogMatch;
+import org.tron.protos.Protocol.TransactionInfo;
+
+@Slf4j
+public class LogFilterIndexTest {
+
+  private static final long BLOCK_NUM = 100;
+  private static final String BLOCK_HASH =
+      "0000000000000064b7f5ee6a6ab9ac5c0a1b6e2f5c5e8b1a4e9e0c7d2f3a1b2c";
+
+  private final Random random = new Random(10);
+  private final List<String> addresses = new ArrayList<>();
+  private final List<String> topics = new ArrayList<>();
+
+  public LogFilterIndexTest() {
+    for (int i = 0; i < 50; i++) {
+      addresses.add(ByteArray.toJsonHex(new DataWord(i + 1).getLast20Bytes()));
+    }
+    for (int i = 0; i < 20; i++) {
+      topics.add(ByteArray.toJsonHex(new DataWord(0xabcdef00L + i).getData()));
+    }
+  }
+
+  private String pick(List<String> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+
+  private List<TransactionInfo> createBlock(int txCount) {
+    List<TransactionInfo> transactionInfoList = new ArrayList<>();
+    for (int i = 0; i < txCount; i++) {
+      TransactionInfo.Builder builder = TransactionInfo.newBuilder();
+      int logCount = random.nextInt(4);
+      for (int j = 0; j < logCount; j++) {
+        List<DataWord> topicList = new ArrayList<>();
+        int topicCount = random.nextInt(3);
+        for (int k = 0; k < topicCount; k++) {
+          topicList.add(new DataWord(ByteArray.fromHexString(pick(topics))));
+        }
+        byte[] address = ByteArray.fromHexString(pick(addresses));
+        builder.addLog(LogInfo.buildLog(new LogInfo(address, topicList, new byte[] {(byte) j})));
+      }
+      builder.setId(ByteString.copyFrom(new DataWord(i).getData()));
+      transactionInfoList.add(builder.build());
+    }
+    return transactionInfoList;
+  }
+
+  private FilterRequest createRequest() {
+    Object address = null;
+    Object[] topicArray = null;
+    int kind = random.nextInt(10);
+    if (kind < 6) {
+      if (random.nextBoolean()) {
+        address = pick(addresses);
+      } else {
+        address = new ArrayList<>(Arrays.asList(pick(addresses), pick(addresses)));
+      }
+      if (random.nextBoolean()) {
+        topicArray = new Object[] {pick(topics)};
+      }
+    } else if (kind < 9) {
+      topicArray = random.nextBoolean() ? new Object[] {pick(topics)}
+          : new Object[] {new ArrayList<>(Arrays.asList(pick(topics), pick(topics))),
+              pick(topics)};
+    } else if (random.nextBoolean()) {
+      topicArray = new Object[] {null, pick(topics)};
+    }
+    if (random.nextInt(20) == 0) {
+      // a block range the test block is not in
+      return new FilterRequest("0x1", "0x10", address, topicArray, null);
+    }
+    return new FilterRequest(null, null, address, topicArray, null);
+  }
+
+  private static List<String> describe(List<LogFilterElement> elements) {
+    List<String> ret = new ArrayList<>();
+    if (elements == null) {
+      return ret;
+    }
+    for (LogFilterElement e : elements) {
+      ret.add(e.getLogIndex() + "/" + e.getTransactionIndex() + "/" + e.getAddress() + "/"
+          + String.join(",", e.getTopics()) + "/" + e.getData() + "/" + e.getBlockNumber());
+    }
+    return ret;
+  }
+
+  @Test
+  public void testMatchSameAsScan() throws Exception {
+    Map<String, LogFilterAndResult> filters = new ConcurrentHashMap<>();
+    LogFilterIndex index = new LogFilterIndex(filters);
+    for (int i = 0; i < 500; i++) {
+      index.add(String.valueOf(i), new LogFilterAndResult(createRequest(), BLOCK_NUM, null));
+    }
+    // uninstalled filters never match
+    for (int i = 0; i < 500; i += 7) {
+      Assert.assertNotNull(index.remove(String.valueOf(i)));
+    }
+    Assert.assertNull(index.remove("0"));
+
+    List<TransactionInfo> block = createBlock(300);
+    Map<LogFilterAndResult, List<LogFilterElement>> matched =
+        index.match(BLOCK_NUM, BLOCK_HASH, block, false);
+
+    int matchedFilters = 0;
+    for (LogFilterAndResult filter : filters.values()) {
+      List<LogFilterElement> expected = Collections.emptyList();
+      if (filter.getLogFilterWrapper().getFromBlock() <= BLOCK_NUM
+          && BLOCK_NUM <= filter.getLogFilterWrapper().getToBlock()) {
+        expected = LogMatch.matchBlock(filter.getLogFilterWrapper().getLogFilter(), BLOCK_NUM,
+            BLOCK_HASH, block, false);
+      }
+      Assert.assertEquals(describe(expected), describe(matched.get(filter)));
+      matchedFilters += expected.isEmpty() ? 0 : 1;
+    }
+    Assert.assertEquals(matchedFilters, matched.size());
+    Assert.assertTrue(matchedFilters > 0);
+  }
+
+  @Test
+  public void testExpire() throws Exception {
+    Map<String, LogFilterAndResult> filters = new ConcurrentHashMap<>();
+    LogFilterIndex index = new LogFilterIndex(filters);
+    index.add("a", new LogFilterAndResult(
+        new FilterRequest(null, null, addresses.get(0), null, null), BLOCK_NUM, null));
+    index.add("b", new LogFilterAndResult(
+        new FilterRequest(null, null, null, null, null), BLOCK_NUM, null));
+
+    long now = System.currentTimeMillis();
+    index.expire(now + 60_000);
+    Assert.assertEquals(2, index.size());
+
+    index.expire(now + 301_000);
+    Assert.assertEquals(0, index.size());
+    Assert.assertTrue(filters.isEmpty());
+    Assert.assertTrue(index.match(BLOCK_NUM, BLOCK_HASH, createBlock(50), false).isEmpty());
+  }
+
+  /**
+   * 10k installed filters over a block of 1000 transactions, scanning every filter as
+   * handleLogsFilter used to against the index.
+   */
+  @Ignore
+  @Test
+  public void benchmarkMatch() throws Exception {
+    Map<String, LogFilterAndResult> filters = new ConcurrentHashMap<>();
+    LogFilterIndex index = new LogFilterIndex(filters);
+    for (int i = 0; i < 10_000; i++) {
+      index.add(String.valueOf(i), new LogFilterAndResult(createRequest(), BLOCK_NUM, null));
+    }
+    List<TransactionInfo> block = createBlock(1000);
+    int rounds = 20;
+
+    long start = System.nanoTime();
+    long scanned = 0;
+    for (int r = 0; r < rounds; r++) {
+      Map<LogFilterAndResult, List<LogFilterElement>> result = new HashMap<>();
+      for (LogFilterAndResult filter : filters.values()) {
+        List<LogFilterElement> elements = LogMatch.matchBlock(
+            filter.getLogFilterWrapper().getLogFilter(), BLOCK_NUM, BLOCK_HASH, block, false);
+        if (!elements.isEmpty()) {
+          result.put(filter, elements);
+        }
+      }
+      scanned += result.size();
+    }
+    long scanCost = (System.nanoTime() - start) / rounds;
+
+    start = System.nanoTime();
+    long indexed = 0;
+    for (int r = 0; r < rounds; r++) {
+      indexed += index.match(BLOCK_NUM, BLOCK_HASH, block, false).size();
+    }
+    long indexCost = (System.nanoTime() - start) / rounds;
+
+    logger.info("10k filters: scan {} us/block, index {} us/block ({}, {})",
+        scanCost / 1000, indexCost / 1000, scanned, indexed);
+  }
+}
@@ -237,4 +237,67 @@ public class SectionBloomStoreTest extends BaseTest {
       Assert.fail();
     }
   }
+
+  @Test
+  public void testBatchGet() throws EventBloomException {
+    BitSet bitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+    bitSet.set(7);
+    sectionBloomStore.put(200, 7, bitSet);
+
+    BitSet[] rows = sectionBloomStore.get(200, new int[] {7, 8}, true);
+    Assert.assertEquals(bitSet, rows[0]);
+    Assert.assertNull(rows[1]);
+
+    // a put replaces the cached row
+    BitSet update = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+    update.set(9);
+    sectionBloomStore.put(200, 7, update);
+    sectionBloomStore.put(200, 8, update);
+    rows = sectionBloomStore.get(200, new int[] {7, 8}, true);
+    Assert.assertEquals(update, rows[0]);
+    Assert.assertEquals(update, rows[1]);
+    Assert.assertEquals(update, sectionBloomStore.get(200, new int[] {8}, false)[0]);
+  }
+
+  @Test
+  public void testQueryAcrossTasks() throws Exception {
+    byte[] address = bytesToAddress(new byte[] {0x66});
+    byte[] topic = ByteArray
+        .fromHexString("0x8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925");
+    long first = 3000;
+    long last = SectionBloomStore.BLOCK_PER_SECTION * 20L + 7;
+    for (long blockNum : new long[] {first, last}) {
+      TransactionRetCapsule capsule = new TransactionRetCapsule();
+      capsule.addTransactionInfo(createTransactionInfo(address, topic));
+      sectionBloomStore.initBlockSection(capsule);
+      sectionBloomStore.write(blockNum);
+    }
+
+    long currentMaxBlockNum = 50000;
+    ExecutorService sectionExecutor = Executors.newFixedThreadPool(5);
+    try {
+      LogFilterWrapper logFilterWrapper = new LogFilterWrapper(
+          new FilterRequest("earliest", "latest", ByteArray.toJsonHex(address),
+              new String[] {ByteArray.toJsonHex(topic)}, null),
+          currentMaxBlockNum, null);
+      for (long solidBlockNum : new long[] {-1, currentMaxBlockNum, currentMaxBlockNum}) {
+        List<Long> possibleBlockList = new LogBlockQuery(logFilterWrapper, sectionBloomStore,
+            currentMaxBlockNum, solidBlockNum, sectionExecutor).getPossibleBlock();
+        Assert.assertTrue(possibleBlockList.contains(first));
+        Assert.assertTrue(possibleBlockList.contains(last));
+        Assert.assertTrue(possibleBlockList.indexOf(first) < possibleBlockList.indexOf(last));
+      }
+
+      logFilterWrapper = new LogFilterWrapper(
+          new FilterRequest(ByteArray.toJsonHex(first + 1), ByteArray.toJsonHex(last),
+              ByteArray.toJsonHex(address), null, null),
+          currentMaxBlockNum, null);
+      List<Long> possibleBlockList = new LogBlockQuery(logFilterWrapper, sectionBloomStore,
+          currentMaxBlockNum, sectionExecutor).getPossibleBlock();
+      Assert.assertFalse(possibleBlockList.contains(first));
+      Assert.assertTrue(possibleBlockList.contains(last));
+    } finally {
+      sectionExecutor.shutdownNow();
+    }
+  }
 }
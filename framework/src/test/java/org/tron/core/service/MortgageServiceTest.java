@@ -0,0 +1,120 @@
+package org.tron.core.service;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.core.Constant;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.DelegationStore;
+import org.tron.keystore.Wallet;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Vote;
+
+public class MortgageServiceTest extends BaseTest {
+
+  private final Random random = new Random(27);
+  private final List<byte[]> witnesses = new ArrayList<>();
+  private final List<byte[]> accounts = new ArrayList<>();
+
+  static {
+    dbPath = "output_mortgage_service_test";
+    Args.setParam(new String[] {"-d", dbPath}, Constant.TEST_CONF);
+  }
+
+  private static byte[] address() {
+    byte[] address = Wallet.generateRandomBytes(21);
+    address[0] = 0x41;
+    return address;
+  }
+
+  /**
+   * Rewards and votes of a cycle like on mainnet, billions of votes and hundreds of TRX of
+   * rewards per witness, with some witnesses missing or without votes.
+   */
+  private void payCycle(long cycle) {
+    DelegationStore delegationStore = chainBaseManager.getDelegationStore();
+    for (byte[] witness : witnesses) {
+      int p = random.nextInt(100);
+      if (p < 5) {
+        continue;
+      }
+      delegationStore.setWitnessVote(cycle, witness,
+          p < 7 ? 0 : 1_000_000_000L + (long) (random.nextDouble() * 30_000_000_000L));
+      delegationStore.addReward(cycle, witness, (long) (random.nextDouble() * 500_000_000_000L));
+    }
+  }
+
+  /**
+   * The reward of the account cycle by cycle from the store, as before the reward index.
+   */
+  private long loopReward(long beginCycle, long endCycle, AccountCapsule account) {
+    DelegationStore delegationStore = chainBaseManager.getDelegationStore();
+    long reward = 0;
+    for (long cycle = beginCycle; cycle < endCycle; cycle++) {
+      long cycleReward = 0;
+      for (Vote vote : account.getVotesList()) {
+        byte[] srAddress = vote.getVoteAddress().toByteArray();
+        long totalReward = delegationStore.getReward(cycle, srAddress);
+        long totalVote = delegationStore.getWitnessVote(cycle, srAddress);
+        if (totalVote == DelegationStore.REMARK || totalVote == 0) {
+          continue;
+        }
+        double voteRate = (double) vote.getVoteCount() / totalVote;
+        cycleReward += voteRate * totalReward;
+      }
+      reward += cycleReward;
+    }
+    return reward;
+  }
+
+  private void assertSameAsLoop(MortgageService mortgageService, long currentCycle) {
+    for (byte[] address : accounts) {
+      AccountCapsule account = chainBaseManager.getAccountStore().get(address);
+      long beginCycle = chainBaseManager.getDelegationStore().getBeginCycle(address);
+      Assert.assertEquals(loopReward(beginCycle, currentCycle, account),
+          mortgageService.queryReward(address) - account.getAllowance());
+    }
+  }
+
+  @Test
+  public void testRewardIndexSameAsLoop() {
+    MortgageService mortgageService = dbManager.getMortgageService();
+    chainBaseManager.getDynamicPropertiesStore().saveChangeDelegation(1);
+    Assert.assertFalse(chainBaseManager.getDynamicPropertiesStore().useNewRewardAlgorithm());
+    for (int i = 0; i < 40; i++) {
+      witnesses.add(address());
+    }
+    long cycles = 400;
+    for (long cycle = 0; cycle < cycles; cycle++) {
+      payCycle(cycle);
+    }
+    for (int i = 0; i < 50; i++) {
+      byte[] address = address();
+      AccountCapsule account = new AccountCapsule(ByteString.EMPTY,
+          ByteString.copyFrom(address), AccountType.Normal, 0);
+      int votes = 1 + random.nextInt(30);
+      for (int j = 0; j < votes; j++) {
+        account.addVotes(ByteString.copyFrom(witnesses.get(random.nextInt(witnesses.size()))),
+            1 + random.nextInt(1_000_000_000));
+      }
+      chainBaseManager.getAccountStore().put(address, account);
+      chainBaseManager.getDelegationStore().setBeginCycle(address, random.nextInt(380));
+      accounts.add(address);
+    }
+
+    chainBaseManager.getDynamicPropertiesStore().saveCurrentCycleNumber(cycles);
+    assertSameAsLoop(mortgageService, cycles);
+
+    // the index is extended with the cycles closed since
+    for (long cycle = cycles; cycle < cycles + 10; cycle++) {
+      payCycle(cycle);
+    }
+    chainBaseManager.getDynamicPropertiesStore().saveCurrentCycleNumber(cycles + 10);
+    assertSameAsLoop(mortgageService, cycles + 10);
+  }
+}
@@ -0,0 +1,147 @@
+package org.tron.core.services.http;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.io.StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.utils.ByteArray;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.BlockHeader;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.Transaction.Result;
+import org.tron.protos.contract.AssetIssueContractOuterClass.AssetIssueContract;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+import org.tron.protos.contract.SmartContractOuterClass.CreateSmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract.ABI;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+public class BlockJsonWriterTest {
+
+  private static final ByteString OWNER = ByteString.copyFrom(
+      ByteArray.fromHexString("41c076305e35aea1fe45a772fcaaab8a36e87bdb55"));
+  private static final ByteString TO = ByteString.copyFrom(
+      ByteArray.fromHexString("415624c12e308b03a1a6b21d9b86e3942fac1ab92b"));
+
+  private static Transaction.raw.Builder rawData(long timestamp) {
+    return Transaction.raw.newBuilder()
+        .setRefBlockBytes(ByteString.copyFrom(ByteArray.fromHexString("d8ed")))
+        .setRefBlockHash(ByteString.copyFrom(ByteArray.fromHexString("2e066c3259e756f5")))
+        .setExpiration(timestamp + 60_000)
+        .setTimestamp(timestamp);
+  }
+
+  private static Contract contract(ContractType type, Any parameter) {
+    return Contract.newBuilder().setType(type).setParameter(parameter).build();
+  }
+
+  private static Transaction transfer(long amount, int permissionId) {
+    Contract contract = contract(ContractType.TransferContract, Any.pack(
+        TransferContract.newBuilder().setOwnerAddress(OWNER).setToAddress(TO).setAmount(amount)
+            .build())).toBuilder().setPermissionId(permissionId).build();
+    return Transaction.newBuilder()
+        .setRawData(rawData(1651906586162L + amount).addContract(contract))
+        .addSignature(ByteString.copyFrom(new byte[65]))
+        .addRet(Result.newBuilder().setContractRet(Result.contractResult.SUCCESS))
+        .build();
+  }
+
+  private static Transaction createContract() {
+    ABI abi = ABI.newBuilder().addEntrys(ABI.Entry.newBuilder()
+        .setName("transfer\u00e9\"\\x\t")
+        .setType(ABI.Entry.EntryType.Function)
+        .addInputs(ABI.Entry.Param.newBuilder().setName("to").setType("address"))
+        .addInputs(ABI.Entry.Param.newBuilder().setIndexed(true).setName("value")
+            .setType("uint256"))
+        .setStateMutability(ABI.Entry.StateMutabilityType.Nonpayable))
+        .build();
+    SmartContract smartContract = SmartContract.newBuilder()
+        .setOriginAddress(OWNER)
+        .setAbi(abi)
+        .setBytecode(ByteString.copyFrom(ByteArray.fromHexString("6080604052")))
+        .setConsumeUserResourcePercent(100)
+        .setName("Token </>")
+        .setOriginEnergyLimit(10_000_000L)
+        .build();
+    return Transaction.newBuilder()
+        .setRawData(rawData(1651906586000L)
+            .setFeeLimit(1_000_000_000L)
+            .setData(ByteString.copyFromUtf8("memo"))
+            .addContract(contract(ContractType.CreateSmartContract, Any.pack(
+                CreateSmartContract.newBuilder().setOwnerAddress(OWNER)
+                    .setNewContract(smartContract).build()))))
+        .addSignature(ByteString.copyFrom(new byte[65]))
+        .build();
+  }
+
+  private static Transaction others() {
+    AssetIssueContract assetIssue = AssetIssueContract.newBuilder()
+        .setOwnerAddress(OWNER)
+        .setName(ByteString.copyFromUtf8("a\"b\u00fc\\n"))
+        .setAbbr(ByteString.copyFromUtf8("AB"))
+        .setDescription(ByteString.copyFrom(new byte[] {1, 2, '"', (byte) 0xff}))
+        .setUrl(ByteString.copyFromUtf8("https://example.org/x?y=1&z=<2>"))
+        .setTotalSupply(-1)
+        .setPrecision(6)
+        .addFrozenSupply(AssetIssueContract.FrozenSupply.newBuilder().setFrozenAmount(5))
+        .build();
+    return Transaction.newBuilder()
+        .setRawData(rawData(1651906586001L)
+            .addContract(contract(ContractType.AssetIssueContract, Any.pack(assetIssue)))
+            .addContract(contract(ContractType.TriggerSmartContract, Any.pack(
+                TriggerSmartContract.newBuilder().setOwnerAddress(OWNER).setContractAddress(TO)
+                    .setCallValue(Long.MAX_VALUE).build())))
+            // a parameter of another type fails to unpack and is left out
+            .addContract(contract(ContractType.TransferContract, Any.pack(assetIssue)))
+            // a type without a parameter class
+            .addContract(contract(ContractType.CustomContract, Any.pack(assetIssue))))
+        .build();
+  }
+
+  private static Block block(int transactions) {
+    BlockHeader.raw header = BlockHeader.raw.newBuilder()
+        .setNumber(51_234_567L)
+        .setTimestamp(1651906587000L)
+        .setParentHash(ByteString.copyFrom(new byte[32]))
+        .setWitnessAddress(OWNER)
+        .setVersion(27)
+        .build();
+    Block.Builder block = Block.newBuilder().setBlockHeader(BlockHeader.newBuilder()
+        .setRawData(header).setWitnessSignature(ByteString.copyFrom(new byte[65])));
+    for (int i = 0; i < transactions; i++) {
+      block.addTransactions(transfer(i + 1, i % 3));
+    }
+    if (transactions > 0) {
+      block.addTransactions(createContract());
+      block.addTransactions(others());
+    }
+    return block.build();
+  }
+
+  @Test
+  public void testBlockSameAsUtil() throws Exception {
+    for (boolean visible : new boolean[] {true, false}) {
+      for (Block block : new Block[] {block(0), block(1), block(50), Block.getDefaultInstance()}) {
+        String expected = Util.printBlockToJSON(block, visible).toJSONString();
+        Assert.assertEquals(expected, BlockJsonWriter.printBlock(block, visible));
+        StringWriter writer = new StringWriter();
+        BlockJsonWriter.writeBlock(block, visible, writer);
+        Assert.assertEquals(expected, writer.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testTransactionSameAsUtil() {
+    for (boolean visible : new boolean[] {true, false}) {
+      for (Transaction transaction : new Transaction[] {transfer(1, 0), transfer(2, 2),
+          createContract(), others()}) {
+        Assert.assertEquals(Util.printTransactionToJSON(transaction, visible).toJSONString(),
+            BlockJsonWriter.printTransaction(transaction, visible));
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package org.tron.core.services.http;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.core.Constant;
+import org.tron.core.config.args.Args;
+
+public class SolidifiedResponseCacheTest extends BaseTest {
+
+  @Resource
+  private SolidifiedResponseCache responseCache;
+
+  static {
+    dbPath = "output_solidified_response_cache_test";
+    Args.setParam(new String[] {"-d", dbPath}, Constant.TEST_CONF);
+  }
+
+  @Test
+  public void testOnlySolidifiedBlocksCached() throws Exception {
+    chainBaseManager.getDynamicPropertiesStore().saveLatestSolidifiedBlockNum(100);
+    Assert.assertTrue(responseCache.admit(99));
+    Assert.assertFalse(responseCache.admit(100));
+    Assert.assertFalse(responseCache.admit(101));
+    Assert.assertFalse(responseCache.admit(0));
+
+    AtomicInteger rendered = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals("{\"n\":99}", responseCache.get("test", 99, true,
+          () -> "{\"n\":" + (99 + rendered.getAndIncrement() * 1000) + "}"));
+    }
+    Assert.assertEquals(1, rendered.get());
+
+    // keyed by visible and endpoint too
+    responseCache.get("test", 99, false, () -> "" + rendered.getAndIncrement());
+    responseCache.get("other", 99, true, () -> "" + rendered.getAndIncrement());
+    Assert.assertEquals(3, rendered.get());
+
+    // blocks not solidified yet are rendered every time
+    for (int i = 0; i < 3; i++) {
+      responseCache.get("test", 100, true, () -> "" + rendered.getAndIncrement());
+    }
+    Assert.assertEquals(6, rendered.get());
+
+    // a missing block is not cached
+    Assert.assertNull(responseCache.get("test", 98, true, () -> {
+      rendered.getAndIncrement();
+      return null;
+    }));
+    Assert.assertEquals("{}", responseCache.get("test", 98, true, () -> "{}"));
+    Assert.assertEquals(7, rendered.get());
+  }
+}
@@ -0,0 +1,105 @@
+package org.tron.core.services.ratelimiter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.services.ratelimiter.strategy.IPQpsStrategy;
+
+@Slf4j
+public class KeyedTokenBucketsTest {
+
+  private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void testTake() {
+    KeyedTokenBuckets buckets = new KeyedTokenBuckets(5, 10000);
+    // a new bucket has its first permit free
+    Assert.assertEquals(0, buckets.take("1.2.3.4", 0, false));
+    Assert.assertEquals(200 * MS, buckets.take("1.2.3.4", 0, false));
+    Assert.assertEquals(100 * MS, buckets.take("1.2.3.4", 100 * MS, false));
+    Assert.assertEquals(0, buckets.take("1.2.3.4", 200 * MS, false));
+    Assert.assertEquals(0, buckets.take("4.3.2.1", 200 * MS, false));
+
+    // a reserved permit puts the next ones back
+    Assert.assertEquals(200 * MS, buckets.take("1.2.3.4", 200 * MS, true));
+    Assert.assertEquals(400 * MS, buckets.take("1.2.3.4", 200 * MS, false));
+
+    // a second of idle fills the bucket with a second of permits
+    long now = 5000 * MS;
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(0, buckets.take("1.2.3.4", now, false));
+    }
+    Assert.assertTrue(buckets.take("1.2.3.4", now, false) > 0);
+    Assert.assertEquals(2, buckets.size());
+  }
+
+  @Test
+  public void testSlowRate() {
+    KeyedTokenBuckets buckets = new KeyedTokenBuckets(0.5, 10000);
+    Assert.assertEquals(0, buckets.take("a", 0, false));
+    Assert.assertEquals(2000 * MS, buckets.take("a", 0, false));
+    Assert.assertEquals(0, buckets.take("a", 2000 * MS, false));
+  }
+
+  @Test
+  public void testBounded() {
+    KeyedTokenBuckets buckets = new KeyedTokenBuckets(1, 640);
+    for (int i = 0; i < 100_000; i++) {
+      buckets.take("10.0." + (i >> 8) + "." + (i & 0xff), i * MS, false);
+    }
+    Assert.assertTrue(buckets.size() <= 640);
+    Assert.assertTrue(buckets.size() > 0);
+    // the most recent buckets are kept
+    Assert.assertTrue(buckets.take("10.0.390.159", 100_000 * MS, false) > 0);
+  }
+
+  /**
+   * A client over its limit floods a pool of four workers, standing in for the jetty or grpc
+   * threads, then another client sends one request. Waiting for permits, the flood holds every
+   * worker and the other client waits seconds; rejecting at once, it is served right away.
+   */
+  @Test
+  public void testFloodDoesNotExhaustWorkers() throws Exception {
+    long blocking = latencyBehindFlood(false, 8);
+    long nonBlocking = latencyBehindFlood(true, 2000);
+    logger.info("latency behind a flood, blocking: {} ms, non-blocking: {} ms",
+        blocking, nonBlocking);
+    Assert.assertTrue(blocking > 1500);
+    Assert.assertTrue(nonBlocking < 1000);
+  }
+
+  private long latencyBehindFlood(boolean nonBlocking, int flood) throws Exception {
+    IPQpsStrategy strategy = new IPQpsStrategy("qps=2");
+    ExecutorService workers = Executors.newFixedThreadPool(4);
+    AtomicInteger rejected = new AtomicInteger();
+    try {
+      for (int i = 0; i < flood; i++) {
+        workers.submit(() -> {
+          if (nonBlocking) {
+            if (!strategy.tryAcquire("6.6.6.6")) {
+              rejected.incrementAndGet();
+            }
+          } else {
+            strategy.acquire("6.6.6.6");
+          }
+        });
+      }
+      long start = System.nanoTime();
+      Future<Boolean> served = workers.submit(() -> nonBlocking
+          ? strategy.tryAcquire("1.1.1.1") : strategy.acquire("1.1.1.1"));
+      Assert.assertTrue(served.get(10, TimeUnit.SECONDS));
+      long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      if (nonBlocking) {
+        Assert.assertTrue(rejected.get() > flood - 10);
+      }
+      return latency;
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+}
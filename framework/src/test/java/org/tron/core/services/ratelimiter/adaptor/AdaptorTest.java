@@ -1,12 +1,11 @@
 package org.tron.core.services.ratelimiter.adaptor;
 
-import com.google.common.cache.Cache;
-import com.google.common.util.concurrent.RateLimiter;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 import org.junit.Assert;
 import org.junit.Test;
 import org.tron.common.utils.ReflectUtils;
+import org.tron.core.services.ratelimiter.KeyedTokenBuckets;
 import org.tron.core.services.ratelimiter.adapter.GlobalPreemptibleAdapter;
 import org.tron.core.services.ratelimiter.adapter.IPQPSRateLimiterAdapter;
 import org.tron.core.services.ratelimiter.adapter.QpsRateLimiterAdapter;
@@ -66,7 +65,7 @@ public class AdaptorTest {
     }
     t1 = System.currentTimeMillis();
     Assert.assertTrue(t1 - t0 > 1500);
-    Cache<String, RateLimiter> ipLimiter = (Cache<String, RateLimiter>) ReflectUtils
+    KeyedTokenBuckets ipLimiter = (KeyedTokenBuckets) ReflectUtils
         .getFieldObject(strategy, "ipLimiter");
     Assert.assertEquals(2, ipLimiter.size());
   }
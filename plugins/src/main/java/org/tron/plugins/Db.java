@@ -11,7 +11,8 @@ import picocli.CommandLine;
         DbArchive.class,
         DbConvert.class,
         DbLite.class,
-        DbCopy.class
+        DbCopy.class,
+        DbInfoIndex.class
     },
     commandListHeading = "%nCommands:%n%nThe most commonly used db commands are:%n"
 )
@@ -0,0 +1,132 @@
+package org.tron.plugins;
+
+import com.google.common.primitives.Bytes;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import me.tongfei.progressbar.ProgressBar;
+import org.tron.plugins.utils.ByteArray;
+import org.tron.plugins.utils.FileUtils;
+import org.tron.plugins.utils.db.DBInterface;
+import org.tron.plugins.utils.db.DBIterator;
+import org.tron.plugins.utils.db.DbTool;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionRet;
+import picocli.CommandLine;
+
+
+@Slf4j(topic = "info-index")
+@CommandLine.Command(name = "info-index",
+    description = "Build the transaction info index of the blocks in transactionRetStore, "
+        + "for nodes with storage.transHistory.infoIndex switched on.",
+    exitCodeListHeading = "Exit Codes:%n",
+    exitCodeList = {
+        "0:Successful",
+        "n:Internal error: exception occurred,please check toolkit.log"})
+public class DbInfoIndex implements Callable<Integer> {
+
+  static final String TRANSACTION_RET_DB_NAME = "transactionRetStore";
+  static final String TRANSACTION_INFO_INDEX_DB_NAME = "transaction-info-index";
+  private static final String ENGINE_FILE = "engine.properties";
+
+  // field number << 3 | wire type, as WireFormat.makeTag, which is not public
+  private static final int TRANSACTION_INFO_TAG =
+      TransactionRet.TRANSACTIONINFO_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int ID_TAG =
+      TransactionInfo.ID_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+  @CommandLine.Spec
+  CommandLine.Model.CommandSpec spec;
+  @CommandLine.Parameters(index = "0", defaultValue = "output-directory/database",
+      description = "Database path. Default: ${DEFAULT-VALUE}")
+  private File database;
+
+  @CommandLine.Option(names = {"-h", "--help"})
+  private boolean help;
+
+
+  @Override
+  public Integer call() throws Exception {
+    if (help) {
+      spec.commandLine().usage(System.out);
+      return 0;
+    }
+    File retDir = Paths.get(database.toString(), TRANSACTION_RET_DB_NAME).toFile();
+    if (!retDir.exists()) {
+      logger.info(" {} does not exist.", retDir);
+      spec.commandLine().getErr().println(spec.commandLine().getColorScheme()
+          .errorText(String.format("%s does not exist.", retDir)));
+      return 404;
+    }
+    // the index is created with the engine of the transaction results
+    File indexDir = Paths.get(database.toString(), TRANSACTION_INFO_INDEX_DB_NAME).toFile();
+    File engine = new File(retDir, ENGINE_FILE);
+    if (!indexDir.exists() && engine.exists()) {
+      FileUtils.createDirIfNotExists(indexDir.toString());
+      FileUtils.copy(engine.toPath(), new File(indexDir, ENGINE_FILE).toPath());
+    }
+
+    final long time = System.currentTimeMillis();
+    DBInterface retDb = DbTool.getDB(database.toString(), TRANSACTION_RET_DB_NAME);
+    DBInterface indexDb = DbTool.getDB(database.toString(), TRANSACTION_INFO_INDEX_DB_NAME);
+    long blocks = 0;
+    long infos = 0;
+    try (DBIterator iterator = retDb.iterator();
+         ProgressBar bar = new ProgressBar("info-index", -1)) {
+      for (iterator.seekToFirst(); iterator.hasNext(); iterator.next()) {
+        infos += index(ByteArray.toLong(iterator.getKey()), iterator.getValue(), indexDb);
+        blocks++;
+        bar.step();
+      }
+    } finally {
+      DbTool.close();
+    }
+    long during = (System.currentTimeMillis() - time) / 1000;
+    spec.commandLine().getOut().format("info index done, blocks: %d, infos: %d, take %d s.",
+        blocks, infos, during).println();
+    logger.info("info index use {} seconds total, blocks: {}, infos: {}.", during, blocks, infos);
+    return 0;
+  }
+
+  /**
+   * Puts the block number, index, offset and length of each transaction info of a block, as
+   * TransactionInfoIndexStore of the node.
+   *
+   * @return the number of infos indexed
+   */
+  static int index(long blockNum, byte[] transactionRet, DBInterface indexDb)
+      throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(transactionRet);
+    int index = 0;
+    for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+      if (tag != TRANSACTION_INFO_TAG) {
+        input.skipField(tag);
+        continue;
+      }
+      int length = input.readRawVarint32();
+      int offset = input.getTotalBytesRead();
+      int limit = input.pushLimit(length);
+      byte[] id = ByteArray.EMPTY_BYTE_ARRAY;
+      while (!input.isAtEnd()) {
+        int infoTag = input.readTag();
+        if (infoTag == ID_TAG) {
+          id = input.readByteArray();
+          break;
+        }
+        input.skipField(infoTag);
+      }
+      input.skipRawBytes(input.getBytesUntilLimit());
+      input.popLimit(limit);
+      if (id.length > 0) {
+        indexDb.put(id, Bytes.concat(ByteArray.fromLong(blockNum), ByteArray.fromInt(index),
+            ByteArray.fromInt(offset), ByteArray.fromInt(length)));
+      }
+      index++;
+    }
+    return index;
+  }
+}
@@ -0,0 +1,91 @@
+package org.tron.plugins;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.iq80.leveldb.DB;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tron.plugins.utils.ByteArray;
+import org.tron.plugins.utils.DBUtils;
+import org.tron.plugins.utils.FileUtils;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionRet;
+import picocli.CommandLine;
+
+public class DbInfoIndexTest {
+
+  private static final String INPUT_DIRECTORY = "output-directory/info-index-database/";
+  private static final int BLOCKS = 5;
+  private static final int INFOS = 10;
+  private static final List<byte[]> blocks = new ArrayList<>();
+  CommandLine cli = new CommandLine(new Toolkit());
+
+  @BeforeClass
+  public static void init() throws IOException {
+    File file = new File(INPUT_DIRECTORY, DbInfoIndex.TRANSACTION_RET_DB_NAME);
+    file.mkdirs();
+    try (DB db = DBUtils.newLevelDb(file.toPath())) {
+      for (int block = 0; block < BLOCKS; block++) {
+        TransactionRet.Builder ret = TransactionRet.newBuilder().setBlockNumber(block);
+        for (int i = 0; i < INFOS; i++) {
+          ret.addTransactioninfo(TransactionInfo.newBuilder()
+              .setId(ByteString.copyFromUtf8(UUID.randomUUID().toString()))
+              .setFee(i)
+              .setBlockNumber(block));
+        }
+        byte[] value = ret.build().toByteArray();
+        blocks.add(value);
+        db.put(ByteArray.fromLong(block), value);
+      }
+    }
+  }
+
+  @AfterClass
+  public static void destroy() {
+    FileUtils.deleteDir(new File(INPUT_DIRECTORY));
+  }
+
+  @Test
+  public void testRun() throws IOException {
+    String[] args = new String[] {"db", "info-index", INPUT_DIRECTORY};
+    Assert.assertEquals(0, cli.execute(args));
+
+    File file = new File(INPUT_DIRECTORY, DbInfoIndex.TRANSACTION_INFO_INDEX_DB_NAME);
+    try (DB db = DBUtils.newLevelDb(file.toPath())) {
+      for (int block = 0; block < BLOCKS; block++) {
+        TransactionRet ret = TransactionRet.parseFrom(blocks.get(block));
+        for (int i = 0; i < INFOS; i++) {
+          TransactionInfo info = ret.getTransactioninfo(i);
+          ByteBuffer value = ByteBuffer.wrap(db.get(info.getId().toByteArray()));
+          Assert.assertEquals(block, value.getLong());
+          Assert.assertEquals(i, value.getInt());
+          int offset = value.getInt();
+          int length = value.getInt();
+          Assert.assertEquals(info, TransactionInfo.parseFrom(
+              CodedInputStream.newInstance(blocks.get(block), offset, length)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testHelp() {
+    String[] args = new String[] {"db", "info-index", "-h"};
+    Assert.assertEquals(0, cli.execute(args));
+  }
+
+  @Test
+  public void testNotExist() {
+    String[] args = new String[] {"db", "info-index",
+        INPUT_DIRECTORY + File.separator + UUID.randomUUID()};
+    Assert.assertEquals(404, cli.execute(args));
+  }
+}